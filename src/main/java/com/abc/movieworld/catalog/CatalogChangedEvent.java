@@ -0,0 +1,18 @@
+package com.abc.movieworld.catalog;
+
+import com.abc.movieworld.dto.MovieDTO;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Published whenever the in-memory catalog snapshot changes, whether the change was made on this
+ * replica or picked up from the database. Events are published in the order they were applied.
+ *
+ * @param version Catalog version after the change
+ * @param upserted Movies added or replaced
+ * @param removedIds IDs of movies removed
+ * @param reset True when the snapshot was reloaded from scratch and {@code upserted} holds the whole catalog
+ */
+public record CatalogChangedEvent(long version, List<MovieDTO> upserted, Set<Long> removedIds, boolean reset) {
+}
@@ -0,0 +1,12 @@
+package com.abc.movieworld.catalog;
+
+/**
+ * Thrown by reads that can only be answered from the in-memory catalog snapshot while it is still
+ * being loaded, typically just after startup. No stack trace is captured.
+ */
+public class CatalogNotLoadedException extends RuntimeException {
+
+    public CatalogNotLoadedException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,201 @@
+package com.abc.movieworld.catalog;
+
+import com.abc.movieworld.dto.MovieDTO;
+import com.abc.movieworld.dto.MovieSort;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Immutable, versioned view of the whole movie catalog.
+ * Changes never modify a snapshot in place; they produce a new snapshot that shares nothing mutable
+ * with the old one, so readers can use a snapshot without any locking.
+ */
+public final class CatalogSnapshot {
+
+    private final long version;
+    private final Map<Long, Entry> entries;
+    private final Map<MovieSort, List<MovieDTO>> orders;
+
+    /**
+     * A movie together with the catalog version of its last write.
+     * @param movie Movie data, never mutated once in a snapshot
+     * @param revision Catalog version of the last write to the movie
+     */
+    public record Entry(MovieDTO movie, long revision) {
+    }
+
+    private CatalogSnapshot(long version, Map<Long, Entry> entries, Map<MovieSort, List<MovieDTO>> orders) {
+        this.version = version;
+        this.entries = entries;
+        this.orders = orders;
+    }
+
+    /**
+     * Build a snapshot from a full catalog load.
+     * @param version Catalog version the load is consistent with
+     * @param entries Every movie in the catalog
+     * @return New snapshot
+     */
+    public static CatalogSnapshot of(long version, Collection<Entry> entries) {
+        Map<Long, Entry> byId = new HashMap<>();
+        entries.forEach(entry -> byId.put(entry.movie().getId(), entry));
+        Map<MovieSort, List<MovieDTO>> orders = new EnumMap<>(MovieSort.class);
+        for (MovieSort sort : MovieSort.values()) {
+            List<MovieDTO> sorted = new ArrayList<>(byId.size());
+            byId.values().forEach(entry -> sorted.add(entry.movie()));
+            sorted.sort(sort.comparator());
+            orders.put(sort, Collections.unmodifiableList(sorted));
+        }
+        return new CatalogSnapshot(version, Collections.unmodifiableMap(byId), orders);
+    }
+
+    /**
+     * Derive a new snapshot with the given changes applied.
+     * Each sort order is rebuilt in one pass: the changed movies are sorted once and merged into the
+     * unchanged ones, so a delta of {@code k} movies costs {@code O(N + k log k)} per order whatever
+     * its size. Removals are applied before upserts, and the last upsert of a movie wins.
+     * @param newVersion Catalog version of the derived snapshot
+     * @param upserts Movies to add or replace
+     * @param removedIds IDs of movies to remove
+     * @return New snapshot; this snapshot is left unchanged
+     */
+    public CatalogSnapshot with(long newVersion, Collection<Entry> upserts, Set<Long> removedIds) {
+        Map<Long, Entry> byId = new HashMap<>(entries);
+        // Movies to take out of every order: removed ones and the old versions of upserted ones
+        Set<Long> dropped = new HashSet<>();
+        for (Long id : removedIds) {
+            if (byId.remove(id) != null) {
+                dropped.add(id);
+            }
+        }
+        Map<Long, MovieDTO> added = new HashMap<>();
+        for (Entry entry : upserts) {
+            Long id = entry.movie().getId();
+            if (byId.put(id, entry) != null) {
+                dropped.add(id);
+            }
+            added.put(id, entry.movie());
+        }
+
+        Map<MovieSort, List<MovieDTO>> newOrders = new EnumMap<>(MovieSort.class);
+        orders.forEach((sort, sorted) -> newOrders.put(sort,
+                Collections.unmodifiableList(merge(sorted, sort, dropped, added.values()))));
+        return new CatalogSnapshot(newVersion, Collections.unmodifiableMap(byId), newOrders);
+    }
+
+    /**
+     * Merge the added movies into a sort order, leaving out the dropped ones.
+     */
+    private static List<MovieDTO> merge(List<MovieDTO> sorted, MovieSort sort, Set<Long> dropped,
+                                        Collection<MovieDTO> added) {
+        Comparator<MovieDTO> comparator = sort.comparator();
+        List<MovieDTO> additions = new ArrayList<>(added);
+        additions.sort(comparator);
+        List<MovieDTO> merged = new ArrayList<>(sorted.size() - dropped.size() + additions.size());
+        int next = 0;
+        for (MovieDTO movie : sorted) {
+            if (dropped.contains(movie.getId())) {
+                continue;
+            }
+            while (next < additions.size() && comparator.compare(additions.get(next), movie) < 0) {
+                merged.add(additions.get(next++));
+            }
+            merged.add(movie);
+        }
+        merged.addAll(additions.subList(next, additions.size()));
+        return merged;
+    }
+
+    /**
+     * Catalog version this snapshot is consistent with.
+     * @return Catalog version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Number of movies in the snapshot.
+     * @return Catalog size
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Look up a movie with its revision.
+     * @param id Movie ID
+     * @return Entry for the movie, null if it is not in the snapshot
+     */
+    public Entry get(Long id) {
+        return entries.get(id);
+    }
+
+    /**
+     * IDs of every movie in the snapshot.
+     * @return Unmodifiable set of IDs
+     */
+    public Set<Long> ids() {
+        return entries.keySet();
+    }
+
+    /**
+     * Every movie in the given order.
+     * @param sort Sort order
+     * @return Unmodifiable sorted list
+     */
+    public List<MovieDTO> movies(MovieSort sort) {
+        return orders.get(sort);
+    }
+
+    /**
+     * Movies strictly after a position in the given order.
+     * @param sort Sort order
+     * @param after Probe holding the sort key and ID of the last movie already returned, null to start at the beginning
+     * @param limit Maximum number of movies to return
+     * @return Unmodifiable view of at most {@code limit} movies
+     */
+    public List<MovieDTO> page(MovieSort sort, MovieDTO after, int limit) {
+        List<MovieDTO> sorted = orders.get(sort);
+        int from = start(sorted, sort, after);
+        return sorted.subList(from, Math.min(sorted.size(), from + limit));
+    }
+
+    /**
+     * Matching movies strictly after a position in the given order.
+     * @param sort Sort order
+     * @param after Probe holding the sort key and ID of the last movie already returned, null to start at the beginning
+     * @param limit Maximum number of movies to return
+     * @param filter Movies to include
+     * @return At most {@code limit} matching movies
+     */
+    public List<MovieDTO> page(MovieSort sort, MovieDTO after, int limit, Predicate<MovieDTO> filter) {
+        List<MovieDTO> sorted = orders.get(sort);
+        List<MovieDTO> page = new ArrayList<>(Math.min(limit, sorted.size()));
+        for (int i = start(sorted, sort, after); i < sorted.size() && page.size() < limit; i++) {
+            MovieDTO movie = sorted.get(i);
+            if (filter.test(movie)) {
+                page.add(movie);
+            }
+        }
+        return page;
+    }
+
+    private static int start(List<MovieDTO> sorted, MovieSort sort, MovieDTO after) {
+        if (after == null) {
+            return 0;
+        }
+        int index = Collections.binarySearch(sorted, after, sort.comparator());
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+}
@@ -0,0 +1,221 @@
+package com.abc.movieworld.catalog;
+
+import com.abc.movieworld.datasource.DataSourceRouting;
+import com.abc.movieworld.dto.MovieDTO;
+import com.abc.movieworld.mapper.MovieMapper;
+import com.abc.movieworld.model.CatalogVersion;
+import com.abc.movieworld.model.Movie;
+import com.abc.movieworld.repository.CatalogVersionRepository;
+import com.abc.movieworld.repository.MovieRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds the copy-on-write snapshot of the movie catalog and keeps it in sync with the database.
+ * <p>
+ * Every movie write increments the catalog version row and stamps the new version on the written
+ * row as its revision. Because the version row stays locked until commit, versions are committed in
+ * order, so a replica that has seen version {@code v} can catch up by reading only rows with a
+ * revision above {@code v}. Deletes leave no row behind, only a tombstone in the {@link MovieChangeLog}:
+ * a catch-up takes the removed IDs from the tombstones above the last change sequence it has seen.
+ * Should the snapshot size still differ from the table row count, as it does after rows are written
+ * outside this service, the IDs are reconciled with the table.
+ * <p>
+ * Each refresh reads the version and the changed rows in one read-only transaction, so a snapshot
+ * holds exactly the catalog as of its version and the version can be used as a validator for the
+ * catalog as a whole. Writes on this replica trigger a refresh as soon as they commit.
+ * <p>
+ * Reads never lock: the current snapshot is published through a volatile reference. Installing a
+ * new snapshot is serialized on this object.
+ */
+@Component
+@Slf4j
+public class MovieCatalog {
+
+    private final MovieRepository movieRepository;
+    private final CatalogVersionRepository catalogVersionRepository;
+    private final MovieChangeLog movieChangeLog;
+    private final MovieMapper movieMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private volatile CatalogSnapshot snapshot;
+    /** Last change log sequence number applied to the snapshot; guarded by this object. */
+    private long changeSequence;
+    private volatile long lastSyncedAt = System.currentTimeMillis();
+
+    public MovieCatalog(MovieRepository movieRepository, CatalogVersionRepository catalogVersionRepository,
+                        MovieChangeLog movieChangeLog, MovieMapper movieMapper, ApplicationEventPublisher eventPublisher,
+                        MeterRegistry meterRegistry, PlatformTransactionManager transactionManager) {
+        this.movieRepository = movieRepository;
+        this.catalogVersionRepository = catalogVersionRepository;
+        this.movieChangeLog = movieChangeLog;
+        this.movieMapper = movieMapper;
+        this.eventPublisher = eventPublisher;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        Gauge.builder("movieworld.catalog.version", this, catalog -> catalog.snapshot == null ? -1 : catalog.snapshot.getVersion())
+                .description("Catalog version of the in-memory snapshot")
+                .register(meterRegistry);
+        Gauge.builder("movieworld.catalog.size", this, catalog -> catalog.snapshot == null ? 0 : catalog.snapshot.size())
+                .description("Number of movies in the in-memory snapshot")
+                .register(meterRegistry);
+        TimeGauge.builder("movieworld.catalog.lag", this, TimeUnit.MILLISECONDS,
+                        catalog -> System.currentTimeMillis() - catalog.lastSyncedAt)
+                .description("Time since the snapshot was last confirmed up to date with the database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Current snapshot of the catalog.
+     * @return Snapshot, empty until the first load from the database has completed
+     */
+    public Optional<CatalogSnapshot> current() {
+        return Optional.ofNullable(snapshot);
+    }
+
+    /**
+     * Increment the catalog version for a write in the current transaction.
+     * The version row stays locked until the transaction ends.
+     * @return New catalog version, to be stored as the revision of the written row
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long nextRevision() {
+        if (catalogVersionRepository.incrementVersion(CatalogVersion.CATALOG_ID) == 0) {
+            catalogVersionRepository.saveAndFlush(new CatalogVersion(CatalogVersion.CATALOG_ID, 1L, 0L));
+            return 1L;
+        }
+        return catalogVersionRepository.findVersion(CatalogVersion.CATALOG_ID).orElseThrow();
+    }
+
+    /**
+     * Refresh the snapshot once the current transaction commits, so this replica reads its own writes
+     * without waiting for the next scheduled refresh.
+     */
+    public void recordWrite() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refresh();
+                }
+            });
+        } else {
+            refresh();
+        }
+    }
+
+    /**
+     * Bring the snapshot up to date with the database.
+     * Costs a single primary key lookup when nothing has changed since the last refresh. Always reads
+     * the primary: a lagging read replica would look like an older catalog and force a full reload,
+     * and would keep this replica from reading its own writes.
+     */
+    @Scheduled(fixedDelayString = "${movieworld.catalog.refresh-interval:5000}")
+    public void refresh() {
+        try (DataSourceRouting.Pin pin = DataSourceRouting.pinToPrimary()) {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                long databaseVersion = catalogVersionRepository.findVersion(CatalogVersion.CATALOG_ID).orElse(0L);
+                CatalogSnapshot current = snapshot;
+                if (current == null || databaseVersion < current.getVersion()) {
+                    reload(databaseVersion);
+                } else if (databaseVersion > current.getVersion()) {
+                    catchUp(current.getVersion(), databaseVersion);
+                }
+            });
+        }
+        lastSyncedAt = System.currentTimeMillis();
+    }
+
+    private void reload(long databaseVersion) {
+        // Read after the version: the log holds at least every change up to that version
+        long databaseSequence = catalogVersionRepository.findChangeSequence(CatalogVersion.CATALOG_ID).orElse(0L);
+        List<CatalogSnapshot.Entry> entries = toEntries(movieRepository.findAll());
+        synchronized (this) {
+            snapshot = CatalogSnapshot.of(databaseVersion, entries);
+            changeSequence = databaseSequence;
+            publish(snapshot, entries, Set.of(), true);
+        }
+        log.info("Loaded catalog snapshot version {} with {} movies", databaseVersion, entries.size());
+    }
+
+    private void catchUp(long fromVersion, long databaseVersion) {
+        long databaseSequence = catalogVersionRepository.findChangeSequence(CatalogVersion.CATALOG_ID).orElse(0L);
+        List<CatalogSnapshot.Entry> changed = toEntries(movieRepository.findByRevisionGreaterThan(fromVersion));
+        long rowCount = movieRepository.count();
+        synchronized (this) {
+            if (snapshot.getVersion() >= databaseVersion) {
+                // A concurrent refresh already installed this version or a newer one
+                return;
+            }
+            List<CatalogSnapshot.Entry> upserts = newer(snapshot, changed);
+            Set<Long> removedIds = new HashSet<>();
+            for (Long id : movieChangeLog.deletedIds(changeSequence, databaseSequence)) {
+                if (snapshot.get(id) != null) {
+                    removedIds.add(id);
+                }
+            }
+            CatalogSnapshot next = snapshot.with(databaseVersion, upserts, removedIds);
+            if (next.size() != rowCount) {
+                // Rows were written outside this service, with no revision or tombstone; reconcile on IDs only
+                Set<Long> databaseIds = new HashSet<>(movieRepository.findAllIds());
+                Set<Long> stale = new HashSet<>(next.ids());
+                stale.removeAll(databaseIds);
+                databaseIds.removeAll(next.ids());
+                List<CatalogSnapshot.Entry> missing = toEntries(movieRepository.findAllById(databaseIds));
+                upserts = new ArrayList<>(upserts);
+                upserts.addAll(missing);
+                removedIds.addAll(stale);
+                next = next.with(databaseVersion, missing, stale);
+            }
+            snapshot = next;
+            changeSequence = databaseSequence;
+            publish(next, upserts, removedIds, false);
+        }
+        log.debug("Caught up catalog snapshot from version {} to {}", fromVersion, databaseVersion);
+    }
+
+    private List<CatalogSnapshot.Entry> newer(CatalogSnapshot current, List<CatalogSnapshot.Entry> candidates) {
+        List<CatalogSnapshot.Entry> newer = new ArrayList<>();
+        for (CatalogSnapshot.Entry candidate : candidates) {
+            CatalogSnapshot.Entry existing = current.get(candidate.movie().getId());
+            if (existing == null || existing.revision() < candidate.revision()) {
+                newer.add(candidate);
+            }
+        }
+        return newer;
+    }
+
+    private List<CatalogSnapshot.Entry> toEntries(List<Movie> movies) {
+        return movies.stream()
+                .map(movie -> new CatalogSnapshot.Entry(movieMapper.toDTO(movie),
+                        movie.getRevision() == null ? 0L : movie.getRevision()))
+                .toList();
+    }
+
+    private void publish(CatalogSnapshot applied, List<CatalogSnapshot.Entry> upserts, Set<Long> removedIds, boolean reset) {
+        if (reset || !upserts.isEmpty() || !removedIds.isEmpty()) {
+            eventPublisher.publishEvent(new CatalogChangedEvent(applied.getVersion(),
+                    upserts.stream().map(CatalogSnapshot.Entry::movie).toList(), Set.copyOf(removedIds), reset));
+        }
+    }
+}
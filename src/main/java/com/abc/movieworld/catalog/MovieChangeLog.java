@@ -0,0 +1,85 @@
+package com.abc.movieworld.catalog;
+
+import com.abc.movieworld.model.CatalogVersion;
+import com.abc.movieworld.model.MovieChange;
+import com.abc.movieworld.repository.CatalogVersionRepository;
+import com.abc.movieworld.repository.MovieChangeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Append-only log of movie changes, for consumers that mirror the catalog incrementally.
+ * <p>
+ * Every movie write records its changes here in its own transaction, after incrementing the catalog
+ * version. Sequence numbers are reserved from the catalog version row, whose lock is held until the
+ * write commits, so entries are committed in sequence order with no gaps left to fill later: a
+ * consumer that has read up to sequence {@code n} stays in sync by reading the entries above it.
+ */
+@Component
+public class MovieChangeLog {
+
+    private final MovieChangeRepository movieChangeRepository;
+    private final CatalogVersionRepository catalogVersionRepository;
+    private final int batchSize;
+
+    public MovieChangeLog(MovieChangeRepository movieChangeRepository, CatalogVersionRepository catalogVersionRepository,
+                          @Value("${movieworld.bulk.batch-size:500}") int batchSize) {
+        this.movieChangeRepository = movieChangeRepository;
+        this.catalogVersionRepository = catalogVersionRepository;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Record the same change to several movies in the current transaction, which must already have
+     * incremented the catalog version.
+     * @param type Kind of change
+     * @param movieIds IDs of the changed movies
+     * @param revision Catalog revision of the write
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(MovieChange.Type type, Collection<Long> movieIds, long revision) {
+        if (movieIds.isEmpty()) {
+            return;
+        }
+        catalogVersionRepository.advanceChangeSequence(CatalogVersion.CATALOG_ID, movieIds.size());
+        long sequence = catalogVersionRepository.findChangeSequence(CatalogVersion.CATALOG_ID).orElseThrow()
+                - movieIds.size();
+        Instant changedAt = Instant.now();
+        List<MovieChange> changes = new ArrayList<>(movieIds.size());
+        for (Long movieId : movieIds) {
+            changes.add(new MovieChange(++sequence, movieId, type, revision, changedAt));
+        }
+        movieChangeRepository.insertAll(changes, batchSize);
+    }
+
+    /**
+     * Read the log after a sequence number.
+     * @param since Last sequence number already read, 0 to read from the start
+     * @param limit Most entries to read
+     * @return Entries in sequence order
+     */
+    public List<MovieChange> read(long since, int limit) {
+        return movieChangeRepository.findBySequenceGreaterThanOrderBySequence(since, PageRequest.of(0, limit));
+    }
+
+    /**
+     * Read the IDs of the movies deleted within a range of the log.
+     * @param since Last sequence number already read
+     * @param upTo Last sequence number to read
+     * @return IDs of the deleted movies
+     */
+    public List<Long> deletedIds(long since, long upTo) {
+        if (upTo <= since) {
+            return List.of();
+        }
+        return movieChangeRepository.findMovieIds(MovieChange.Type.DELETED, since, upTo);
+    }
+}
@@ -0,0 +1,19 @@
+package com.abc.movieworld.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for in-process caches.
+ * The cache manager itself is auto-configured from the {@code spring.cache.*} properties,
+ * which also registers hit, miss and eviction metrics for every named cache.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * Cache of movies by ID, shared by the single-movie read paths.
+     */
+    public static final String MOVIES_CACHE = "movies";
+}
@@ -0,0 +1,90 @@
+package com.abc.movieworld.config;
+
+import com.abc.movieworld.datasource.ReadYourWritesFilter;
+import com.abc.movieworld.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Routes read-only transactions to a read replica of the catalog database.
+ * <p>
+ * Replaces the single auto-configured pool with two Hikari pools: {@code primary}, configured by
+ * {@code spring.datasource.*} as before, and {@code replica}, which copies the primary settings
+ * except for its URL, credentials and size. The application data source picks the pool when a
+ * transaction runs its first statement: read-only transactions use the replica, all others the
+ * primary. Both pools publish the {@code hikaricp.*} metrics tagged with their pool name.
+ */
+@Configuration
+@ConditionalOnProperty(name = "movieworld.datasource.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    /**
+     * Pool of the primary database, which takes every write.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(ReplicaRoutingDataSource.PRIMARY);
+        return dataSource;
+    }
+
+    /**
+     * Pool of the read replica, with read-only connections.
+     */
+    @Bean
+    public HikariDataSource replicaDataSource(
+            @Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+            @Value("${movieworld.datasource.replica.url:}") String url,
+            @Value("${movieworld.datasource.replica.username:}") String username,
+            @Value("${movieworld.datasource.replica.password:}") String password,
+            @Value("${movieworld.datasource.replica.max-pool-size:10}") int maxPoolSize) {
+        if (url.isBlank()) {
+            throw new IllegalStateException("movieworld.datasource.replica.url must be set to enable the replica");
+        }
+        HikariDataSource dataSource = new HikariDataSource();
+        primaryDataSource.copyStateTo(dataSource);
+        dataSource.setPoolName(ReplicaRoutingDataSource.REPLICA);
+        dataSource.setJdbcUrl(url);
+        if (!username.isBlank()) {
+            dataSource.setUsername(username);
+            dataSource.setPassword(password);
+        }
+        dataSource.setMaximumPoolSize(maxPoolSize);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * Data source of the application, choosing the pool once a transaction needs a connection.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 MeterRegistry meterRegistry) {
+        return new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, meterRegistry));
+    }
+
+    /**
+     * Keeps clients that have just written on the primary for the read-your-writes window.
+     */
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(
+            @Value("${movieworld.datasource.replica.read-your-writes-window:5s}") Duration window) {
+        return new ReadYourWritesFilter(window);
+    }
+}
@@ -0,0 +1,122 @@
+package com.abc.movieworld.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.function.ToIntFunction;
+
+/**
+ * HTTP client for the Movie Review service, with a connection pool of its own.
+ * <p>
+ * The pool bounds the open connections and the requests waiting for one, and recycles connections
+ * before the review service or a proxy in between closes them. Its state is published per remote
+ * address as {@code movieworld.reviews.pool.*} gauges, and the time requests wait for a connection
+ * as the {@code movieworld.reviews.pool.acquire} timer, so that pool saturation shows up in Prometheus.
+ */
+@Configuration
+public class ReviewHttpClientConfig {
+
+    static final String POOL_NAME = "reviews";
+
+    /**
+     * Connection pool of the review service client, closed with the application context.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider reviewConnectionProvider(
+            MeterRegistry meterRegistry,
+            @Value("${moviereview.http.max-connections:50}") int maxConnections,
+            @Value("${moviereview.http.pending-acquire-max:100}") int pendingAcquireMax,
+            @Value("${moviereview.http.pending-acquire-timeout:1s}") Duration pendingAcquireTimeout,
+            @Value("${moviereview.http.max-idle-time:20s}") Duration maxIdleTime,
+            @Value("${moviereview.http.max-life-time:5m}") Duration maxLifeTime) {
+        return ConnectionProvider.builder(POOL_NAME)
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMax)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(maxIdleTime)
+                .metrics(true, () -> new PoolMeterRegistrar(meterRegistry))
+                .build();
+    }
+
+    /**
+     * Reactor Netty client on the review connection pool. Shared by every review call, so that
+     * connections are kept alive and reused between requests.
+     */
+    @Bean
+    public HttpClient reviewHttpClient(ConnectionProvider reviewConnectionProvider, MeterRegistry meterRegistry,
+                                       @Value("${moviereview.http.connect-timeout:1s}") Duration connectTimeout) {
+        Timer acquireTimer = Timer.builder("movieworld.reviews.pool.acquire")
+                .description("Time review calls wait to get a connection, including opening a new one")
+                .tag("name", POOL_NAME)
+                .register(meterRegistry);
+        return HttpClient.create(reviewConnectionProvider)
+                .keepAlive(true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .mapConnect(connection -> {
+                    Timer.Sample sample = Timer.start(meterRegistry);
+                    return connection.doOnSuccess(connected -> sample.stop(acquireTimer));
+                });
+    }
+
+    /**
+     * Registers the gauges of each pool Reactor Netty creates, one per remote address.
+     */
+    static class PoolMeterRegistrar implements ConnectionProvider.MeterRegistrar {
+
+        private final MeterRegistry meterRegistry;
+
+        PoolMeterRegistrar(MeterRegistry meterRegistry) {
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public void registerMetrics(String poolName, String id, SocketAddress remoteAddress,
+                                    ConnectionPoolMetrics metrics) {
+            Tags tags = tags(poolName, id, remoteAddress);
+            gauge("active", "Connections in use", metrics, ConnectionPoolMetrics::acquiredSize, tags);
+            gauge("idle", "Open connections waiting to be used", metrics, ConnectionPoolMetrics::idleSize, tags);
+            gauge("total", "Open connections", metrics, ConnectionPoolMetrics::allocatedSize, tags);
+            gauge("pending", "Requests waiting for a connection", metrics, ConnectionPoolMetrics::pendingAcquireSize,
+                    tags);
+            gauge("max", "Most connections that can be open", metrics, ConnectionPoolMetrics::maxAllocatedSize, tags);
+            gauge("max.pending", "Most requests that can wait for a connection", metrics,
+                    ConnectionPoolMetrics::maxPendingAcquireSize, tags);
+        }
+
+        @Override
+        public void deRegisterMetrics(String poolName, String id, SocketAddress remoteAddress) {
+            Tags tags = tags(poolName, id, remoteAddress);
+            meterRegistry.getMeters().stream()
+                    .filter(meter -> meter.getId().getName().startsWith("movieworld.reviews.pool.")
+                            && tags.stream().allMatch(tag -> tag.getValue().equals(meter.getId().getTag(tag.getKey()))))
+                    .toList()
+                    .forEach(meterRegistry::remove);
+        }
+
+        private static Tags tags(String poolName, String id, SocketAddress remoteAddress) {
+            return Tags.of("name", poolName, "id", id, "remote.address", String.valueOf(remoteAddress));
+        }
+
+        private void gauge(String name, String description, ConnectionPoolMetrics metrics,
+                           ToIntFunction<ConnectionPoolMetrics> value, Tags tags) {
+            Gauge.builder("movieworld.reviews.pool." + name, metrics, pool -> value.applyAsInt(pool))
+                    .description(description + " in the review service connection pool")
+                    .tags(tags)
+                    .strongReference(true)
+                    .register(meterRegistry);
+        }
+    }
+}
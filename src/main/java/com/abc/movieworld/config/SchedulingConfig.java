@@ -0,0 +1,12 @@
+package com.abc.movieworld.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled background tasks such as the catalog snapshot refresh.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,83 @@
+package com.abc.movieworld.controller;
+
+import com.abc.movieworld.catalog.CatalogNotLoadedException;
+import com.abc.movieworld.ingest.IngestionRejectedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Translates exceptions raised by the service layer into HTTP error responses.
+ */
+@RestControllerAdvice
+@Slf4j
+public class ApiExceptionHandler {
+
+    /**
+     * Invalid request parameters such as a malformed cursor or an unknown sort order.
+     * @param e Exception describing the invalid argument
+     * @return Bad request with the error message
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, Object>> handleIllegalArgument(IllegalArgumentException e) {
+        log.warn("Rejecting request: {}", e.getMessage());
+        return error(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+
+    /**
+     * Conditional write whose If-Match version no longer matches the movie, or a concurrent write
+     * detected by the entity version.
+     * @param e Exception describing the conflict
+     * @return Precondition failed with the error message
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleOptimisticLockingFailure(OptimisticLockingFailureException e) {
+        log.warn("Rejecting conflicting write: {}", e.getMessage());
+        return error(HttpStatus.PRECONDITION_FAILED, e.getMessage());
+    }
+
+    /**
+     * Write rejected by a full ingestion queue.
+     * @param e Exception carrying the delay after which the client may retry
+     * @return Too many requests with a Retry-After header
+     */
+    @ExceptionHandler(IngestionRejectedException.class)
+    public ResponseEntity<Map<String, Object>> handleIngestionRejected(IngestionRejectedException e) {
+        log.warn("Rejecting write: {}", e.getMessage());
+        long retryAfterSeconds = Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000);
+        ResponseEntity<Map<String, Object>> response = error(HttpStatus.TOO_MANY_REQUESTS, e.getMessage());
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(response.getBody());
+    }
+
+    /**
+     * Read that needs the in-memory catalog before it has been loaded.
+     * @param e Exception describing the read
+     * @return Service unavailable with a Retry-After header
+     */
+    @ExceptionHandler(CatalogNotLoadedException.class)
+    public ResponseEntity<Map<String, Object>> handleCatalogNotLoaded(CatalogNotLoadedException e) {
+        log.warn("Rejecting read: {}", e.getMessage());
+        ResponseEntity<Map<String, Object>> response = error(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response.getBody());
+    }
+
+    private ResponseEntity<Map<String, Object>> error(HttpStatus status, String message) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("status", status.value());
+        body.put("error", message);
+        body.put("timestamp", LocalDateTime.now().toString());
+        return ResponseEntity.status(status).body(body);
+    }
+}
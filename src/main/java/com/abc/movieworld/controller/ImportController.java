@@ -0,0 +1,77 @@
+package com.abc.movieworld.controller;
+
+import com.abc.movieworld.dto.ImportStatusDTO;
+import com.abc.movieworld.ingest.MovieImporter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+/**
+ * Admin REST controller for importing movie files from the import directory.
+ * Only registered when {@code movieworld.import.enabled} is true.
+ */
+@RestController
+@RequestMapping("/api/movieworld/admin/import")
+@ConditionalOnProperty(name = "movieworld.import.enabled", havingValue = "true")
+@Tag(name = "Import API", description = "Bulk import of movie files on the server")
+@Slf4j
+public class ImportController {
+
+    private final MovieImporter movieImporter;
+
+    @Autowired
+    public ImportController(MovieImporter movieImporter) {
+        this.movieImporter = movieImporter;
+    }
+
+    /**
+     * Start importing a file, or resume its import where it stopped.
+     * @param file Path of the file, relative to the import directory
+     * @param format Format of the file, by default taken from its extension
+     * @return Accepted with the import status, or Conflict with the status of the import already running
+     */
+    @PostMapping
+    @Operation(summary = "Start a file import", description = "Imports a CSV or NDJSON file from the import directory in the background, resuming an earlier import of the same file")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Import started; poll the Location for its progress"),
+        @ApiResponse(responseCode = "400", description = "Unknown file or format"),
+        @ApiResponse(responseCode = "409", description = "Another import is running")
+    })
+    public ResponseEntity<ImportStatusDTO> startImport(
+            @Parameter(description = "Path of the file, relative to the import directory") @RequestParam String file,
+            @Parameter(description = "csv or ndjson, by default from the file extension") @RequestParam(required = false) String format) {
+        log.info("REST request to import file: {}", file);
+        if (!movieImporter.start(file, format)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(movieImporter.status().orElse(null));
+        }
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/movieworld/admin/import"))
+                .body(movieImporter.status().orElse(null));
+    }
+
+    /**
+     * Get the progress of the running import, or of the last one.
+     * @return Import status if an import was started
+     */
+    @GetMapping
+    @Operation(summary = "Get the import status", description = "Returns the progress of the running or last import, with its rows per second")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Status found"),
+        @ApiResponse(responseCode = "404", description = "No import was started")
+    })
+    public ResponseEntity<ImportStatusDTO> getStatus() {
+        return movieImporter.status()
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,95 @@
+package com.abc.movieworld.controller;
+
+import com.abc.movieworld.dto.IngestionStatusDTO;
+import com.abc.movieworld.dto.MovieDTO;
+import com.abc.movieworld.ingest.IngestionQueue;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+/**
+ * REST controller for asynchronous movie writes through the ingestion queue.
+ * Only registered when {@code movieworld.ingest.enabled} is true.
+ */
+@RestController
+@RequestMapping("/api/movieworld/ingest")
+@ConditionalOnProperty(name = "movieworld.ingest.enabled", havingValue = "true")
+@Tag(name = "Ingestion API", description = "Asynchronous movie writes for high-volume feeds")
+@Slf4j
+public class IngestionController {
+
+    private final IngestionQueue ingestionQueue;
+
+    @Autowired
+    public IngestionController(IngestionQueue ingestionQueue) {
+        this.ingestionQueue = ingestionQueue;
+    }
+
+    /**
+     * Queue the creation of a movie.
+     * @param movieDTO Movie to create
+     * @return Accepted with the tracking ID of the write
+     */
+    @PostMapping
+    @Operation(summary = "Queue a movie creation", description = "Validates the movie and queues it to be created in a batch")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Movie queued; poll the Location for its status"),
+        @ApiResponse(responseCode = "400", description = "Invalid movie"),
+        @ApiResponse(responseCode = "429", description = "Queue full; retry after the Retry-After delay")
+    })
+    public ResponseEntity<IngestionStatusDTO> createMovie(@Valid @RequestBody MovieDTO movieDTO) {
+        log.debug("REST request to queue creation of movie: {}", movieDTO.getTitle());
+        return accepted(ingestionQueue.create(movieDTO));
+    }
+
+    /**
+     * Queue the update of a movie. A later update of the same movie replaces this one if it has not
+     * been written yet.
+     * @param id Movie ID
+     * @param movieDTO Updated movie details
+     * @return Accepted with the tracking ID of the write
+     */
+    @PutMapping("/{id}")
+    @Operation(summary = "Queue a movie update", description = "Validates the movie and queues it to be updated in a batch")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Update queued; poll the Location for its status"),
+        @ApiResponse(responseCode = "400", description = "Invalid movie"),
+        @ApiResponse(responseCode = "429", description = "Queue full; retry after the Retry-After delay")
+    })
+    public ResponseEntity<IngestionStatusDTO> updateMovie(@PathVariable Long id, @Valid @RequestBody MovieDTO movieDTO) {
+        log.debug("REST request to queue update of movie with id: {}", id);
+        return accepted(ingestionQueue.update(id, movieDTO));
+    }
+
+    /**
+     * Get the state of a queued write.
+     * @param trackingId Tracking ID returned when the write was accepted
+     * @return Status of the write if known
+     */
+    @GetMapping("/{trackingId}")
+    @Operation(summary = "Get the status of a queued write", description = "Returns whether a queued write is pending, written or failed")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Status found"),
+        @ApiResponse(responseCode = "404", description = "Unknown tracking ID, or its status has expired")
+    })
+    public ResponseEntity<IngestionStatusDTO> getStatus(@PathVariable String trackingId) {
+        return ingestionQueue.status(trackingId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    private static ResponseEntity<IngestionStatusDTO> accepted(IngestionStatusDTO status) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/movieworld/ingest/" + status.getTrackingId()))
+                .body(status);
+    }
+}
@@ -1,7 +1,19 @@
 package com.abc.movieworld.controller;
 
+import com.abc.movieworld.dto.BulkChangeDTO;
+import com.abc.movieworld.dto.BulkChangeResultDTO;
+import com.abc.movieworld.dto.BulkResultDTO;
+import com.abc.movieworld.dto.ChangeFeedDTO;
 import com.abc.movieworld.dto.MovieDTO;
+import com.abc.movieworld.dto.MovieField;
+import com.abc.movieworld.dto.MovieFilter;
+import com.abc.movieworld.dto.MoviePageDTO;
+import com.abc.movieworld.dto.MovieSort;
+import com.abc.movieworld.dto.SuggestionDTO;
 import com.abc.movieworld.service.MovieService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.micrometer.observation.annotation.Observed;
 import io.opentelemetry.instrumentation.annotations.SpanAttribute;
 import io.opentelemetry.instrumentation.annotations.WithSpan;
@@ -11,16 +23,30 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import reactor.core.publisher.Mono;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * REST controller for Movie operations.
@@ -32,49 +58,291 @@ import java.util.Optional;
 @Slf4j
 public class MovieController {
 
+    static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    static final String APPLICATION_MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
     private final MovieService movieService;
+    private final ObjectMapper objectMapper;
+    private final Duration exportTimeout;
 
     @Autowired
-    public MovieController(MovieService movieService) {
+    public MovieController(MovieService movieService, ObjectMapper objectMapper,
+                           @Value("${movieworld.export.timeout:10m}") Duration exportTimeout) {
         this.movieService = movieService;
+        this.objectMapper = objectMapper;
+        this.exportTimeout = exportTimeout;
     }
 
     /**
-     * Get all movies.
-     * @return List of all movies
+     * Get a page of movies.
+     * The ETag is the catalog version, so a client revalidating an unchanged catalog gets a 304
+     * before the page is cut or serialized. Pages read from the database, which may be a lagging read
+     * replica, carry no ETag.
+     * @param after Opaque cursor from the previous page, omitted for the first page
+     * @param limit Maximum number of movies to return
+     * @param sort Sort order: id, releaseDate, title or director
+     * @param fields Comma-separated movie fields to return, omitted for the full movie
+     * @param genre Genres to filter on
+     * @param genreMatch all to require every genre, any to require at least one
+     * @param director Director to filter on
+     * @param fromYear Earliest release year, inclusive
+     * @param toYear Latest release year, inclusive
+     * @param minDuration Minimum duration in minutes, inclusive
+     * @param maxDuration Maximum duration in minutes, inclusive
+     * @param facets Whether to include the number of matching movies per genre
+     * @param request Current request, checked against If-None-Match
+     * @return Page of movies with the cursor for the next page
      */
     @GetMapping
-    @Operation(summary = "Get all movies", description = "Returns a list of all movies")
-    @ApiResponse(responseCode = "200", description = "Successfully retrieved movies")
+    @Operation(summary = "Get movies", description = "Returns a page of movies using cursor-based pagination")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved movies"),
+        @ApiResponse(responseCode = "304", description = "Catalog unchanged since the given ETag"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor, sort, fields, genre match or range")
+    })
     @Observed(name = "movie.getAll", 
              contextualName = "get-all-movies", 
              lowCardinalityKeyValues = {"service", "movie-world"})
-    public ResponseEntity<List<MovieDTO>> getAllMovies() {
-        log.info("REST request to get all movies");
-        List<MovieDTO> movies = movieService.getAllMovies();
-        return ResponseEntity.ok(movies);
+    public ResponseEntity<MoviePageDTO> getAllMovies(@RequestParam(required = false) String after,
+                                                     @RequestParam(required = false) Integer limit,
+                                                     @RequestParam(defaultValue = "id") String sort,
+                                                     @RequestParam(required = false) String fields,
+                                                     @RequestParam(required = false) List<String> genre,
+                                                     @RequestParam(defaultValue = "all") String genreMatch,
+                                                     @RequestParam(required = false) String director,
+                                                     @RequestParam(required = false) Integer fromYear,
+                                                     @RequestParam(required = false) Integer toYear,
+                                                     @RequestParam(required = false) Integer minDuration,
+                                                     @RequestParam(required = false) Integer maxDuration,
+                                                     @RequestParam(defaultValue = "false") boolean facets,
+                                                     WebRequest request) {
+        log.info("REST request to get movies after: {}, limit: {}, sort: {}, fields: {}, genres: {} ({}), director: {}, "
+                        + "years: {}-{}, duration: {}-{}",
+                after, limit, sort, fields, genre, genreMatch, director, fromYear, toYear, minDuration, maxDuration);
+        MovieFilter filter = listingFilter(genre, genreMatch, director, fromYear, toYear, minDuration, maxDuration);
+        Set<MovieField> movieFields = fields == null ? null : MovieField.fromParameter(fields);
+        MovieSort movieSort = MovieSort.fromParameter(sort);
+        Optional<Long> catalogVersion = movieService.getCatalogVersion(filter);
+        if (catalogVersion.isPresent() && request.checkNotModified(catalogETag(catalogVersion.get()))) {
+            return null;
+        }
+        MoviePageDTO page = moviesPage(after, limit, movieSort, movieFields, filter, facets);
+        if (page.getCatalogVersion() == null) {
+            return ResponseEntity.ok(page);
+        }
+        return ResponseEntity.ok().eTag(catalogETag(page.getCatalogVersion())).body(page);
+    }
+
+    /**
+     * Get a page of movies with the reviews of every movie.
+     * The reviews of the whole page are fetched in bulk and the request completes asynchronously.
+     * Such pages carry no ETag since reviews are not versioned with the catalog.
+     * @param after Opaque cursor from the previous page, omitted for the first page
+     * @param limit Maximum number of movies to return
+     * @param sort Sort order: id, releaseDate, title or director
+     * @param fields Comma-separated movie fields to return, omitted for the full movie
+     * @param genre Genres to filter on
+     * @param genreMatch all to require every genre, any to require at least one
+     * @param director Director to filter on
+     * @param fromYear Earliest release year, inclusive
+     * @param toYear Latest release year, inclusive
+     * @param minDuration Minimum duration in minutes, inclusive
+     * @param maxDuration Maximum duration in minutes, inclusive
+     * @param facets Whether to include the number of matching movies per genre
+     * @return Page of movies with their reviews and the cursor for the next page, once reviews are fetched
+     */
+    @GetMapping(params = "withReviews=true")
+    @Operation(summary = "Get movies with reviews", description = "Returns a page of movies with the reviews of every movie")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved movies and their reviews"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor, sort, fields, genre match or range")
+    })
+    @Observed(name = "movie.getAllWithReviews",
+             contextualName = "get-all-movies-with-reviews",
+             lowCardinalityKeyValues = {"service", "movie-world"})
+    public Mono<ResponseEntity<MoviePageDTO>> getAllMoviesWithReviews(@RequestParam(required = false) String after,
+                                                                      @RequestParam(required = false) Integer limit,
+                                                                      @RequestParam(defaultValue = "id") String sort,
+                                                                      @RequestParam(required = false) String fields,
+                                                                      @RequestParam(required = false) List<String> genre,
+                                                                      @RequestParam(defaultValue = "all") String genreMatch,
+                                                                      @RequestParam(required = false) String director,
+                                                                      @RequestParam(required = false) Integer fromYear,
+                                                                      @RequestParam(required = false) Integer toYear,
+                                                                      @RequestParam(required = false) Integer minDuration,
+                                                                      @RequestParam(required = false) Integer maxDuration,
+                                                                      @RequestParam(defaultValue = "false") boolean facets) {
+        log.info("REST request to get movies with reviews after: {}, limit: {}, sort: {}, fields: {}, genres: {} ({}), "
+                        + "director: {}, years: {}-{}, duration: {}-{}",
+                after, limit, sort, fields, genre, genreMatch, director, fromYear, toYear, minDuration, maxDuration);
+        MovieFilter filter = listingFilter(genre, genreMatch, director, fromYear, toYear, minDuration, maxDuration);
+        Set<MovieField> movieFields = fields == null ? null : MovieField.fromParameter(fields);
+        MoviePageDTO page = moviesPage(after, limit, MovieSort.fromParameter(sort), movieFields, filter, facets);
+        return movieService.withReviews(page.getItems())
+                .map(movies -> {
+                    page.setItems(movies);
+                    return ResponseEntity.ok(page);
+                });
+    }
+
+    private MovieFilter listingFilter(List<String> genre, String genreMatch, String director, Integer fromYear,
+                                      Integer toYear, Integer minDuration, Integer maxDuration) {
+        if (fromYear != null && toYear != null && fromYear > toYear) {
+            throw new IllegalArgumentException("fromYear must not be after toYear");
+        }
+        if (minDuration != null && maxDuration != null && minDuration > maxDuration) {
+            throw new IllegalArgumentException("minDuration must not exceed maxDuration");
+        }
+        return MovieFilter.builder()
+                .genres(genre == null ? Set.of() : Set.copyOf(genre))
+                .matchAllGenres(matchAllGenres(genreMatch))
+                .director(director == null || director.isBlank() ? null : director.trim())
+                .releasedFrom(fromYear == null ? null : LocalDate.of(fromYear, 1, 1))
+                .releasedTo(toYear == null ? null : LocalDate.of(toYear, 12, 31))
+                .minDuration(minDuration)
+                .maxDuration(maxDuration)
+                .build();
+    }
+
+    private MoviePageDTO moviesPage(String after, Integer limit, MovieSort sort, Set<MovieField> fields,
+                                    MovieFilter filter, boolean facets) {
+        MoviePageDTO page = fields == null && filter.isEmpty()
+                ? movieService.getMoviesPage(after, limit, sort)
+                : movieService.getMoviesPage(after, limit, sort, fields == null ? MovieField.ALL : fields, filter);
+        if (facets) {
+            page.setGenreFacets(movieService.getGenreFacets(filter));
+        }
+        page.setFields(fields);
+        return page;
+    }
+
+    /**
+     * Search movies by title, director and description.
+     * @param q Free-text query; every word must match, ignoring case and accents
+     * @param after Opaque cursor from the previous page, omitted for the first page
+     * @param limit Maximum number of movies to return
+     * @return Page of matching movies, best matches first
+     */
+    @GetMapping("/search")
+    @Operation(summary = "Search movies", description = "Returns movies matching every word of the query, ranked by relevance")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully searched movies"),
+        @ApiResponse(responseCode = "400", description = "Blank query or invalid cursor"),
+        @ApiResponse(responseCode = "503", description = "Catalog not loaded yet")
+    })
+    public ResponseEntity<MoviePageDTO> searchMovies(@RequestParam String q,
+                                                     @RequestParam(required = false) String after,
+                                                     @RequestParam(required = false) Integer limit) {
+        log.info("REST request to search movies for: {}, after: {}, limit: {}", q, after, limit);
+        return ResponseEntity.ok(movieService.searchMovies(q, after, limit));
+    }
+
+    /**
+     * Read the changes made to the catalog since a point of the change feed, so that a mirror of the
+     * catalog can be kept in sync without reading it all again.
+     * @param since Sequence number of the last change already applied, 0 for the whole history
+     * @param limit Maximum number of changes to return
+     * @return Changes in commit order, with tombstones for deletes and the cursor to continue from
+     */
+    @GetMapping("/changes")
+    @Operation(summary = "Get the change feed", description = "Returns the creates, updates and deletes made after the given sequence number, in commit order")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved changes"),
+        @ApiResponse(responseCode = "400", description = "Negative sequence number")
+    })
+    public ResponseEntity<ChangeFeedDTO> getChanges(@RequestParam(defaultValue = "0") long since,
+                                                    @RequestParam(required = false) Integer limit) {
+        log.debug("REST request to get changes since: {}, limit: {}", since, limit);
+        return ResponseEntity.ok(movieService.getChanges(since, limit));
+    }
+
+    /**
+     * Suggest titles and directors for a search box.
+     * @param prefix Typed text; matches the start of any word, ignoring case and accents
+     * @param limit Maximum number of suggestions
+     * @return Suggestions in alphabetical order
+     */
+    @GetMapping("/autocomplete")
+    @Operation(summary = "Autocomplete titles and directors", description = "Returns titles and directors with a word starting with the prefix")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved suggestions"),
+        @ApiResponse(responseCode = "503", description = "Catalog not loaded yet")
+    })
+    public ResponseEntity<List<SuggestionDTO>> autocomplete(@RequestParam String prefix,
+                                                            @RequestParam(required = false) Integer limit) {
+        log.debug("REST request to autocomplete: {}, limit: {}", prefix, limit);
+        return ResponseEntity.ok(movieService.autocomplete(prefix, limit));
+    }
+
+    /**
+     * Export the whole catalog as newline-delimited JSON.
+     * Movies are written as they are read from the database, so the first bytes are sent
+     * before the export finishes and memory use does not depend on the catalog size. The export
+     * runs off the servlet thread with its own timeout instead of the global async request timeout,
+     * which is sized for short requests.
+     * @param response Response the movies are written to
+     * @return Task writing one movie per line
+     */
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    @Operation(summary = "Export all movies", description = "Streams every movie as newline-delimited JSON")
+    @ApiResponse(responseCode = "200", description = "Movies streamed successfully")
+    public WebAsyncTask<Void> exportMovies(HttpServletResponse response) {
+        log.info("REST request to export all movies");
+        response.setContentType(APPLICATION_NDJSON.toString());
+        return new WebAsyncTask<>(exportTimeout.toMillis(), () -> {
+            OutputStream out = response.getOutputStream();
+            movieService.exportMovies(movie -> {
+                try {
+                    out.write(objectMapper.writeValueAsBytes(movie));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.flush();
+            return null;
+        });
     }
 
     /**
      * Get a movie by its ID.
+     * The ETag is the movie's version, which every write to the movie increments; it can be sent back
+     * in If-Match to make an update or delete conditional.
      * @param id Movie ID
+     * @param fields Comma-separated movie fields to return, omitted for the full movie
+     * @param request Current request, checked against If-None-Match
      * @return Movie if found
      */
     @GetMapping("/{id}")
     @Operation(summary = "Get a movie by ID", description = "Returns a movie by its ID")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Successfully retrieved movie"),
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved movie",
+                content = @Content(schema = @Schema(implementation = MovieDTO.class))),
+        @ApiResponse(responseCode = "304", description = "Movie unchanged since the given ETag"),
+        @ApiResponse(responseCode = "400", description = "Invalid fields"),
         @ApiResponse(responseCode = "404", description = "Movie not found")
     })
-    public ResponseEntity<MovieDTO> getMovieById(@PathVariable Long id) {
-        log.info("REST request to get movie with id: {}", id);
+    public ResponseEntity<Object> getMovieById(@PathVariable Long id,
+                                               @RequestParam(required = false) String fields,
+                                               WebRequest request) {
+        log.info("REST request to get movie with id: {}, fields: {}", id, fields);
+        Set<MovieField> movieFields = fields == null ? null : MovieField.fromParameter(fields);
         Optional<MovieDTO> movie = movieService.getMovieById(id);
-        return movie.map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+        if (movie.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String eTag = movieETag(movie.get());
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        Object body = movieFields == null ? movie.get() : MovieField.project(movie.get(), movieFields);
+        return ResponseEntity.ok().eTag(eTag).body(body);
     }
 
     /**
      * Get a movie by its ID with reviews.
+     * Handled asynchronously: the servlet thread is released while the movie lookup and the review
+     * request run, and the response is written once both complete.
      * @param id Movie ID
      * @return Movie with reviews if found
      */
@@ -84,11 +352,11 @@ public class MovieController {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved movie with reviews"),
         @ApiResponse(responseCode = "404", description = "Movie not found")
     })
-    public ResponseEntity<MovieDTO> getMovieWithReviews(@PathVariable Long id) {
+    public Mono<ResponseEntity<MovieDTO>> getMovieWithReviews(@PathVariable Long id) {
         log.info("REST request to get movie with id: {} including reviews", id);
-        Optional<MovieDTO> movie = movieService.getMovieWithReviews(id);
-        return movie.map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+        return movieService.getMovieWithReviewsAsync(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 
     /**
@@ -105,42 +373,202 @@ public class MovieController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdMovie);
     }
 
+    /**
+     * Create many movies in one request.
+     * Each movie is validated and reported on its own: the response lists the ID of every created
+     * movie and the error of every movie that was not created, by position in the request.
+     * @param movies Movies to create
+     * @return Created if every movie was created, Multi-Status otherwise
+     */
+    @PostMapping("/bulk")
+    @Operation(summary = "Create movies in bulk",
+            description = "Creates many movies with batched inserts and reports the outcome of each one")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "All movies created"),
+        @ApiResponse(responseCode = "207", description = "Some movies were not created; see the errors"),
+        @ApiResponse(responseCode = "400", description = "Too many movies in one request")
+    })
+    public ResponseEntity<BulkResultDTO> createMovies(@RequestBody List<MovieDTO> movies) {
+        log.info("REST request to create {} movies in bulk", movies.size());
+        BulkResultDTO result = movieService.createMovies(movies);
+        HttpStatus status = result.getErrors().isEmpty() ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(status).body(result);
+    }
+
+    /**
+     * Set the same fields on many movies with one statement.
+     * @param request Movies to update, by ID and/or filter, and the fields to set on them
+     * @return Number of movies updated
+     */
+    @PostMapping("/bulk/update")
+    @Operation(summary = "Update movies in bulk",
+            description = "Sets the given fields on every movie matching the IDs and filter with a single UPDATE")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Movies updated; the count may be 0"),
+        @ApiResponse(responseCode = "400", description = "No selection, no field to change, or an invalid value")
+    })
+    public ResponseEntity<BulkChangeResultDTO> updateMovies(@RequestBody BulkChangeDTO request) {
+        log.info("REST request to update movies in bulk");
+        int updated = movieService.updateMovies(request.getIds(), bulkFilter(request), request.getChanges());
+        return ResponseEntity.ok(new BulkChangeResultDTO(updated));
+    }
+
+    /**
+     * Delete many movies with one statement.
+     * A request body is used rather than DELETE parameters, since the ID list can be long.
+     * @param request Movies to delete, by ID and/or filter
+     * @return Number of movies deleted
+     */
+    @PostMapping("/bulk/delete")
+    @Operation(summary = "Delete movies in bulk",
+            description = "Deletes every movie matching the IDs and filter with a single DELETE")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Movies deleted; the count may be 0"),
+        @ApiResponse(responseCode = "400", description = "No selection or an invalid filter")
+    })
+    public ResponseEntity<BulkChangeResultDTO> deleteMovies(@RequestBody BulkChangeDTO request) {
+        log.info("REST request to delete movies in bulk");
+        int deleted = movieService.deleteMovies(request.getIds(), bulkFilter(request));
+        return ResponseEntity.ok(new BulkChangeResultDTO(deleted));
+    }
+
     /**
      * Update an existing movie.
+     * With If-Match, the movie is only updated if it is still at the version of the given ETag.
      * @param id Movie ID
      * @param movieDTO Updated movie details
-     * @return Updated movie if found
+     * @param ifMatch ETag of the movie as last read, or * for any version
+     * @return Updated movie if found, with its new ETag
      */
     @PutMapping("/{id}")
     @Operation(summary = "Update a movie", description = "Updates an existing movie")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Movie updated successfully"),
-        @ApiResponse(responseCode = "404", description = "Movie not found")
+        @ApiResponse(responseCode = "404", description = "Movie not found"),
+        @ApiResponse(responseCode = "412", description = "Movie changed since the If-Match ETag")
     })
-    public ResponseEntity<MovieDTO> updateMovie(@PathVariable Long id, @Valid @RequestBody MovieDTO movieDTO) {
-        log.info("REST request to update movie with id: {}", id);
-        MovieDTO updatedMovie = movieService.updateMovie(id, movieDTO);
+    public ResponseEntity<MovieDTO> updateMovie(@PathVariable Long id, @Valid @RequestBody MovieDTO movieDTO,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.info("REST request to update movie with id: {}, If-Match: {}", id, ifMatch);
+        MovieDTO updatedMovie = movieService.updateMovie(id, movieDTO, expectedVersion(id, ifMatch));
         return updatedMovie != null ? 
-                ResponseEntity.ok(updatedMovie) : 
+                ResponseEntity.ok().eTag(movieETag(updatedMovie)).body(updatedMovie) : 
+                ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Change only some fields of a movie, following JSON merge patch (RFC 7396): fields present in the
+     * patch are set, a null value clears a field, and absent fields are left as they are. Only the
+     * patched fields are validated and written.
+     * @param id Movie ID
+     * @param patch Merge patch; a JSON object of writable movie fields
+     * @param ifMatch ETag of the movie as last read, or * for any version
+     * @return Patched movie if found, with its new ETag
+     */
+    @PatchMapping(value = "/{id}", consumes = {APPLICATION_MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Patch a movie", description = "Changes only the given fields of an existing movie")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Movie patched successfully"),
+        @ApiResponse(responseCode = "400", description = "Not a JSON object, unknown or read-only field, or invalid value"),
+        @ApiResponse(responseCode = "404", description = "Movie not found"),
+        @ApiResponse(responseCode = "412", description = "Movie changed since the If-Match ETag")
+    })
+    public ResponseEntity<MovieDTO> patchMovie(@PathVariable Long id, @RequestBody JsonNode patch,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.info("REST request to patch movie with id: {}, If-Match: {}", id, ifMatch);
+        if (!patch.isObject()) {
+            throw new IllegalArgumentException("A merge patch must be a JSON object");
+        }
+        Set<MovieField> fields = EnumSet.noneOf(MovieField.class);
+        patch.fieldNames().forEachRemaining(name -> fields.add(MovieField.writable(name)));
+        MovieDTO values;
+        try {
+            values = objectMapper.treeToValue(patch, MovieDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid merge patch: " + e.getOriginalMessage(), e);
+        }
+        MovieDTO patchedMovie = movieService.patchMovie(id, values, fields, expectedVersion(id, ifMatch));
+        return patchedMovie != null ?
+                ResponseEntity.ok().eTag(movieETag(patchedMovie)).body(patchedMovie) :
                 ResponseEntity.notFound().build();
     }
 
     /**
      * Delete a movie.
+     * With If-Match, the movie is only deleted if it is still at the version of the given ETag.
      * @param id Movie ID
+     * @param ifMatch ETag of the movie as last read, or * for any version
      * @return No content if deleted
      */
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete a movie", description = "Deletes a movie by its ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "204", description = "Movie deleted successfully"),
-        @ApiResponse(responseCode = "404", description = "Movie not found")
+        @ApiResponse(responseCode = "404", description = "Movie not found"),
+        @ApiResponse(responseCode = "412", description = "Movie changed since the If-Match ETag")
     })
-    public ResponseEntity<Void> deleteMovie(@PathVariable Long id) {
-        log.info("REST request to delete movie with id: {}", id);
-        boolean deleted = movieService.deleteMovie(id);
+    public ResponseEntity<Void> deleteMovie(@PathVariable Long id,
+                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.info("REST request to delete movie with id: {}, If-Match: {}", id, ifMatch);
+        boolean deleted = movieService.deleteMovie(id, expectedVersion(id, ifMatch));
         return deleted ? 
                 ResponseEntity.noContent().build() : 
                 ResponseEntity.notFound().build();
     }
+
+    private static MovieFilter bulkFilter(BulkChangeDTO request) {
+        if (request.getReleasedFrom() != null && request.getReleasedTo() != null
+                && request.getReleasedFrom().isAfter(request.getReleasedTo())) {
+            throw new IllegalArgumentException("releasedFrom must not be after releasedTo");
+        }
+        String director = request.getDirector();
+        return MovieFilter.builder()
+                .genres(request.getGenres() == null ? Set.of() : Set.copyOf(request.getGenres()))
+                .matchAllGenres(request.getGenreMatch() == null || matchAllGenres(request.getGenreMatch()))
+                .director(director == null || director.isBlank() ? null : director.trim())
+                .releasedFrom(request.getReleasedFrom())
+                .releasedTo(request.getReleasedTo())
+                .build();
+    }
+
+    private static boolean matchAllGenres(String genreMatch) {
+        return switch (genreMatch.trim().toLowerCase()) {
+            case "all" -> true;
+            case "any" -> false;
+            default -> throw new IllegalArgumentException("Unsupported genre match: " + genreMatch);
+        };
+    }
+
+    static String catalogETag(long catalogVersion) {
+        return "\"catalog-" + catalogVersion + "\"";
+    }
+
+    static String movieETag(MovieDTO movie) {
+        long version = movie.getVersion() == null ? 0L : movie.getVersion();
+        return "\"movie-" + movie.getId() + "-" + version + "\"";
+    }
+
+    /**
+     * Version of a movie named by an If-Match header.
+     * @param id Movie ID
+     * @param ifMatch Header value, null when absent
+     * @return Version to require, null when the header is absent or *
+     * @throws OptimisticLockingFailureException if the header names no version of this movie, which the
+     * movie can therefore never match (weak ETags never match for If-Match)
+     */
+    static Long expectedVersion(Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String prefix = "\"movie-" + id + "-";
+        String eTag = ifMatch.trim();
+        if (eTag.startsWith(prefix) && eTag.endsWith("\"") && eTag.length() > prefix.length() + 1) {
+            try {
+                return Long.parseLong(eTag.substring(prefix.length(), eTag.length() - 1));
+            } catch (NumberFormatException e) {
+                // Falls through to the mismatch below
+            }
+        }
+        throw new OptimisticLockingFailureException("If-Match " + ifMatch + " does not match movie " + id);
+    }
 }
@@ -0,0 +1,49 @@
+package com.abc.movieworld.datasource;
+
+/**
+ * Per-thread override of read replica routing.
+ * <p>
+ * Read-only transactions go to the replica unless the current thread is pinned to the primary, for
+ * reads that must see the latest committed writes: requests from a client that has just written,
+ * and refreshes of state shared by every client. Without a replica, pinning has no effect.
+ */
+public final class DataSourceRouting {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private DataSourceRouting() {
+    }
+
+    /**
+     * Send every transaction of the current thread to the primary until the returned pin is closed.
+     * Pins nest: closing one restores the routing in place when it was taken.
+     * @return Pin to close, typically with try-with-resources
+     */
+    public static Pin pinToPrimary() {
+        Boolean previous = PINNED.get();
+        PINNED.set(Boolean.TRUE);
+        return () -> {
+            if (previous == null) {
+                PINNED.remove();
+            } else {
+                PINNED.set(previous);
+            }
+        };
+    }
+
+    /**
+     * @return Whether the current thread is pinned to the primary
+     */
+    public static boolean isPinnedToPrimary() {
+        return PINNED.get() != null;
+    }
+
+    /**
+     * Routing override taken by {@link #pinToPrimary()}.
+     */
+    public interface Pin extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,74 @@
+package com.abc.movieworld.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Pins a client to the primary for a while after it writes, so that it reads its own writes even
+ * when the replica lags behind.
+ * <p>
+ * Every request that may write answers with a cookie holding the time until which the client is
+ * pinned. Requests carrying an unexpired cookie run pinned to the primary, whichever instance serves
+ * them, since the state travels with the client. Clients that do not keep cookies read from the
+ * replica as soon as their write has been answered.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String COOKIE = "movieworld-primary-until";
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+    private final Duration window;
+
+    public ReadYourWritesFilter(Duration window) {
+        this.window = window;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        boolean pinned = pinnedUntil(request) > now;
+        if (!SAFE_METHODS.contains(request.getMethod()) && !window.isZero()) {
+            // Set before the response is committed; a failed write pins needlessly but harmlessly
+            Cookie cookie = new Cookie(COOKIE, String.valueOf(now + window.toMillis()));
+            cookie.setMaxAge((int) Math.max(1, window.plusMillis(999).toSeconds()));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            response.addCookie(cookie);
+            pinned = true;
+        }
+        if (!pinned) {
+            chain.doFilter(request, response);
+            return;
+        }
+        try (DataSourceRouting.Pin pin = DataSourceRouting.pinToPrimary()) {
+            chain.doFilter(request, response);
+        }
+    }
+
+    private static long pinnedUntil(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,56 @@
+package com.abc.movieworld.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to the replica pool and everything else to the primary pool.
+ * <p>
+ * The transaction is only known to be read-only once it has begun, so this data source must sit
+ * behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, which fetches
+ * the physical connection on the first statement. Connections taken outside a transaction, and
+ * read-only transactions of a thread pinned with {@link DataSourceRouting#pinToPrimary()}, use the
+ * primary. Read-only transactions are counted per pool as {@code movieworld.datasource.reads}.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    private final Counter primaryReads;
+    private final Counter replicaReads;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, MeterRegistry meterRegistry) {
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        this.primaryReads = readCounter(meterRegistry, PRIMARY);
+        this.replicaReads = readCounter(meterRegistry, REPLICA);
+        afterPropertiesSet();
+    }
+
+    private static Counter readCounter(MeterRegistry meterRegistry, String pool) {
+        return Counter.builder("movieworld.datasource.reads")
+                .description("Read-only transactions that took a connection, by the pool they used")
+                .tag("pool", pool)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        if (DataSourceRouting.isPinnedToPrimary()) {
+            primaryReads.increment();
+            return PRIMARY;
+        }
+        replicaReads.increment();
+        return REPLICA;
+    }
+}
@@ -0,0 +1,44 @@
+package com.abc.movieworld.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Data Transfer Object selecting the movies of a bulk update or delete.
+ * Movies are selected by ID, by filter, or both; every criterion given must match.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Selection of movies to update or delete in bulk, with the changes of an update")
+public class BulkChangeDTO {
+
+    @Schema(description = "IDs of the movies to change")
+    private List<Long> ids;
+
+    @Schema(description = "Genres to filter on, matched ignoring case and accents")
+    private Set<String> genres;
+
+    @Schema(description = "all to require every genre, any to require at least one", defaultValue = "all")
+    private String genreMatch;
+
+    @Schema(description = "Director to filter on")
+    private String director;
+
+    @Schema(description = "Earliest release date, inclusive")
+    private LocalDate releasedFrom;
+
+    @Schema(description = "Latest release date, inclusive")
+    private LocalDate releasedTo;
+
+    @Schema(description = "Fields to set on every selected movie; omitted fields are left unchanged. Update only")
+    private MovieDTO changes;
+}
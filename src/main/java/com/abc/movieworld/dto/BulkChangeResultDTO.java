@@ -0,0 +1,19 @@
+package com.abc.movieworld.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for the outcome of a bulk update or delete.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of a bulk update or delete")
+public class BulkChangeResultDTO {
+
+    @Schema(description = "Number of movies updated or deleted")
+    private int affected;
+}
@@ -0,0 +1,45 @@
+package com.abc.movieworld.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for the outcome of a bulk write.
+ * Movies are reported by their position in the request, so every movie that failed can be matched
+ * to its own error.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of a bulk write")
+public class BulkResultDTO {
+
+    @Schema(description = "Number of movies written")
+    private int succeeded;
+
+    @Schema(description = "ID of each movie in request order, null for movies that failed")
+    private List<Long> ids;
+
+    @Schema(description = "Movies that failed, in request order")
+    private List<ItemError> errors;
+
+    /**
+     * Why one movie of a bulk write failed.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Error for one movie of a bulk write")
+    public static class ItemError {
+
+        @Schema(description = "Position of the movie in the request, starting at 0")
+        private int index;
+
+        @Schema(description = "Why the movie was not written")
+        private String message;
+    }
+}
@@ -0,0 +1,46 @@
+package com.abc.movieworld.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Data Transfer Object for one entry of the change feed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Change to one movie")
+public class ChangeEventDTO {
+
+    /**
+     * Kinds of change.
+     */
+    public enum Type {
+        CREATED,
+        UPDATED,
+        /** Tombstone: the movie was deleted. */
+        DELETED
+    }
+
+    @Schema(description = "Position of the change in the feed; changes are numbered in commit order")
+    private long sequence;
+
+    @Schema(description = "Kind of change")
+    private Type type;
+
+    @Schema(description = "ID of the changed movie")
+    private Long movieId;
+
+    @Schema(description = "Catalog revision of the write")
+    private Long revision;
+
+    @Schema(description = "When the change was made")
+    private Instant changedAt;
+
+    @Schema(description = "The movie as it is now; null for deletes and for movies deleted since")
+    private MovieDTO movie;
+}
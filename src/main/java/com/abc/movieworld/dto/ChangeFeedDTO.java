@@ -0,0 +1,28 @@
+package com.abc.movieworld.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for a page of the change feed.
+ * The next cursor is the sequence number of the last change in the page, passed back as {@code since}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Page of the change feed with the cursor to continue from")
+public class ChangeFeedDTO {
+
+    @Schema(description = "Changes in sequence order")
+    private List<ChangeEventDTO> changes;
+
+    @Schema(description = "Value of since for the next request; unchanged when there are no new changes")
+    private long next;
+
+    @Schema(description = "Whether more changes are available right away")
+    private boolean more;
+}
@@ -0,0 +1,86 @@
+package com.abc.movieworld.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Data Transfer Object for the progress of a file import.
+ * Row counts cover the whole file, including rows imported before the import was resumed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Progress of a file import")
+public class ImportStatusDTO {
+
+    /**
+     * Stages of an import.
+     */
+    public enum State {
+        /** Reading and writing rows. */
+        RUNNING,
+        /** Every row was read. */
+        COMPLETED,
+        /** Stopped by a shutdown; starting it again resumes it. */
+        STOPPED,
+        /** Stopped by an error; starting it again resumes it. */
+        FAILED
+    }
+
+    @Schema(description = "Path of the file, relative to the import directory")
+    private String file;
+
+    @Schema(description = "Format of the file")
+    private String format;
+
+    @Schema(description = "Stage of the import")
+    private State state;
+
+    @Schema(description = "Rows already imported when this run resumed the import")
+    private long resumedAt;
+
+    @Schema(description = "Rows read so far")
+    private long rowsRead;
+
+    @Schema(description = "Rows written to the catalog so far")
+    private long rowsWritten;
+
+    @Schema(description = "Rows rejected so far")
+    private long rowsFailed;
+
+    @Schema(description = "Rows read per second by this run")
+    private double rowsPerSecond;
+
+    @Schema(description = "When this run started")
+    private Instant startedAt;
+
+    @Schema(description = "When this run ended, null while running")
+    private Instant finishedAt;
+
+    @Schema(description = "Why the import stopped, for a failed import")
+    private String error;
+
+    @Schema(description = "First rows rejected by this run")
+    private List<RowError> rowErrors;
+
+    /**
+     * Why one row of the file was not imported.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Error for one row of an import")
+    public static class RowError {
+
+        @Schema(description = "Position of the row in the file, starting at 1 after any header")
+        private long row;
+
+        @Schema(description = "Why the row was not imported")
+        private String message;
+    }
+}
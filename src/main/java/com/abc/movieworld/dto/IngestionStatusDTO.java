@@ -0,0 +1,40 @@
+package com.abc.movieworld.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for the state of a write accepted by the ingestion queue.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "State of a queued write")
+public class IngestionStatusDTO {
+
+    /**
+     * Stages of a queued write.
+     */
+    public enum State {
+        /** Waiting in the queue. */
+        PENDING,
+        /** Written to the database. */
+        WRITTEN,
+        /** Not written; see the error. */
+        FAILED
+    }
+
+    @Schema(description = "Tracking ID returned when the write was accepted")
+    private String trackingId;
+
+    @Schema(description = "Stage of the write")
+    private State state;
+
+    @Schema(description = "ID of the movie; for a create, known once it is written")
+    private Long movieId;
+
+    @Schema(description = "Why the write failed")
+    private String error;
+}
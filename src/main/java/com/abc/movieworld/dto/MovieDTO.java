@@ -1,10 +1,12 @@
 package com.abc.movieworld.dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -17,6 +19,7 @@ import java.time.LocalDate;
  * Can be used for create, update, and read operations.
  */
 @Data
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @Schema(description = "Movie Data Transfer Object")
@@ -54,4 +57,18 @@ public class MovieDTO implements Serializable {
     
     @Schema(description = "Movie reviews (only populated when fetching with reviews)")
     private transient Object reviews;
+    
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Schema(description = "Catalog version of the last write to this movie", accessMode = Schema.AccessMode.READ_ONLY)
+    private Long revision;
+    
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Schema(description = "Version of the movie, incremented by every write; the ETag to send in If-Match",
+            accessMode = Schema.AccessMode.READ_ONLY)
+    private Long version;
+    
+    public MovieDTO(Long id, String title, String director, LocalDate releaseDate, Integer durationMinutes,
+                    String genre, String imagePath, String description, Object reviews) {
+        this(id, title, director, releaseDate, durationMinutes, genre, imagePath, description, reviews, null, null);
+    }
 }
@@ -0,0 +1,138 @@
+package com.abc.movieworld.dto;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Movie fields that can be selected with the {@code fields} request parameter.
+ * Each field's parameter name is both the JSON property of {@link MovieDTO} and the attribute of the
+ * Movie entity, so a selection maps directly onto a column projection.
+ */
+public enum MovieField {
+
+    ID("id", MovieDTO::getId, (movie, value) -> movie.setId((Long) value)),
+    TITLE("title", MovieDTO::getTitle, (movie, value) -> movie.setTitle((String) value)),
+    DIRECTOR("director", MovieDTO::getDirector, (movie, value) -> movie.setDirector((String) value)),
+    RELEASE_DATE("releaseDate", MovieDTO::getReleaseDate, (movie, value) -> movie.setReleaseDate((LocalDate) value)),
+    DURATION_MINUTES("durationMinutes", MovieDTO::getDurationMinutes, (movie, value) -> movie.setDurationMinutes((Integer) value)),
+    GENRE("genre", MovieDTO::getGenre, (movie, value) -> movie.setGenre((String) value)),
+    IMAGE_PATH("imagePath", MovieDTO::getImagePath, (movie, value) -> movie.setImagePath((String) value)),
+    DESCRIPTION("description", MovieDTO::getDescription, (movie, value) -> movie.setDescription((String) value)),
+    REVISION("revision", MovieDTO::getRevision, (movie, value) -> movie.setRevision((Long) value)),
+    VERSION("version", MovieDTO::getVersion, (movie, value) -> movie.setVersion((Long) value));
+
+    /** Every field, i.e. the full movie representation. */
+    public static final Set<MovieField> ALL = Collections.unmodifiableSet(EnumSet.allOf(MovieField.class));
+
+    /** Fields a client can write; the others are assigned by the service. */
+    public static final Set<MovieField> WRITABLE = Collections.unmodifiableSet(EnumSet.range(TITLE, DESCRIPTION));
+
+    private final String parameter;
+    private final Function<MovieDTO, Object> getter;
+    private final BiConsumer<MovieDTO, Object> setter;
+
+    MovieField(String parameter, Function<MovieDTO, Object> getter, BiConsumer<MovieDTO, Object> setter) {
+        this.parameter = parameter;
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    /**
+     * Name of the field in the {@code fields} request parameter, the JSON body and the Movie entity.
+     * @return Field name
+     */
+    public String getParameter() {
+        return parameter;
+    }
+
+    /**
+     * Read this field from a movie.
+     * @param movie Movie to read
+     * @return Field value
+     */
+    public Object get(MovieDTO movie) {
+        return getter.apply(movie);
+    }
+
+    /**
+     * Write this field on a movie.
+     * @param movie Movie to update
+     * @param value Field value, of the type of the matching entity attribute
+     */
+    public void set(MovieDTO movie, Object value) {
+        setter.accept(movie, value);
+    }
+
+    /**
+     * Field holding the sort key of the given sort order.
+     * @param sort Sort order
+     * @return Field the sort order is keyed on
+     */
+    public static MovieField of(MovieSort sort) {
+        return switch (sort) {
+            case ID -> ID;
+            case RELEASE_DATE -> RELEASE_DATE;
+            case TITLE -> TITLE;
+            case DIRECTOR -> DIRECTOR;
+        };
+    }
+
+    /**
+     * Resolve a field selection from the {@code fields} request parameter.
+     * @param parameter Comma-separated field names, case insensitive
+     * @return Selected fields; the ID is always included so items stay addressable
+     * @throws IllegalArgumentException if a name does not match a movie field
+     */
+    public static Set<MovieField> fromParameter(String parameter) {
+        Set<MovieField> fields = EnumSet.of(ID);
+        if (parameter == null) {
+            return fields;
+        }
+        for (String name : parameter.split(",")) {
+            if (name.isBlank()) {
+                continue;
+            }
+            fields.add(Arrays.stream(values())
+                    .filter(field -> field.parameter.equalsIgnoreCase(name.trim()))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unsupported field: " + name.trim())));
+        }
+        return fields;
+    }
+
+    /**
+     * Resolve a writable field from its name, as given in a JSON merge patch.
+     * @param parameter Field name, case sensitive like the JSON property
+     * @return Matching field
+     * @throws IllegalArgumentException if the name does not match a writable movie field
+     */
+    public static MovieField writable(String parameter) {
+        return WRITABLE.stream()
+                .filter(field -> field.parameter.equals(parameter))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Field cannot be changed: " + parameter));
+    }
+
+    /**
+     * Project a movie onto the selected fields for serialization.
+     * @param movie Movie to project
+     * @param fields Selected fields
+     * @return Field names mapped to values, in declaration order
+     */
+    public static Map<String, Object> project(MovieDTO movie, Set<MovieField> fields) {
+        Map<String, Object> projected = new LinkedHashMap<>();
+        for (MovieField field : values()) {
+            if (fields.contains(field)) {
+                projected.put(field.parameter, field.get(movie));
+            }
+        }
+        return projected;
+    }
+}
@@ -0,0 +1,98 @@
+package com.abc.movieworld.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Criteria restricting the movies of a listing.
+ * An empty filter matches every movie.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovieFilter {
+
+    /** Genres to filter on, matched ignoring case and accents. */
+    @Builder.Default
+    private Set<String> genres = Set.of();
+
+    /** true when a movie must list every genre, false when any one of them is enough. */
+    @Builder.Default
+    private boolean matchAllGenres = true;
+
+    /** Director to filter on, matched exactly (case-insensitively under the MySQL collation). */
+    private String director;
+
+    /** Earliest release date, inclusive. */
+    private LocalDate releasedFrom;
+
+    /** Latest release date, inclusive. */
+    private LocalDate releasedTo;
+
+    /** Minimum duration in minutes, inclusive. */
+    private Integer minDuration;
+
+    /** Maximum duration in minutes, inclusive. */
+    private Integer maxDuration;
+
+    /**
+     * Filter matching every movie.
+     * @return Empty filter
+     */
+    public static MovieFilter none() {
+        return new MovieFilter();
+    }
+
+    /**
+     * Whether the filter restricts genres.
+     * @return true if at least one genre is given
+     */
+    public boolean hasGenres() {
+        return genres != null && !genres.isEmpty();
+    }
+
+    /**
+     * Whether the filter restricts columns that can be matched by an indexed database query.
+     * @return true if a director, release date or duration criterion is set
+     */
+    public boolean hasColumnCriteria() {
+        return director != null || releasedFrom != null || releasedTo != null
+                || minDuration != null || maxDuration != null;
+    }
+
+    /**
+     * Whether the filter matches every movie.
+     * @return true if no criterion is set
+     */
+    public boolean isEmpty() {
+        return !hasGenres() && !hasColumnCriteria();
+    }
+
+    /**
+     * Check the director, release date and duration criteria against a movie held in memory.
+     * Genres are matched through the genre index instead.
+     * @param movie Movie to check
+     * @return true if the movie meets every column criterion
+     */
+    public boolean matchesColumns(MovieDTO movie) {
+        if (director != null && !director.equalsIgnoreCase(movie.getDirector())) {
+            return false;
+        }
+        if (releasedFrom != null && (movie.getReleaseDate() == null || movie.getReleaseDate().isBefore(releasedFrom))) {
+            return false;
+        }
+        if (releasedTo != null && (movie.getReleaseDate() == null || movie.getReleaseDate().isAfter(releasedTo))) {
+            return false;
+        }
+        if (minDuration != null && (movie.getDurationMinutes() == null || movie.getDurationMinutes() < minDuration)) {
+            return false;
+        }
+        return maxDuration == null || (movie.getDurationMinutes() != null && movie.getDurationMinutes() <= maxDuration);
+    }
+}
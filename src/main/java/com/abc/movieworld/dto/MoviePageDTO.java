@@ -0,0 +1,71 @@
+package com.abc.movieworld.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Data Transfer Object for a single page of movies.
+ * The next cursor is opaque to clients and is passed back unchanged to fetch the following page.
+ * When fields are selected, each movie is serialized with the selected fields only, plus its reviews
+ * when they were fetched.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Page of movies with a cursor to the next page")
+public class MoviePageDTO {
+
+    // Serialized through getSerializedItems, which applies the selected fields
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+    private List<MovieDTO> items;
+
+    @Schema(description = "Opaque cursor for the next page (null when this is the last page)")
+    private String nextCursor;
+
+    // Catalog version the page was cut from, exposed as the ETag rather than in the body
+    @JsonIgnore
+    private Long catalogVersion;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "Number of matching movies per genre (only populated when facets are requested)")
+    private Map<String, Integer> genreFacets;
+
+    // Movie fields to serialize, null for whole movies
+    @JsonIgnore
+    private Set<MovieField> fields;
+
+    public MoviePageDTO(List<MovieDTO> items, String nextCursor) {
+        this(items, nextCursor, null, null, null);
+    }
+
+    public MoviePageDTO(List<MovieDTO> items, String nextCursor, Long catalogVersion) {
+        this(items, nextCursor, catalogVersion, null, null);
+    }
+
+    @JsonProperty("items")
+    @ArraySchema(arraySchema = @Schema(description = "Movies in this page"), schema = @Schema(implementation = MovieDTO.class))
+    public List<?> getSerializedItems() {
+        if (fields == null || items == null) {
+            return items;
+        }
+        return items.stream()
+                .map(movie -> {
+                    Map<String, Object> item = MovieField.project(movie, fields);
+                    if (movie.getReviews() != null) {
+                        item.put("reviews", movie.getReviews());
+                    }
+                    return item;
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,61 @@
+package com.abc.movieworld.dto;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Stable sort orders supported by the paginated movie listing.
+ * Every order is tie-broken on the movie ID so that keyset cursors are unambiguous.
+ */
+public enum MovieSort {
+
+    ID("id"),
+    RELEASE_DATE("releaseDate"),
+    TITLE("title"),
+    DIRECTOR("director");
+
+    private final String parameter;
+
+    MovieSort(String parameter) {
+        this.parameter = parameter;
+    }
+
+    /**
+     * Name of the sort as accepted by the {@code sort} request parameter.
+     * @return Request parameter value
+     */
+    public String getParameter() {
+        return parameter;
+    }
+
+    /**
+     * In-memory ordering equivalent to the database ordering of this sort.
+     * Titles and directors compare case-insensitively to follow the default MySQL collation.
+     * @return Comparator ordering movies by sort key, then ID
+     */
+    public Comparator<MovieDTO> comparator() {
+        Comparator<MovieDTO> byId = Comparator.comparing(MovieDTO::getId);
+        return switch (this) {
+            case ID -> byId;
+            case RELEASE_DATE -> Comparator.comparing(MovieDTO::getReleaseDate).thenComparing(byId);
+            case TITLE -> Comparator.comparing(MovieDTO::getTitle, String.CASE_INSENSITIVE_ORDER).thenComparing(byId);
+            case DIRECTOR -> Comparator.comparing(MovieDTO::getDirector, String.CASE_INSENSITIVE_ORDER).thenComparing(byId);
+        };
+    }
+
+    /**
+     * Resolve a sort order from its request parameter value.
+     * @param parameter Request parameter value, case insensitive
+     * @return Matching sort order, {@link #ID} when the value is blank
+     * @throws IllegalArgumentException if the value does not match a supported sort
+     */
+    public static MovieSort fromParameter(String parameter) {
+        if (parameter == null || parameter.isBlank()) {
+            return ID;
+        }
+        return Arrays.stream(values())
+                .filter(sort -> sort.parameter.equalsIgnoreCase(parameter.trim()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported sort: " + parameter));
+    }
+}
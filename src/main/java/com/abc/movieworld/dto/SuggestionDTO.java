@@ -0,0 +1,25 @@
+package com.abc.movieworld.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for an autocomplete suggestion.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Autocomplete suggestion")
+public class SuggestionDTO {
+
+    public static final String TITLE = "title";
+    public static final String DIRECTOR = "director";
+
+    @Schema(description = "Suggested text, as spelled in the catalog")
+    private String text;
+
+    @Schema(description = "What the text is: title or director")
+    private String type;
+}
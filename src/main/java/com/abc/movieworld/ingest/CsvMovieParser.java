@@ -0,0 +1,130 @@
+package com.abc.movieworld.ingest;
+
+import com.abc.movieworld.dto.MovieDTO;
+import com.abc.movieworld.dto.MovieField;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reads movies from CSV records whose columns are named by a header row.
+ * <p>
+ * Columns are matched to the writable movie fields and the ID by name, ignoring case and underscores,
+ * so both {@code releaseDate} and {@code release_date} are understood. Other columns are ignored.
+ * Empty fields are read as null. Parsers are immutable and can be shared between threads.
+ */
+final class CsvMovieParser {
+
+    private static final Set<MovieField> COLUMNS = EnumSet.of(MovieField.ID);
+
+    static {
+        COLUMNS.addAll(MovieField.WRITABLE);
+    }
+
+    // Field of each column, null for ignored columns
+    private final MovieField[] columns;
+
+    private CsvMovieParser(MovieField[] columns) {
+        this.columns = columns;
+    }
+
+    /**
+     * Create a parser for the columns of a header row.
+     * @param header Header row
+     * @return Parser for the rows below it
+     * @throws IllegalArgumentException if no column names a movie field
+     */
+    static CsvMovieParser forHeader(String header) {
+        // Byte order mark written by some spreadsheet tools
+        if (header.startsWith("\uFEFF")) {
+            header = header.substring(1);
+        }
+        List<String> names = fields(header);
+        MovieField[] columns = new MovieField[names.size()];
+        boolean any = false;
+        for (int i = 0; i < columns.length; i++) {
+            String name = names.get(i).replace("_", "").trim();
+            columns[i] = COLUMNS.stream()
+                    .filter(field -> field.getParameter().equalsIgnoreCase(name))
+                    .findFirst()
+                    .orElse(null);
+            any |= columns[i] != null;
+        }
+        if (!any) {
+            throw new IllegalArgumentException("CSV header names no movie field: " + header);
+        }
+        return new CsvMovieParser(columns);
+    }
+
+    /**
+     * Read a movie from a row.
+     * @param row Row below the header
+     * @return Movie with the fields of the row; not validated
+     * @throws IllegalArgumentException if the row is malformed or a value has the wrong type
+     */
+    MovieDTO parse(String row) {
+        List<String> values = fields(row);
+        if (values.size() != columns.length) {
+            throw new IllegalArgumentException("Expected " + columns.length + " fields but found " + values.size());
+        }
+        MovieDTO movie = new MovieDTO();
+        for (int i = 0; i < columns.length; i++) {
+            String value = values.get(i);
+            if (columns[i] != null && !value.isEmpty()) {
+                columns[i].set(movie, convert(columns[i], value));
+            }
+        }
+        return movie;
+    }
+
+    private static Object convert(MovieField field, String value) {
+        try {
+            return switch (field) {
+                case ID -> Long.valueOf(value.trim());
+                case DURATION_MINUTES -> Integer.valueOf(value.trim());
+                case RELEASE_DATE -> LocalDate.parse(value.trim());
+                default -> value;
+            };
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid " + field.getParameter() + ": " + value);
+        }
+    }
+
+    /**
+     * Split a record into its fields. Quoted fields may contain commas, line breaks and doubled quotes.
+     */
+    static List<String> fields(String record) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,39 @@
+package com.abc.movieworld.ingest;
+
+import java.util.Locale;
+
+/**
+ * File formats the movie importer reads.
+ */
+public enum ImportFormat {
+
+    /** Comma-separated values with a header row naming the movie fields; fields may be quoted as in RFC 4180. */
+    CSV,
+    /** One JSON movie per line, as written by the catalog export. */
+    NDJSON;
+
+    /**
+     * Resolve the format of a file.
+     * @param format Format name, case insensitive; null to go by the file extension
+     * @param file File name
+     * @return Format of the file
+     * @throws IllegalArgumentException if the name or the extension does not match a format
+     */
+    public static ImportFormat of(String format, String file) {
+        if (format != null && !format.isBlank()) {
+            try {
+                return valueOf(format.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported import format: " + format);
+            }
+        }
+        String name = file.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl") || name.endsWith(".json")) {
+            return NDJSON;
+        }
+        throw new IllegalArgumentException("Cannot tell the format of " + file + "; give it as csv or ndjson");
+    }
+}
@@ -0,0 +1,345 @@
+package com.abc.movieworld.ingest;
+
+import com.abc.movieworld.dto.BulkResultDTO;
+import com.abc.movieworld.dto.IngestionStatusDTO;
+import com.abc.movieworld.dto.MovieDTO;
+import com.abc.movieworld.service.MovieService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind queue for high-volume movie creates and updates, enabled with
+ * {@code movieworld.ingest.enabled}.
+ * <p>
+ * Writes are accepted into a bounded in-memory queue and acknowledged with a tracking ID before they
+ * reach the database. A single writer thread flushes the queue in batches, as soon as
+ * {@code movieworld.ingest.batch-size} writes are waiting or the oldest one has waited
+ * {@code movieworld.ingest.flush-interval}. Each batch goes through the bulk create and update paths
+ * of the movie service, so it costs a few transactions and JDBC batches rather than one transaction
+ * per write. An update to a movie that is still queued replaces the queued update, so a movie updated
+ * many times between flushes is written once. When the queue is full, writes are rejected instead of
+ * being buffered without bound.
+ * <p>
+ * Queued writes are lost if the process dies before they are flushed. On a normal shutdown the queue
+ * is drained after the web server has stopped taking requests.
+ */
+@Component
+@ConditionalOnProperty(name = "movieworld.ingest.enabled", havingValue = "true")
+@Slf4j
+public class IngestionQueue implements SmartLifecycle {
+
+    private final MovieService movieService;
+    private final int capacity;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Cache<String, IngestionStatusDTO> statuses;
+    private final AtomicInteger depth = new AtomicInteger();
+    private final Counter coalesced;
+    private final Counter rejected;
+    private final Timer flushTimer;
+    private final Timer lagTimer;
+    private final DistributionSummary batchSizes;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition ready = lock.newCondition();
+    // Updates are keyed by movie ID, so that a later update replaces a queued one; creates by tracking ID
+    private final Map<Object, PendingWrite> pending = new LinkedHashMap<>();
+    private volatile boolean running;
+    private Thread writer;
+
+    @Autowired
+    public IngestionQueue(MovieService movieService, MeterRegistry meterRegistry,
+                          @Value("${movieworld.ingest.capacity:10000}") int capacity,
+                          @Value("${movieworld.ingest.batch-size:500}") int batchSize,
+                          @Value("${movieworld.ingest.flush-interval:1s}") Duration flushInterval,
+                          @Value("${movieworld.ingest.status-ttl:10m}") Duration statusTtl) {
+        this.movieService = movieService;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.statuses = Caffeine.newBuilder()
+                .maximumSize(capacity * 10L)
+                .expireAfterWrite(statusTtl)
+                .build();
+        Gauge.builder("movieworld.ingest.queue.depth", depth, AtomicInteger::get)
+                .description("Writes waiting in the ingestion queue")
+                .register(meterRegistry);
+        Gauge.builder("movieworld.ingest.queue.capacity", () -> capacity)
+                .description("Most writes the ingestion queue holds before rejecting new ones")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("movieworld.ingest.coalesced")
+                .description("Updates merged into an update of the same movie that was still queued")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("movieworld.ingest.rejected")
+                .description("Writes rejected because the ingestion queue was full")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("movieworld.ingest.flush")
+                .description("Time to write one batch of queued writes to the database")
+                .register(meterRegistry);
+        this.lagTimer = Timer.builder("movieworld.ingest.lag")
+                .description("Time from accepting a write to writing it to the database")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("movieworld.ingest.batch.size")
+                .description("Writes per flushed batch")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queue the creation of a movie.
+     * @param movie Movie to create, already validated; its ID is ignored
+     * @return Pending status with the tracking ID of the write
+     * @throws IngestionRejectedException if the queue is full or not running
+     */
+    public IngestionStatusDTO create(MovieDTO movie) {
+        String trackingId = UUID.randomUUID().toString();
+        return enqueue(trackingId, trackingId, null, movie.toBuilder().id(null).build());
+    }
+
+    /**
+     * Queue the update of a movie, replacing any update of the same movie that is still queued.
+     * @param id Movie ID
+     * @param movie Updated movie details, already validated
+     * @return Pending status with the tracking ID of the write
+     * @throws IngestionRejectedException if the queue is full or not running
+     */
+    public IngestionStatusDTO update(Long id, MovieDTO movie) {
+        return enqueue(UUID.randomUUID().toString(), id, id, movie.toBuilder().id(id).build());
+    }
+
+    /**
+     * State of a queued write.
+     * @param trackingId Tracking ID returned when the write was accepted
+     * @return Status, empty if the ID is unknown or its status has expired
+     */
+    public Optional<IngestionStatusDTO> status(String trackingId) {
+        return Optional.ofNullable(statuses.getIfPresent(trackingId));
+    }
+
+    private IngestionStatusDTO enqueue(String trackingId, Object key, Long movieId, MovieDTO movie) {
+        IngestionStatusDTO status = new IngestionStatusDTO(trackingId, IngestionStatusDTO.State.PENDING, movieId, null);
+        lock.lock();
+        try {
+            if (!running) {
+                throw new IngestionRejectedException("Ingestion queue is not running", flushInterval);
+            }
+            PendingWrite queued = pending.get(key);
+            if (queued != null) {
+                queued.movie = movie;
+                queued.trackingIds.add(trackingId);
+                coalesced.increment();
+            } else {
+                if (pending.size() >= capacity) {
+                    rejected.increment();
+                    throw new IngestionRejectedException("Ingestion queue is full", flushInterval);
+                }
+                pending.put(key, new PendingWrite(movieId, movie, trackingId, System.nanoTime()));
+                depth.set(pending.size());
+                if (pending.size() == 1 || pending.size() >= batchSize) {
+                    ready.signal();
+                }
+            }
+            // Recorded under the lock, so the writer cannot complete the write before it is pending
+            statuses.put(trackingId, status);
+        } finally {
+            lock.unlock();
+        }
+        return status;
+    }
+
+    private void writeLoop() {
+        List<PendingWrite> batch;
+        while ((batch = nextBatch()) != null) {
+            try {
+                write(batch);
+            } catch (RuntimeException e) {
+                // Keep the only writer thread alive for the batches after this one
+                log.error("Writing a batch of {} queued movies failed", batch.size(), e);
+                batch.stream()
+                        .filter(write -> !write.completed)
+                        .forEach(write -> complete(write, null, errorMessage(e)));
+            }
+        }
+        log.info("Ingestion queue drained");
+    }
+
+    /**
+     * Wait until a batch is due, by size or by the age of its oldest write, and take it off the queue.
+     * @return Next batch, null once the queue is stopped and drained
+     */
+    private List<PendingWrite> nextBatch() {
+        lock.lock();
+        try {
+            while (true) {
+                if (pending.isEmpty()) {
+                    if (!running) {
+                        return null;
+                    }
+                    ready.awaitUninterruptibly();
+                    continue;
+                }
+                long oldest = pending.values().iterator().next().acceptedNanos;
+                long wait = oldest + flushInterval.toNanos() - System.nanoTime();
+                if (!running || pending.size() >= batchSize || wait <= 0) {
+                    return drain();
+                }
+                try {
+                    ready.awaitNanos(wait);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    running = false;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<PendingWrite> drain() {
+        List<PendingWrite> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+        Iterator<PendingWrite> writes = pending.values().iterator();
+        while (writes.hasNext() && batch.size() < batchSize) {
+            batch.add(writes.next());
+            writes.remove();
+        }
+        depth.set(pending.size());
+        return batch;
+    }
+
+    private void write(List<PendingWrite> batch) {
+        batchSizes.record(batch.size());
+        Map<Boolean, List<PendingWrite>> byKind = batch.stream()
+                .collect(Collectors.partitioningBy(write -> write.movieId == null));
+        flushTimer.record(() -> {
+            flush(byKind.get(true), movieService::createMovies);
+            flush(byKind.get(false), movieService::replaceMovies);
+        });
+    }
+
+    private void flush(List<PendingWrite> writes, Function<List<MovieDTO>, BulkResultDTO> bulkWrite) {
+        if (writes.isEmpty()) {
+            return;
+        }
+        BulkResultDTO result;
+        try {
+            result = bulkWrite.apply(writes.stream().map(write -> write.movie).toList());
+        } catch (RuntimeException e) {
+            log.error("Writing {} queued movies failed", writes.size(), e);
+            writes.forEach(write -> complete(write, null, errorMessage(e)));
+            return;
+        }
+        Map<Integer, String> errors = result.getErrors().stream()
+                .collect(Collectors.toMap(BulkResultDTO.ItemError::getIndex, BulkResultDTO.ItemError::getMessage));
+        for (int i = 0; i < writes.size(); i++) {
+            complete(writes.get(i), result.getIds().get(i), errors.get(i));
+        }
+    }
+
+    private void complete(PendingWrite write, Long writtenId, String error) {
+        IngestionStatusDTO.State state = error == null ? IngestionStatusDTO.State.WRITTEN : IngestionStatusDTO.State.FAILED;
+        Long movieId = writtenId != null ? writtenId : write.movieId;
+        write.trackingIds.forEach(trackingId ->
+                statuses.put(trackingId, new IngestionStatusDTO(trackingId, state, movieId, error)));
+        lagTimer.record(System.nanoTime() - write.acceptedNanos, TimeUnit.NANOSECONDS);
+        write.completed = true;
+    }
+
+    /**
+     * @return Error to report for a failed write, never null so that the write is marked failed
+     */
+    private static String errorMessage(RuntimeException e) {
+        return e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+    }
+
+    @Override
+    public void start() {
+        lock.lock();
+        try {
+            running = true;
+            writer = new Thread(this::writeLoop, "movie-ingest");
+            writer.start();
+        } finally {
+            lock.unlock();
+        }
+        log.info("Ingestion queue started with capacity {}, batch size {} and flush interval {}",
+                capacity, batchSize, flushInterval);
+    }
+
+    /**
+     * Stop accepting writes and wait until the queued ones are written.
+     */
+    @Override
+    public void stop() {
+        lock.lock();
+        try {
+            running = false;
+            ready.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Started before and stopped after the web server, whose lifecycle phases are just below the default.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    /**
+     * A queued create, or the latest queued update of a movie with the tracking IDs of every update it replaced.
+     * Only changed under the queue lock while queued.
+     */
+    private static final class PendingWrite {
+
+        private final Long movieId;
+        private final List<String> trackingIds = new ArrayList<>(1);
+        private final long acceptedNanos;
+        private MovieDTO movie;
+        /** Whether its tracking IDs have their final status; only used by the writer thread. */
+        private boolean completed;
+
+        private PendingWrite(Long movieId, MovieDTO movie, String trackingId, long acceptedNanos) {
+            this.movieId = movieId;
+            this.movie = movie;
+            this.trackingIds.add(trackingId);
+            this.acceptedNanos = acceptedNanos;
+        }
+    }
+}
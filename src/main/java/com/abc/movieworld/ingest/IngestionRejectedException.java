@@ -0,0 +1,24 @@
+package com.abc.movieworld.ingest;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a write cannot be queued because the ingestion queue is full or shutting down.
+ * Rejections are expected under load, so no stack trace is captured.
+ */
+public class IngestionRejectedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public IngestionRejectedException(String message, Duration retryAfter) {
+        super(message, null, false, false);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * @return How long the client should wait before sending the write again
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,458 @@
+package com.abc.movieworld.ingest;
+
+import com.abc.movieworld.dto.ImportStatusDTO;
+import com.abc.movieworld.dto.MovieDTO;
+import com.abc.movieworld.model.MovieImport;
+import com.abc.movieworld.repository.MovieImportRepository;
+import com.abc.movieworld.service.MovieService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Imports movies from CSV or NDJSON files in the import directory, enabled with
+ * {@code movieworld.import.enabled}.
+ * <p>
+ * One import runs at a time, on a thread of its own. The file is read sequentially and cut into
+ * batches of {@code movieworld.import.batch-size} rows, which are decoded, parsed and validated in
+ * parallel on {@code movieworld.import.parallelism} threads and then written in file order, each
+ * batch with {@link MovieService#upsertMovies} in one transaction. That transaction also saves a
+ * checkpoint with the byte offset reached, so an import that was stopped or crashed resumes right
+ * after its last committed batch, without reading the file up to there. Malformed and invalid rows
+ * are counted and reported but do not stop the import.
+ * <p>
+ * A batch the database rejects is retried one row at a time, and only then checkpointed. Should the
+ * process die in between, those rows are written again on resume, which upserting makes harmless.
+ */
+@Component
+@ConditionalOnProperty(name = "movieworld.import.enabled", havingValue = "true")
+@Slf4j
+public class MovieImporter {
+
+    /** Most rejected rows kept in the status of an import; all of them are counted. */
+    static final int MAX_ROW_ERRORS = 100;
+
+    private static final Duration PROGRESS_LOG_INTERVAL = Duration.ofSeconds(10);
+
+    private final MovieService movieService;
+    private final MovieImportRepository importRepository;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final int batchSize;
+    private final int parallelism;
+    private final String startupFile;
+    private final Counter rowsWritten;
+    private final Counter rowsFailed;
+    private final Timer batchTimer;
+
+    private volatile ImportStatusDTO status;
+    private volatile boolean stopping;
+    private Thread job;
+
+    @Autowired
+    public MovieImporter(MovieService movieService, MovieImportRepository importRepository, Validator validator,
+                         ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                         @Value("${movieworld.import.dir:imports}") String directory,
+                         @Value("${movieworld.import.batch-size:1000}") int batchSize,
+                         @Value("${movieworld.import.parallelism:0}") int parallelism,
+                         @Value("${movieworld.import.on-startup:}") String startupFile) {
+        this.movieService = movieService;
+        this.importRepository = importRepository;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.directory = Paths.get(directory).toAbsolutePath().normalize();
+        this.batchSize = batchSize;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.startupFile = startupFile;
+        this.rowsWritten = Counter.builder("movieworld.import.rows")
+                .description("Rows read by file imports")
+                .tag("outcome", "written")
+                .register(meterRegistry);
+        this.rowsFailed = Counter.builder("movieworld.import.rows")
+                .description("Rows read by file imports")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("movieworld.import.batch")
+                .description("Time to write one batch of imported rows and its checkpoint")
+                .register(meterRegistry);
+        Gauge.builder("movieworld.import.rows.per.second", this, importer -> importer.currentRate())
+                .description("Rows read per second by the running file import")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Start importing a file in the background, resuming a previous import of it if there is one.
+     * @param file Path of the file, relative to the import directory
+     * @param format Format name, null to go by the file extension
+     * @return True if the import was started, false if another import is running
+     * @throws IllegalArgumentException if the file is outside the import directory, does not exist,
+     * or has no known format
+     */
+    public synchronized boolean start(String file, String format) {
+        if (job != null && job.isAlive()) {
+            return false;
+        }
+        Path path = directory.resolve(file).normalize();
+        if (!path.startsWith(directory) || path.equals(directory)) {
+            throw new IllegalArgumentException("File must be inside the import directory: " + file);
+        }
+        if (!Files.isRegularFile(path)) {
+            throw new IllegalArgumentException("File not found: " + file);
+        }
+        ImportFormat importFormat = ImportFormat.of(format, file);
+        String key = directory.relativize(path).toString().replace('\\', '/');
+        stopping = false;
+        status = new ImportStatusDTO(key, importFormat.name(), ImportStatusDTO.State.RUNNING, 0, 0, 0, 0, 0,
+                Instant.now(), null, null, List.of());
+        job = new Thread(() -> run(path, key, importFormat), "movie-import");
+        job.start();
+        return true;
+    }
+
+    /**
+     * Progress of the running import, or of the last one.
+     * @return Status, empty if no import was started since the application started
+     */
+    public Optional<ImportStatusDTO> status() {
+        return Optional.ofNullable(status);
+    }
+
+    /**
+     * Import the file set in {@code movieworld.import.on-startup}, if any, once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startOnStartup() {
+        if (!startupFile.isBlank()) {
+            log.info("Importing {} on startup", startupFile);
+            start(startupFile, null);
+        }
+    }
+
+    /**
+     * Stop the running import after the batch being written, so that it can be resumed.
+     */
+    @PreDestroy
+    public void stop() {
+        Thread running;
+        synchronized (this) {
+            stopping = true;
+            running = job;
+        }
+        if (running != null) {
+            try {
+                running.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Wait until the running import ends.
+     */
+    void awaitCompletion() throws InterruptedException {
+        Thread running;
+        synchronized (this) {
+            running = job;
+        }
+        if (running != null) {
+            running.join();
+        }
+    }
+
+    private void run(Path path, String key, ImportFormat format) {
+        Progress progress = new Progress(key, format);
+        try {
+            importFile(path, progress);
+        } catch (Exception e) {
+            log.error("Import of {} failed", key, e);
+            publish(progress, ImportStatusDTO.State.FAILED, e.getMessage());
+        }
+    }
+
+    private void importFile(Path path, Progress progress) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        long size = attributes.size();
+        long modified = attributes.lastModifiedTime().toMillis();
+        progress.resume(importRepository.findById(progress.file)
+                .filter(saved -> saved.getFileSize() == size && saved.getFileModified() == modified
+                        && progress.format.name().equals(saved.getFormat()))
+                .orElseGet(() -> new MovieImport(progress.file, progress.format.name(), size, modified,
+                        0L, 0L, 0L, 0L, false, null)));
+        MovieImport checkpoint = progress.checkpoint;
+        if (checkpoint.isCompleted()) {
+            log.info("{} was already imported: {} rows written, {} failed", progress.file,
+                    checkpoint.getRowsWritten(), checkpoint.getRowsFailed());
+            publish(progress, ImportStatusDTO.State.COMPLETED, null);
+            return;
+        }
+        if (checkpoint.getRowsRead() > 0) {
+            log.info("Resuming import of {} after row {}", progress.file, checkpoint.getRowsRead());
+        } else {
+            log.info("Importing {} as {}", progress.file, progress.format);
+        }
+
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService parsers = Executors.newFixedThreadPool(parallelism, task -> {
+            Thread thread = new Thread(task, "movie-import-parse-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            RecordReader reader = new RecordReader(channel, progress.format == ImportFormat.CSV);
+            Function<byte[], MovieDTO> parser = parser(progress.format, reader);
+            if (checkpoint.getOffset() > reader.position()) {
+                reader.seek(checkpoint.getOffset());
+            }
+            // Batches being parsed, in file order; bounded so that reading stays just ahead of writing
+            Deque<CompletableFuture<Batch>> parsing = new ArrayDeque<>();
+            long row = checkpoint.getRowsRead();
+            while (!stopping) {
+                List<byte[]> records = new ArrayList<>(batchSize);
+                byte[] record;
+                while (records.size() < batchSize && (record = reader.next()) != null) {
+                    records.add(record);
+                }
+                if (records.isEmpty()) {
+                    break;
+                }
+                long firstRow = row + 1;
+                long end = reader.position();
+                row += records.size();
+                parsing.add(CompletableFuture.supplyAsync(() -> parse(records, firstRow, end, parser), parsers));
+                if (parsing.size() > parallelism) {
+                    write(parsing.poll().join(), progress);
+                }
+            }
+            while (!stopping && !parsing.isEmpty()) {
+                write(parsing.poll().join(), progress);
+            }
+        } finally {
+            parsers.shutdownNow();
+        }
+
+        if (stopping) {
+            log.info("Import of {} stopped after row {}; it resumes from there when started again",
+                    progress.file, progress.checkpoint.getRowsRead());
+            publish(progress, ImportStatusDTO.State.STOPPED, null);
+            return;
+        }
+        MovieImport completed = progress.checkpoint;
+        completed.setCompleted(true);
+        completed.setUpdatedAt(Instant.now());
+        importRepository.save(completed);
+        ImportStatusDTO done = publish(progress, ImportStatusDTO.State.COMPLETED, null);
+        log.info("Imported {}: {} rows written, {} failed, {} rows/s", progress.file, done.getRowsWritten(),
+                done.getRowsFailed(), Math.round(done.getRowsPerSecond()));
+    }
+
+    /**
+     * Parser of the records of a file. The header of a CSV file is read here, before any seek.
+     */
+    private Function<byte[], MovieDTO> parser(ImportFormat format, RecordReader reader) throws IOException {
+        if (format == ImportFormat.NDJSON) {
+            return this::readJson;
+        }
+        byte[] header = reader.next();
+        CsvMovieParser csv = CsvMovieParser.forHeader(header == null ? "" : new String(header, StandardCharsets.UTF_8));
+        return record -> csv.parse(new String(record, StandardCharsets.UTF_8));
+    }
+
+    private MovieDTO readJson(byte[] record) {
+        try {
+            return objectMapper.readValue(record, MovieDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid JSON: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid JSON: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Parse and validate one batch of records. Runs on the parser threads.
+     */
+    private Batch parse(List<byte[]> records, long firstRow, long end, Function<byte[], MovieDTO> parser) {
+        List<MovieDTO> movies = new ArrayList<>(records.size());
+        List<Long> rows = new ArrayList<>(records.size());
+        List<ImportStatusDTO.RowError> errors = new ArrayList<>();
+        for (int i = 0; i < records.size(); i++) {
+            long row = firstRow + i;
+            try {
+                MovieDTO movie = parser.apply(records.get(i));
+                String violations = violations(movie);
+                if (violations == null) {
+                    movies.add(movie);
+                    rows.add(row);
+                } else {
+                    errors.add(new ImportStatusDTO.RowError(row, violations));
+                }
+            } catch (IllegalArgumentException e) {
+                errors.add(new ImportStatusDTO.RowError(row, e.getMessage()));
+            }
+        }
+        return new Batch(records.size(), end, movies, rows, errors);
+    }
+
+    private String violations(MovieDTO movie) {
+        if (movie == null) {
+            return "Movie is required";
+        }
+        Set<ConstraintViolation<MovieDTO>> violations = validator.validate(movie);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Write one batch with its checkpoint in one transaction. If the batch fails, its rows are written
+     * one at a time and the checkpoint is saved afterwards.
+     */
+    private void write(Batch batch, Progress progress) {
+        Timer.Sample sample = Timer.start();
+        List<ImportStatusDTO.RowError> errors = new ArrayList<>(batch.errors());
+        MovieImport next;
+        try {
+            MovieImport advanced = progress.advance(batch, batch.movies().size(), errors.size());
+            movieService.upsertMovies(batch.movies(), () -> importRepository.save(advanced));
+            next = advanced;
+        } catch (RuntimeException e) {
+            log.warn("Import batch from row {} failed, retrying its rows one at a time: {}",
+                    progress.checkpoint.getRowsRead() + 1, e.getMessage());
+            int written = 0;
+            for (int i = 0; i < batch.movies().size(); i++) {
+                try {
+                    movieService.upsertMovies(List.of(batch.movies().get(i)), () -> { });
+                    written++;
+                } catch (RuntimeException rowError) {
+                    errors.add(new ImportStatusDTO.RowError(batch.rows().get(i),
+                            NestedExceptionUtils.getMostSpecificCause(rowError).getMessage()));
+                }
+            }
+            errors.sort(Comparator.comparingLong(ImportStatusDTO.RowError::getRow));
+            next = progress.advance(batch, written, errors.size());
+            importRepository.save(next);
+        }
+        sample.stop(batchTimer);
+        rowsWritten.increment(next.getRowsWritten() - progress.checkpoint.getRowsWritten());
+        rowsFailed.increment(errors.size());
+        progress.commit(next, errors);
+        ImportStatusDTO current = publish(progress, ImportStatusDTO.State.RUNNING, null);
+        long now = System.nanoTime();
+        if (now - progress.loggedNanos >= PROGRESS_LOG_INTERVAL.toNanos()) {
+            progress.loggedNanos = now;
+            log.info("Importing {}: {} rows read, {} failed, {} rows/s", progress.file, current.getRowsRead(),
+                    current.getRowsFailed(), Math.round(current.getRowsPerSecond()));
+        }
+    }
+
+    private ImportStatusDTO publish(Progress progress, ImportStatusDTO.State state, String error) {
+        MovieImport checkpoint = progress.checkpoint;
+        double seconds = (System.nanoTime() - progress.startNanos) / 1e9;
+        double rowsPerSecond = checkpoint == null || seconds <= 0 ? 0
+                : (checkpoint.getRowsRead() - progress.resumedAt) / seconds;
+        ImportStatusDTO current = new ImportStatusDTO(progress.file, progress.format.name(), state, progress.resumedAt,
+                checkpoint == null ? 0 : checkpoint.getRowsRead(),
+                checkpoint == null ? 0 : checkpoint.getRowsWritten(),
+                checkpoint == null ? 0 : checkpoint.getRowsFailed(),
+                rowsPerSecond, progress.startedAt,
+                state == ImportStatusDTO.State.RUNNING ? null : Instant.now(),
+                error, List.copyOf(progress.rowErrors));
+        status = current;
+        return current;
+    }
+
+    private double currentRate() {
+        ImportStatusDTO current = status;
+        return current != null && current.getState() == ImportStatusDTO.State.RUNNING ? current.getRowsPerSecond() : 0;
+    }
+
+    /**
+     * A parsed batch: the valid movies with their row numbers, the rows rejected while parsing, and the
+     * byte offset just past the batch.
+     */
+    private record Batch(int records, long end, List<MovieDTO> movies, List<Long> rows,
+                         List<ImportStatusDTO.RowError> errors) {
+    }
+
+    /**
+     * State of one run of an import. Only changed by the import thread.
+     */
+    private static final class Progress {
+
+        private final String file;
+        private final ImportFormat format;
+        private final Instant startedAt = Instant.now();
+        private final long startNanos = System.nanoTime();
+        private final List<ImportStatusDTO.RowError> rowErrors = new ArrayList<>();
+        private long loggedNanos = startNanos;
+        private long resumedAt;
+        // Last committed checkpoint
+        private MovieImport checkpoint;
+
+        private Progress(String file, ImportFormat format) {
+            this.file = file;
+            this.format = format;
+        }
+
+        private void resume(MovieImport checkpoint) {
+            this.checkpoint = checkpoint;
+            this.resumedAt = checkpoint.getRowsRead();
+        }
+
+        private MovieImport advance(Batch batch, int written, int failed) {
+            return new MovieImport(file, format.name(), checkpoint.getFileSize(), checkpoint.getFileModified(),
+                    batch.end(), checkpoint.getRowsRead() + batch.records(), checkpoint.getRowsWritten() + written,
+                    checkpoint.getRowsFailed() + failed, false, Instant.now());
+        }
+
+        private void commit(MovieImport next, List<ImportStatusDTO.RowError> errors) {
+            checkpoint = next;
+            errors.stream()
+                    .limit(Math.max(0, MAX_ROW_ERRORS - rowErrors.size()))
+                    .forEach(rowErrors::add);
+        }
+    }
+}
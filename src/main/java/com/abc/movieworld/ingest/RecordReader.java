@@ -0,0 +1,107 @@
+package com.abc.movieworld.ingest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * Splits a file into line records without decoding it, keeping track of the byte offset reached.
+ * <p>
+ * Records are cut at line feeds, with a trailing carriage return dropped. With quoting on, line feeds
+ * inside double quotes belong to the record, as in CSV. Only ASCII bytes are looked at, which never
+ * occur inside multi-byte UTF-8 characters, so the records can be decoded later and elsewhere. Blank
+ * records are skipped.
+ */
+final class RecordReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final boolean quoting;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final ByteArrayOutputStream record = new ByteArrayOutputStream(256);
+    private long position;
+
+    RecordReader(FileChannel channel, boolean quoting) {
+        this.channel = channel;
+        this.quoting = quoting;
+        buffer.flip();
+    }
+
+    /**
+     * @return Byte offset just past the last record read
+     */
+    long position() {
+        return position;
+    }
+
+    /**
+     * Continue reading at the given offset, which must be the start of a record.
+     */
+    void seek(long offset) throws IOException {
+        channel.position(offset);
+        buffer.clear().flip();
+        position = offset;
+    }
+
+    /**
+     * @return Bytes of the next record without its line ending, null at the end of the file
+     */
+    byte[] next() throws IOException {
+        while (true) {
+            record.reset();
+            boolean inQuotes = false;
+            boolean ended = false;
+            boolean started = false;
+            while (!ended) {
+                if (!buffer.hasRemaining()) {
+                    buffer.clear();
+                    int read = channel.read(buffer);
+                    buffer.flip();
+                    if (read < 0) {
+                        if (!started) {
+                            return null;
+                        }
+                        break;
+                    }
+                    continue;
+                }
+                started = true;
+                byte[] bytes = buffer.array();
+                int from = buffer.position();
+                int end = from;
+                while (end < buffer.limit()) {
+                    byte b = bytes[end++];
+                    if (b == '"' && quoting) {
+                        inQuotes = !inQuotes;
+                    } else if (b == '\n' && !inQuotes) {
+                        ended = true;
+                        break;
+                    }
+                }
+                record.write(bytes, from, ended ? end - 1 - from : end - from);
+                position += end - from;
+                buffer.position(end);
+            }
+            byte[] line = record.toByteArray();
+            int length = line.length;
+            if (length > 0 && line[length - 1] == '\r') {
+                length--;
+            }
+            if (!isBlank(line, length)) {
+                return length == line.length ? line : Arrays.copyOf(line, length);
+            }
+        }
+    }
+
+    private static boolean isBlank(byte[] line, int length) {
+        for (int i = 0; i < length; i++) {
+            if (line[i] != ' ' && line[i] != '\t' && line[i] != '\r') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -33,6 +33,8 @@ public class MovieMapper {
         dto.setImagePath(movie.getImagePath());
         dto.setDescription(movie.getDescription());
         dto.setReviews(movie.getReviews());
+        dto.setRevision(movie.getRevision());
+        dto.setVersion(movie.getVersion());
         
         return dto;
     }
@@ -0,0 +1,38 @@
+package com.abc.movieworld.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+/**
+ * Entity class holding the catalog version counter.
+ * A single row is incremented in the same transaction as every movie write, so the version
+ * only moves forward and commits happen in version order. The same row holds the last sequence
+ * number of the change log, which is therefore also committed in order.
+ */
+@Entity
+@Table(name = "catalog_version")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogVersion {
+
+    /**
+     * ID of the single counter row.
+     */
+    public static final Long CATALOG_ID = 1L;
+
+    @Id
+    private Long id;
+
+    private Long version;
+
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long changeSequence;
+}
@@ -5,12 +5,17 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDate;
 
@@ -19,13 +24,31 @@ import java.time.LocalDate;
  * Contains basic information about a movie.
  */
 @Entity
+@Table(indexes = {
+    @Index(name = "idx_movie_release_date_id", columnList = "releaseDate, id"),
+    @Index(name = "idx_movie_title_id", columnList = "title, id"),
+    @Index(name = "idx_movie_director_id", columnList = "director, id"),
+    @Index(name = "idx_movie_director_release_date_id", columnList = "director, releaseDate, id"),
+    @Index(name = "idx_movie_duration_id", columnList = "durationMinutes, id"),
+    @Index(name = "idx_movie_revision", columnList = "revision")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Movie {
 
+    /**
+     * Number of IDs reserved from the sequence at a time.
+     */
+    public static final int ID_ALLOCATION_SIZE = 100;
+
+    // IDs come from a pooled sequence rather than the identity column, so Hibernate knows them before
+    // inserting and can batch the inserts. The column keeps AUTO_INCREMENT for the seed rows in data.sql,
+    // which then moves the sequence past them.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "movie_seq")
+    @SequenceGenerator(name = "movie_seq", sequenceName = "movie_seq", allocationSize = ID_ALLOCATION_SIZE)
+    @Column(columnDefinition = "bigint auto_increment")
     private Long id;
     
     @NotBlank(message = "Title is required")
@@ -51,4 +74,18 @@ public class Movie {
     // This field is not persisted but used to store reviews fetched from the review service
     @jakarta.persistence.Transient
     private Object reviews;
+    
+    // Catalog version of the last write to this row, used by replicas to catch up incrementally
+    private Long revision;
+    
+    // Optimistic lock, incremented by every write to this row; rows that predate it start at 0
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+    
+    public Movie(Long id, String title, String director, LocalDate releaseDate, Integer durationMinutes,
+                 String genre, String imagePath, String description, Object reviews) {
+        this(id, title, director, releaseDate, durationMinutes, genre, imagePath, description, reviews, null, null);
+    }
 }
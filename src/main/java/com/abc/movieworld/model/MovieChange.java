@@ -0,0 +1,52 @@
+package com.abc.movieworld.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Entity class for one entry of the append-only movie change log.
+ * Entries are written in the same transaction as the change they record, with sequence numbers
+ * reserved from the catalog version row, so they become visible in sequence order and a reader that
+ * has seen sequence {@code n} misses no change by reading the entries above it.
+ */
+@Entity
+@Table(name = "movie_change")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovieChange {
+
+    /**
+     * Kinds of change to a movie.
+     */
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    // Assigned from the catalog version row rather than generated, so that it follows commit order
+    @Id
+    private Long sequence;
+
+    @Column(nullable = false)
+    private Long movieId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Type type;
+
+    // Catalog revision of the write
+    private Long revision;
+
+    private Instant changedAt;
+}
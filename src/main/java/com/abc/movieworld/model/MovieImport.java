@@ -0,0 +1,50 @@
+package com.abc.movieworld.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Entity class holding the checkpoint of a file import.
+ * The checkpoint is saved in the same transaction as each imported batch, so after a crash the
+ * import resumes right after the last batch that was committed. It only applies to the same file:
+ * a file whose size or modification time has changed is imported again from the start.
+ */
+@Entity
+@Table(name = "movie_import")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovieImport {
+
+    // Path of the file, relative to the import directory
+    @Id
+    @Column(length = 500)
+    private String file;
+
+    private String format;
+
+    private Long fileSize;
+
+    private Long fileModified;
+
+    // Byte offset just past the last record imported
+    @Column(name = "file_offset")
+    private Long offset;
+
+    private Long rowsRead;
+
+    private Long rowsWritten;
+
+    private Long rowsFailed;
+
+    private boolean completed;
+
+    private Instant updatedAt;
+}
@@ -0,0 +1,54 @@
+package com.abc.movieworld.repository;
+
+import com.abc.movieworld.model.CatalogVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for the catalog version counter.
+ */
+@Repository
+public interface CatalogVersionRepository extends JpaRepository<CatalogVersion, Long> {
+
+    /**
+     * Increment the counter in place. The row lock is held until the surrounding transaction commits.
+     * @param id Counter row ID
+     * @return Number of rows updated, 0 if the counter row does not exist yet
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE CatalogVersion c SET c.version = c.version + 1 WHERE c.id = :id")
+    int incrementVersion(@Param("id") Long id);
+
+    /**
+     * Read the current counter value.
+     * @param id Counter row ID
+     * @return Current version, empty if the counter row does not exist yet
+     */
+    @Query("SELECT c.version FROM CatalogVersion c WHERE c.id = :id")
+    Optional<Long> findVersion(@Param("id") Long id);
+
+    /**
+     * Reserve sequence numbers for change log entries. Must run after the version increment of the same
+     * transaction, whose row lock makes sequence numbers commit in order. Unlike the version increment,
+     * it leaves the persistence context as it is.
+     * @param id Counter row ID
+     * @param count Number of sequence numbers to reserve
+     * @return Number of rows updated
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE CatalogVersion c SET c.changeSequence = c.changeSequence + :count WHERE c.id = :id")
+    int advanceChangeSequence(@Param("id") Long id, @Param("count") long count);
+
+    /**
+     * Read the last reserved change log sequence number.
+     * @param id Counter row ID
+     * @return Last sequence number, empty if the counter row does not exist yet
+     */
+    @Query("SELECT c.changeSequence FROM CatalogVersion c WHERE c.id = :id")
+    Optional<Long> findChangeSequence(@Param("id") Long id);
+}
@@ -0,0 +1,35 @@
+package com.abc.movieworld.repository;
+
+import com.abc.movieworld.model.MovieChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for the movie change log.
+ */
+@Repository
+public interface MovieChangeRepository extends JpaRepository<MovieChange, Long>, MovieChangeRepositoryCustom {
+
+    /**
+     * Read the change log after a sequence number, in sequence order.
+     * @param sequence Last sequence number already read
+     * @param pageable First page, sized to the most entries to read
+     * @return Entries after the sequence number
+     */
+    List<MovieChange> findBySequenceGreaterThanOrderBySequence(Long sequence, Pageable pageable);
+
+    /**
+     * Read the IDs of the movies with one kind of change within a range of sequence numbers.
+     * @param type Kind of change
+     * @param after Last sequence number already read
+     * @param upTo Last sequence number to read
+     * @return Movie IDs, in no particular order
+     */
+    @Query("SELECT c.movieId FROM MovieChange c WHERE c.type = :type AND c.sequence > :after AND c.sequence <= :upTo")
+    List<Long> findMovieIds(@Param("type") MovieChange.Type type, @Param("after") Long after, @Param("upTo") Long upTo);
+}
@@ -0,0 +1,20 @@
+package com.abc.movieworld.repository;
+
+import com.abc.movieworld.model.MovieChange;
+
+import java.util.List;
+
+/**
+ * Custom repository operations for the movie change log.
+ */
+public interface MovieChangeRepositoryCustom {
+
+    /**
+     * Append entries with JDBC batching, whatever the batch size configured for the session. Their
+     * sequence numbers are assigned, so they are inserted without being looked up first. The entries
+     * are flushed and then detached. Must be called inside a transaction.
+     * @param changes Entries to append, with their sequence numbers
+     * @param batchSize Number of rows sent to the database per JDBC batch
+     */
+    void insertAll(List<MovieChange> changes, int batchSize);
+}
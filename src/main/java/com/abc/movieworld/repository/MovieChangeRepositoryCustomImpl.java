@@ -0,0 +1,31 @@
+package com.abc.movieworld.repository;
+
+import com.abc.movieworld.model.MovieChange;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.util.List;
+
+/**
+ * Hibernate-backed implementation of {@link MovieChangeRepositoryCustom}.
+ */
+public class MovieChangeRepositoryCustomImpl implements MovieChangeRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void insertAll(List<MovieChange> changes, int batchSize) {
+        Session session = entityManager.unwrap(Session.class);
+        Integer sessionBatchSize = session.getJdbcBatchSize();
+        session.setJdbcBatchSize(batchSize);
+        try {
+            changes.forEach(session::persist);
+            session.flush();
+        } finally {
+            session.setJdbcBatchSize(sessionBatchSize);
+        }
+        changes.forEach(session::detach);
+    }
+}
@@ -0,0 +1,12 @@
+package com.abc.movieworld.repository;
+
+import com.abc.movieworld.model.MovieImport;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for file import checkpoints, keyed by file path.
+ */
+@Repository
+public interface MovieImportRepository extends JpaRepository<MovieImport, String> {
+}
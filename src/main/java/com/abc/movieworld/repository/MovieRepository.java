@@ -1,15 +1,74 @@
 package com.abc.movieworld.repository;
 
 import com.abc.movieworld.model.Movie;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 /**
  * Repository interface for Movie entity.
  * Provides CRUD operations for Movie entities.
  */
 @Repository
-public interface MovieRepository extends JpaRepository<Movie, Long> {
-    // Spring Data JPA provides basic CRUD operations by default
-    // Custom query methods can be added here if needed
+public interface MovieRepository extends JpaRepository<Movie, Long>, MovieRepositoryCustom {
+
+    // Keyset pagination queries. Each sort order is backed by a (key, id) index declared on Movie,
+    // so a page costs one index range scan regardless of how deep the cursor is.
+    // The pageable only carries the page size; ordering is fixed by the query.
+
+    @Query("SELECT m FROM Movie m ORDER BY m.id")
+    List<Movie> findFirstPageById(Pageable pageable);
+
+    @Query("SELECT m FROM Movie m WHERE m.id > :afterId ORDER BY m.id")
+    List<Movie> findPageByIdAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT m FROM Movie m ORDER BY m.releaseDate, m.id")
+    List<Movie> findFirstPageByReleaseDate(Pageable pageable);
+
+    @Query("SELECT m FROM Movie m WHERE m.releaseDate > :releaseDate "
+            + "OR (m.releaseDate = :releaseDate AND m.id > :afterId) ORDER BY m.releaseDate, m.id")
+    List<Movie> findPageByReleaseDateAfter(@Param("releaseDate") LocalDate releaseDate,
+                                           @Param("afterId") Long afterId,
+                                           Pageable pageable);
+
+    @Query("SELECT m FROM Movie m ORDER BY m.title, m.id")
+    List<Movie> findFirstPageByTitle(Pageable pageable);
+
+    @Query("SELECT m FROM Movie m WHERE m.title > :title "
+            + "OR (m.title = :title AND m.id > :afterId) ORDER BY m.title, m.id")
+    List<Movie> findPageByTitleAfter(@Param("title") String title,
+                                     @Param("afterId") Long afterId,
+                                     Pageable pageable);
+
+    @Query("SELECT m FROM Movie m ORDER BY m.director, m.id")
+    List<Movie> findFirstPageByDirector(Pageable pageable);
+
+    @Query("SELECT m FROM Movie m WHERE m.director > :director "
+            + "OR (m.director = :director AND m.id > :afterId) ORDER BY m.director, m.id")
+    List<Movie> findPageByDirectorAfter(@Param("director") String director,
+                                        @Param("afterId") Long afterId,
+                                        Pageable pageable);
+
+    // Optimistic concurrency
+
+    @Query("SELECT m.version FROM Movie m WHERE m.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // Incremental catalog sync
+
+    List<Movie> findByRevisionGreaterThan(Long revision);
+
+    @Query("SELECT m.id FROM Movie m")
+    List<Long> findAllIds();
+
+    // Imports, which match movies without a known ID by title
+
+    List<Movie> findByTitleIn(Collection<String> titles);
 }
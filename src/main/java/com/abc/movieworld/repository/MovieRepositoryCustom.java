@@ -0,0 +1,136 @@
+package com.abc.movieworld.repository;
+
+import com.abc.movieworld.dto.MovieFilter;
+import com.abc.movieworld.dto.MovieSort;
+import com.abc.movieworld.model.Movie;
+import jakarta.persistence.Tuple;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Custom repository operations for Movie entities that need direct access to the persistence context.
+ */
+public interface MovieRepositoryCustom {
+
+    /**
+     * Visit every movie in ID order through a forward-only database cursor.
+     * The persistence context is cleared after every fetch so memory use does not grow with the table.
+     * Must be called inside a transaction.
+     * @param fetchSize Number of rows the JDBC driver fetches per round trip
+     * @param action Callback invoked for each movie
+     * @return Number of movies visited
+     */
+    long scrollAll(int fetchSize, Consumer<Movie> action);
+
+    /**
+     * Insert new movies with JDBC batching, whatever the batch size configured for the session.
+     * IDs are assigned from the sequence before the inserts run. The movies are flushed and then
+     * detached, so the persistence context does not grow with the number of movies inserted.
+     * Must be called inside a transaction.
+     * @param movies Movies to insert, without IDs; their IDs are set
+     * @param batchSize Number of rows sent to the database per JDBC batch
+     */
+    void insertAll(List<Movie> movies, int batchSize);
+
+    /**
+     * Write the pending changes of the persistence context with JDBC batching, whatever the batch size
+     * configured for the session. Must be called inside a transaction.
+     * @param batchSize Number of rows sent to the database per JDBC batch
+     */
+    void flushBatched(int batchSize);
+
+    /**
+     * Read a filtered keyset page.
+     * Only the director, release date and duration criteria of the filter are applied. The query text
+     * depends only on which criteria are set, so each shape is parsed once and its plan reused, and every
+     * value is bound as a parameter.
+     * @param filter Column criteria to apply
+     * @param sort Sort order of the page
+     * @param afterKey Sort key of the last movie on the previous page, ignored for {@link MovieSort#ID}
+     * @param afterId ID of the last movie on the previous page, null for the first page
+     * @param limit Maximum number of rows to return
+     * @return Movies in the page
+     */
+    List<Movie> findPage(MovieFilter filter, MovieSort sort, Object afterKey, Long afterId, int limit);
+
+    /**
+     * Read a filtered keyset page selecting only the given attributes, so other columns are never read.
+     * Uses the same query shapes as {@link #findPage}.
+     * @param attributes Movie attributes to select; each is available in the tuples under its own name
+     * @param filter Column criteria to apply
+     * @param sort Sort order of the page
+     * @param afterKey Sort key of the last movie on the previous page, ignored for {@link MovieSort#ID}
+     * @param afterId ID of the last movie on the previous page, null for the first page
+     * @param limit Maximum number of rows to return
+     * @return Selected attributes of each movie in the page
+     */
+    List<Tuple> findPageColumns(Collection<String> attributes, MovieFilter filter, MovieSort sort,
+                                Object afterKey, Long afterId, int limit);
+
+    /**
+     * IDs of the movies meeting the director, release date and duration criteria of a filter.
+     * @param ids IDs to restrict the result to, null for no restriction; must not be empty
+     * @param filter Column criteria to apply
+     * @return Matching IDs
+     */
+    List<Long> findIds(Collection<Long> ids, MovieFilter filter);
+
+    /**
+     * Count the movies meeting the director, release date and duration criteria of a filter by the
+     * value of their genre column, with one GROUP BY query.
+     * @param filter Column criteria to apply
+     * @return Genre column value, as stored, to number of movies with it
+     */
+    Map<String, Long> countByGenre(MovieFilter filter);
+
+    /**
+     * IDs of the movies last written at a catalog revision.
+     * @param revision Catalog revision
+     * @return IDs of the movies stamped with the revision
+     */
+    List<Long> findIdsByRevision(long revision);
+
+    /**
+     * Set attributes on every matching movie with one UPDATE statement, stamping them with a revision
+     * and incrementing their version. Movies are matched as in {@link #findIds}. Must be called inside
+     * a transaction.
+     * @param ids IDs to restrict the update to, null for no restriction; must not be empty
+     * @param filter Column criteria to apply
+     * @param changes Movie attribute names mapped to their new values
+     * @param revision Catalog revision to stamp on the updated movies
+     * @return Number of movies updated
+     */
+    int updateAll(Collection<Long> ids, MovieFilter filter, Map<String, Object> changes, long revision);
+
+    /**
+     * Delete every matching movie with one DELETE statement.
+     * Movies are matched as in {@link #findIds}. Must be called inside a transaction.
+     * @param ids IDs to restrict the delete to, null for no restriction; must not be empty
+     * @param filter Column criteria to apply
+     * @return Number of movies deleted
+     */
+    int deleteAll(Collection<Long> ids, MovieFilter filter);
+
+    /**
+     * Set attributes on one movie with one UPDATE statement, provided it is still at the expected version.
+     * The movie is stamped with the revision and its version incremented. Must be called inside a transaction.
+     * @param id Movie ID
+     * @param expectedVersion Version the movie must be at, null to update whatever its version
+     * @param changes Movie attribute names mapped to their new values
+     * @param revision Catalog revision to stamp on the movie
+     * @return 1 if the movie was updated, 0 if it does not exist or is at another version
+     */
+    int updateOne(long id, Long expectedVersion, Map<String, Object> changes, long revision);
+
+    /**
+     * Delete one movie with one DELETE statement, provided it is still at the expected version.
+     * Must be called inside a transaction.
+     * @param id Movie ID
+     * @param expectedVersion Version the movie must be at, null to delete whatever its version
+     * @return 1 if the movie was deleted, 0 if it does not exist or is at another version
+     */
+    int deleteOne(long id, Long expectedVersion);
+}
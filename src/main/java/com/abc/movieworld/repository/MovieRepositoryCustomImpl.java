@@ -0,0 +1,243 @@
+package com.abc.movieworld.repository;
+
+import com.abc.movieworld.dto.MovieFilter;
+import com.abc.movieworld.dto.MovieSort;
+import com.abc.movieworld.model.Movie;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Hibernate-backed implementation of {@link MovieRepositoryCustom}.
+ */
+public class MovieRepositoryCustomImpl implements MovieRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public long scrollAll(int fetchSize, Consumer<Movie> action) {
+        Session session = entityManager.unwrap(Session.class);
+        long count = 0;
+        try (ScrollableResults<Movie> results = session
+                .createSelectionQuery("FROM Movie m ORDER BY m.id", Movie.class)
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            while (results.next()) {
+                action.accept(results.get());
+                if (++count % fetchSize == 0) {
+                    session.clear();
+                }
+            }
+        }
+        session.clear();
+        return count;
+    }
+
+    @Override
+    public void insertAll(List<Movie> movies, int batchSize) {
+        Session session = entityManager.unwrap(Session.class);
+        Integer sessionBatchSize = session.getJdbcBatchSize();
+        session.setJdbcBatchSize(batchSize);
+        try {
+            movies.forEach(session::persist);
+            session.flush();
+        } finally {
+            session.setJdbcBatchSize(sessionBatchSize);
+        }
+        movies.forEach(session::detach);
+    }
+
+    @Override
+    public void flushBatched(int batchSize) {
+        Session session = entityManager.unwrap(Session.class);
+        Integer sessionBatchSize = session.getJdbcBatchSize();
+        session.setJdbcBatchSize(batchSize);
+        try {
+            session.flush();
+        } finally {
+            session.setJdbcBatchSize(sessionBatchSize);
+        }
+    }
+
+    @Override
+    public List<Movie> findPage(MovieFilter filter, MovieSort sort, Object afterKey, Long afterId, int limit) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        String jpql = "SELECT m FROM Movie m" + whereAndOrder(filter, sort, afterKey, afterId, parameters);
+        return execute(entityManager.createQuery(jpql, Movie.class), parameters, limit);
+    }
+
+    @Override
+    public List<Tuple> findPageColumns(Collection<String> attributes, MovieFilter filter, MovieSort sort,
+                                       Object afterKey, Long afterId, int limit) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        String select = attributes.stream()
+                .map(attribute -> "m." + attribute + " AS " + attribute)
+                .collect(Collectors.joining(", ", "SELECT ", " FROM Movie m"));
+        String jpql = select + whereAndOrder(filter, sort, afterKey, afterId, parameters);
+        return execute(entityManager.createQuery(jpql, Tuple.class), parameters, limit);
+    }
+
+    @Override
+    public List<Long> findIds(Collection<Long> ids, MovieFilter filter) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        TypedQuery<Long> query = entityManager.createQuery("SELECT m.id FROM Movie m" + where(ids, filter, parameters),
+                Long.class);
+        parameters.forEach(query::setParameter);
+        return query.getResultList();
+    }
+
+    @Override
+    public Map<String, Long> countByGenre(MovieFilter filter) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        TypedQuery<Tuple> query = entityManager.createQuery("SELECT m.genre AS genre, COUNT(m) AS movies FROM Movie m"
+                + where(null, filter, parameters) + " GROUP BY m.genre", Tuple.class);
+        parameters.forEach(query::setParameter);
+        Map<String, Long> counts = new HashMap<>();
+        query.getResultList().forEach(row -> counts.put(row.get("genre", String.class), row.get("movies", Long.class)));
+        return counts;
+    }
+
+    @Override
+    public List<Long> findIdsByRevision(long revision) {
+        return entityManager.createQuery("SELECT m.id FROM Movie m WHERE m.revision = :revision", Long.class)
+                .setParameter("revision", revision)
+                .getResultList();
+    }
+
+    @Override
+    public int updateAll(Collection<Long> ids, MovieFilter filter, Map<String, Object> changes, long revision) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        return executeUpdate(set(changes, revision, parameters) + where(ids, filter, parameters).toString(), parameters);
+    }
+
+    @Override
+    public int deleteAll(Collection<Long> ids, MovieFilter filter) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        return executeUpdate("DELETE FROM Movie m" + where(ids, filter, parameters), parameters);
+    }
+
+    @Override
+    public int updateOne(long id, Long expectedVersion, Map<String, Object> changes, long revision) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        return executeUpdate(set(changes, revision, parameters) + whereVersion(id, expectedVersion, parameters),
+                parameters);
+    }
+
+    @Override
+    public int deleteOne(long id, Long expectedVersion) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        return executeUpdate("DELETE FROM Movie m" + whereVersion(id, expectedVersion, parameters), parameters);
+    }
+
+    /**
+     * Build the UPDATE and SET clauses, stamping the revision and incrementing the version of every row.
+     */
+    private static String set(Map<String, Object> changes, long revision, Map<String, Object> parameters) {
+        StringJoiner set = new StringJoiner(", ", "UPDATE Movie m SET ", "");
+        changes.forEach((attribute, value) -> {
+            set.add("m." + attribute + " = :" + attribute + "Value");
+            parameters.put(attribute + "Value", value);
+        });
+        set.add("m.revision = :revision");
+        parameters.put("revision", revision);
+        set.add("m.version = m.version + 1");
+        return set.toString();
+    }
+
+    private static String whereVersion(long id, Long expectedVersion, Map<String, Object> parameters) {
+        parameters.put("id", id);
+        if (expectedVersion == null) {
+            return " WHERE m.id = :id";
+        }
+        parameters.put("version", expectedVersion);
+        return " WHERE m.id = :id AND m.version = :version";
+    }
+
+    /**
+     * Build the WHERE and ORDER BY clauses of a keyset page.
+     */
+    private static String whereAndOrder(MovieFilter filter, MovieSort sort, Object afterKey, Long afterId,
+                                        Map<String, Object> parameters) {
+        StringJoiner where = where(null, filter, parameters);
+        if (afterId != null) {
+            if (sort == MovieSort.ID) {
+                where.add("m.id > :afterId");
+            } else {
+                String key = "m." + sort.getParameter();
+                where.add("(" + key + " > :afterKey OR (" + key + " = :afterKey AND m.id > :afterId))");
+                parameters.put("afterKey", afterKey);
+            }
+            parameters.put("afterId", afterId);
+        }
+        String order = sort == MovieSort.ID ? " ORDER BY m.id" : " ORDER BY m." + sort.getParameter() + ", m.id";
+        return where + order;
+    }
+
+    /**
+     * Build the WHERE clause of the column criteria, restricted to the given IDs when there are some.
+     * Criteria are added in a fixed order so that equal sets of criteria always produce the same text;
+     * the director equality comes first to match the director-leading composite indexes.
+     */
+    private static StringJoiner where(Collection<Long> ids, MovieFilter filter, Map<String, Object> parameters) {
+        StringJoiner where = new StringJoiner(" AND ", " WHERE ", "").setEmptyValue("");
+        if (filter.getDirector() != null) {
+            where.add("m.director = :director");
+            parameters.put("director", filter.getDirector());
+        }
+        if (filter.getReleasedFrom() != null) {
+            where.add("m.releaseDate >= :releasedFrom");
+            parameters.put("releasedFrom", filter.getReleasedFrom());
+        }
+        if (filter.getReleasedTo() != null) {
+            where.add("m.releaseDate <= :releasedTo");
+            parameters.put("releasedTo", filter.getReleasedTo());
+        }
+        if (filter.getMinDuration() != null) {
+            where.add("m.durationMinutes >= :minDuration");
+            parameters.put("minDuration", filter.getMinDuration());
+        }
+        if (filter.getMaxDuration() != null) {
+            where.add("m.durationMinutes <= :maxDuration");
+            parameters.put("maxDuration", filter.getMaxDuration());
+        }
+        if (ids != null) {
+            where.add("m.id IN :ids");
+            parameters.put("ids", ids);
+        }
+        return where;
+    }
+
+    /**
+     * Run a bulk UPDATE or DELETE. Pending changes are flushed first, and the persistence context is
+     * cleared afterwards since the statement bypasses the entities it holds.
+     */
+    private int executeUpdate(String jpql, Map<String, Object> parameters) {
+        entityManager.flush();
+        Query query = entityManager.createQuery(jpql);
+        parameters.forEach(query::setParameter);
+        int count = query.executeUpdate();
+        entityManager.clear();
+        return count;
+    }
+
+    private static <T> List<T> execute(TypedQuery<T> query, Map<String, Object> parameters, int limit) {
+        parameters.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+}
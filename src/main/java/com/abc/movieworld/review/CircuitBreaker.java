@@ -0,0 +1,151 @@
+package com.abc.movieworld.review;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Duration;
+
+/**
+ * Count-based circuit breaker.
+ * <p>
+ * While closed, the outcomes of the last {@code windowSize} calls are kept; once at least
+ * {@code minimumCalls} of them are recorded and the share of failures reaches the threshold, the
+ * breaker opens and rejects every call for {@code openDuration}. It then lets {@code halfOpenCalls}
+ * trial calls through: if all succeed it closes again, and the first failure opens it again.
+ * <p>
+ * Every change of state starts a new generation. A call is granted a {@link Permit} of the current
+ * generation, and its outcome is ignored once the generation has moved on, so a slow call granted
+ * while closed neither closes nor reopens the breaker when it finishes during the trial calls.
+ */
+final class CircuitBreaker {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    /**
+     * Grant to make one call.
+     * @param generation Generation of the state the call was granted in
+     */
+    record Permit(long generation) {
+    }
+
+    private final boolean[] window;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final Ticker ticker;
+
+    private State state = State.CLOSED;
+    private long generation;
+    private int next;
+    private int recorded;
+    private int failures;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, Duration openDuration,
+                   int halfOpenCalls, Ticker ticker) {
+        this.window = new boolean[windowSize];
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenCalls = halfOpenCalls;
+        this.ticker = ticker;
+    }
+
+    /**
+     * Ask to make a call. Every granted call must be followed by exactly one of
+     * {@link #onSuccess}, {@link #onFailure} or {@link #onCancel} with its permit.
+     * @return Permit for the call, null if it is rejected
+     */
+    synchronized Permit tryAcquire() {
+        if (state == State.OPEN) {
+            if (ticker.read() - openedAt < openNanos) {
+                return null;
+            }
+            transition(State.HALF_OPEN);
+            halfOpenPermits = halfOpenCalls;
+            halfOpenSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits == 0) {
+                return null;
+            }
+            halfOpenPermits--;
+        }
+        return new Permit(generation);
+    }
+
+    synchronized void onSuccess(Permit permit) {
+        if (permit.generation() != generation) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            if (++halfOpenSuccesses == halfOpenCalls) {
+                close();
+            }
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    synchronized void onFailure(Permit permit) {
+        if (permit.generation() != generation) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            open();
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (recorded >= minimumCalls && failures >= failureRateThreshold * recorded) {
+                open();
+            }
+        }
+    }
+
+    /**
+     * Give back a granted call that ended without an outcome, such as a cancelled one. Only a trial
+     * call of the current generation gives back a trial permit.
+     */
+    synchronized void onCancel(Permit permit) {
+        if (permit.generation() == generation && state == State.HALF_OPEN) {
+            halfOpenPermits++;
+        }
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (recorded == window.length) {
+            if (window[next]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        window[next] = failure;
+        if (failure) {
+            failures++;
+        }
+        next = (next + 1) % window.length;
+    }
+
+    private void transition(State to) {
+        state = to;
+        generation++;
+    }
+
+    private void open() {
+        transition(State.OPEN);
+        openedAt = ticker.read();
+    }
+
+    private void close() {
+        transition(State.CLOSED);
+        next = 0;
+        recorded = 0;
+        failures = 0;
+    }
+}
@@ -0,0 +1,187 @@
+package com.abc.movieworld.review;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A JSON value kept as the UTF-8 bytes it was received in.
+ * <p>
+ * Jackson writes the bytes into the output as they are, so a value passed through from the review
+ * service is neither parsed into objects nor serialized again. The bytes are trusted to be valid JSON.
+ */
+public final class RawJson implements JsonSerializable {
+
+    static final RawJson NULL = new RawJson("null".getBytes(StandardCharsets.UTF_8));
+    static final RawJson EMPTY_ARRAY = new RawJson("[]".getBytes(StandardCharsets.UTF_8));
+
+    private final byte[] utf8;
+
+    private RawJson(byte[] utf8) {
+        this.utf8 = utf8;
+    }
+
+    /**
+     * Wrap a JSON value.
+     * @param utf8 UTF-8 bytes of the value; not copied, so they must not be changed afterwards
+     * @return The value
+     */
+    public static RawJson of(byte[] utf8) {
+        return new RawJson(utf8);
+    }
+
+    /**
+     * Wrap part of a JSON document.
+     * @param json UTF-8 bytes of the document
+     * @param from Offset of the first byte of the value
+     * @param to Offset just past its last byte
+     * @return Copy of the value
+     */
+    static RawJson of(byte[] json, int from, int to) {
+        return new RawJson(Arrays.copyOfRange(json, from, to));
+    }
+
+    /**
+     * Wrap the first elements of a JSON array, closing it after them.
+     * @param json UTF-8 bytes of the document
+     * @param from Offset of the opening bracket of the array
+     * @param to Offset just past the last element to keep
+     * @return Copy of the truncated array
+     */
+    static RawJson truncatedArray(byte[] json, int from, int to) {
+        byte[] utf8 = Arrays.copyOfRange(json, from, to + 1);
+        utf8[utf8.length - 1] = ']';
+        return new RawJson(utf8);
+    }
+
+    /**
+     * @return Size of the value in bytes
+     */
+    public int size() {
+        return utf8.length;
+    }
+
+    @Override
+    public void serialize(JsonGenerator generator, SerializerProvider serializers) throws IOException {
+        generator.writeRawValue(new Utf8Value());
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator generator, SerializerProvider serializers, TypeSerializer typeSerializer)
+            throws IOException {
+        serialize(generator, serializers);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof RawJson raw && Arrays.equals(utf8, raw.utf8);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(utf8);
+    }
+
+    @Override
+    public String toString() {
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Hands the bytes to byte-based generators as they are; only character-based generators decode them.
+     */
+    private final class Utf8Value implements SerializableString {
+
+        private SerializedString text;
+
+        private SerializedString text() {
+            if (text == null) {
+                text = new SerializedString(RawJson.this.toString());
+            }
+            return text;
+        }
+
+        @Override
+        public String getValue() {
+            return text().getValue();
+        }
+
+        @Override
+        public int charLength() {
+            return text().charLength();
+        }
+
+        @Override
+        public char[] asQuotedChars() {
+            return text().asQuotedChars();
+        }
+
+        @Override
+        public byte[] asUnquotedUTF8() {
+            return utf8;
+        }
+
+        @Override
+        public byte[] asQuotedUTF8() {
+            return text().asQuotedUTF8();
+        }
+
+        @Override
+        public int appendQuotedUTF8(byte[] buffer, int offset) {
+            return text().appendQuotedUTF8(buffer, offset);
+        }
+
+        @Override
+        public int appendQuoted(char[] buffer, int offset) {
+            return text().appendQuoted(buffer, offset);
+        }
+
+        @Override
+        public int appendUnquotedUTF8(byte[] buffer, int offset) {
+            if (offset + utf8.length > buffer.length) {
+                return -1;
+            }
+            System.arraycopy(utf8, 0, buffer, offset, utf8.length);
+            return utf8.length;
+        }
+
+        @Override
+        public int appendUnquoted(char[] buffer, int offset) {
+            return text().appendUnquoted(buffer, offset);
+        }
+
+        @Override
+        public int writeQuotedUTF8(OutputStream out) throws IOException {
+            return text().writeQuotedUTF8(out);
+        }
+
+        @Override
+        public int writeUnquotedUTF8(OutputStream out) throws IOException {
+            out.write(utf8);
+            return utf8.length;
+        }
+
+        @Override
+        public int putQuotedUTF8(ByteBuffer buffer) throws IOException {
+            return text().putQuotedUTF8(buffer);
+        }
+
+        @Override
+        public int putUnquotedUTF8(ByteBuffer buffer) {
+            if (utf8.length > buffer.remaining()) {
+                return -1;
+            }
+            buffer.put(utf8);
+            return utf8.length;
+        }
+    }
+}
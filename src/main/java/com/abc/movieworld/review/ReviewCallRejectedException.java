@@ -0,0 +1,12 @@
+package com.abc.movieworld.review;
+
+/**
+ * Thrown when a review call is rejected by the circuit breaker or the bulkhead without being sent.
+ * Rejections are expected under load, so no stack trace is captured.
+ */
+public class ReviewCallRejectedException extends RuntimeException {
+
+    public ReviewCallRejectedException(String message) {
+        super(message, null, false, false);
+    }
+}
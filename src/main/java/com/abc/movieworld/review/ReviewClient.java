@@ -0,0 +1,249 @@
+package com.abc.movieworld.review;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+/**
+ * Client of the Movie Review service with a response cache in front of it.
+ * <p>
+ * One client is built at startup on the pooled review {@link HttpClient}, and responses larger than
+ * the maximum response size are rejected before they are buffered in full.
+ * <p>
+ * Reviews are cached per movie ID. An entry older than the TTL is still served, and the first read
+ * after the TTL starts a background refresh (stale-while-revalidate), so popular movies never wait
+ * on the review service. If the refresh fails the stale entry stays in place, until it reaches the
+ * stale limit and is dropped; the next read then fetches the reviews again.
+ * <p>
+ * Reviews for several movies are read with one cache lookup, and the misses are fetched from the
+ * bulk endpoint in batches of bounded size, a bounded number of batches at a time.
+ * <p>
+ * Calls go through the {@link ReviewServiceGuard}, which bounds their time and concurrency and stops
+ * them while the review service is down; a rejected or failed call leaves the cache as it was.
+ * <p>
+ * Fetches are single-flight per movie: the cache holds the pending future of a fetch from the moment
+ * it starts, so concurrent readers of a movie whose reviews are being fetched attach to that future
+ * instead of calling the review service again. Refreshes are deduplicated the same way.
+ * <p>
+ * With {@link ReviewPassThrough} enabled, reviews are cached and returned as {@link RawJson} rather
+ * than parsed.
+ */
+@Component
+@Slf4j
+public class ReviewClient {
+
+    static final String CACHE_NAME = "reviews";
+
+    private static final ParameterizedTypeReference<Map<String, Object>> REVIEWS_BY_MOVIE =
+            new ParameterizedTypeReference<>() {};
+
+    private final WebClient webClient;
+    private final ReviewServiceGuard guard;
+    private final ReviewPassThrough passThrough;
+    private final int batchSize;
+    private final int batchParallelism;
+    private final AsyncLoadingCache<Long, Object> cache;
+    private final Timer loadTimer;
+    private final Timer refreshTimer;
+    private final Timer batchTimer;
+    private final Counter coalescedCounter;
+
+    @Autowired
+    public ReviewClient(WebClient.Builder webClientBuilder, MeterRegistry meterRegistry, ReviewServiceGuard guard,
+                        ReviewPassThrough passThrough, HttpClient reviewHttpClient,
+                        @Value("${moviereview.service.url}") String baseUrl,
+                        @Value("${moviereview.http.max-response-size:1MB}") DataSize maxResponseSize,
+                        @Value("${moviereview.cache.ttl:30s}") Duration ttl,
+                        @Value("${moviereview.cache.stale-ttl:5m}") Duration staleTtl,
+                        @Value("${moviereview.cache.max-size:10000}") long maxSize,
+                        @Value("${moviereview.batch.size:50}") int batchSize,
+                        @Value("${moviereview.batch.parallelism:4}") int batchParallelism) {
+        this(webClientBuilder.clone()
+                        .clientConnector(new ReactorClientHttpConnector(reviewHttpClient))
+                        .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize((int) maxResponseSize.toBytes())),
+                meterRegistry, guard, passThrough, baseUrl, ttl, staleTtl, maxSize, batchSize,
+                batchParallelism, Ticker.systemTicker(), ForkJoinPool.commonPool());
+    }
+
+    ReviewClient(WebClient.Builder webClientBuilder, MeterRegistry meterRegistry, ReviewServiceGuard guard,
+                 ReviewPassThrough passThrough, String baseUrl, Duration ttl, Duration staleTtl, long maxSize,
+                 int batchSize, int batchParallelism, Ticker ticker, Executor executor) {
+        this.webClient = webClientBuilder.clone().baseUrl(baseUrl).build();
+        this.guard = guard;
+        this.passThrough = passThrough;
+        this.batchSize = batchSize;
+        this.batchParallelism = batchParallelism;
+        this.loadTimer = fetchTimer(meterRegistry, "load");
+        this.refreshTimer = fetchTimer(meterRegistry, "refresh");
+        this.batchTimer = fetchTimer(meterRegistry, "batch");
+        this.coalescedCounter = Counter.builder("movieworld.reviews.coalesced")
+                .description("Review reads that joined a fetch already in flight instead of calling the review service")
+                .register(meterRegistry);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .refreshAfterWrite(ttl)
+                .expireAfterWrite(ttl.plus(staleTtl))
+                .ticker(ticker)
+                .executor(executor)
+                .recordStats()
+                .buildAsync(new AsyncCacheLoader<>() {
+                    @Override
+                    public CompletableFuture<Object> asyncLoad(Long id, Executor executor) {
+                        return fetch(id, loadTimer);
+                    }
+
+                    @Override
+                    public CompletableFuture<Object> asyncReload(Long id, Object oldValue, Executor executor) {
+                        return fetch(id, refreshTimer);
+                    }
+
+                    @Override
+                    public CompletableFuture<Map<Long, Object>> asyncLoadAll(Set<? extends Long> ids, Executor executor) {
+                        return fetchAll(ids);
+                    }
+                });
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("movieworld.reviews.cache.hit.ratio", cache, reviews -> reviews.synchronous().stats().hitRate())
+                .description("Share of review reads answered from the review cache")
+                .register(meterRegistry);
+    }
+
+    private static Timer fetchTimer(MeterRegistry meterRegistry, String kind) {
+        return Timer.builder("movieworld.reviews.fetch")
+                .description("Latency of review service calls, by cache miss (load), background refresh or bulk batch")
+                .tag("kind", kind)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get the reviews of a movie, from the cache when possible.
+     * @param id Movie ID
+     * @return Reviews as returned by the review service, as {@link RawJson} in pass-through mode;
+     * empty if they could not be fetched
+     */
+    public Mono<Object> getReviews(Long id) {
+        // Never cancel the cached future: other readers may be waiting on the same load
+        return Mono.<Object>fromFuture(() -> {
+                    countIfInFlight(id);
+                    return cache.get(id);
+                }, true)
+                .onErrorResume(e -> {
+                    logFailure(e, id);
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Get the reviews of several movies, from the cache when possible and in bulk otherwise.
+     * @param ids Movie IDs
+     * @return Reviews by movie ID; movies whose reviews could not be fetched are left out
+     */
+    public Mono<Map<Long, Object>> getReviews(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return Mono.<Map<Long, Object>>fromFuture(() -> {
+                    ids.forEach(this::countIfInFlight);
+                    return cache.getAll(ids);
+                }, true)
+                .onErrorResume(e -> {
+                    logFailure(e, ids);
+                    return Mono.just(Map.of());
+                });
+    }
+
+    /**
+     * Count a read that will join a pending fetch. Reads through the map view so that the check is
+     * not recorded as a cache hit or miss; a fetch completing right after the check is still counted.
+     */
+    private void countIfInFlight(Long id) {
+        CompletableFuture<Object> pending = cache.asMap().get(id);
+        if (pending != null && !pending.isDone()) {
+            coalescedCounter.increment();
+        }
+    }
+
+    private CompletableFuture<Map<Long, Object>> fetchAll(Collection<? extends Long> ids) {
+        return Flux.fromIterable(ids)
+                .buffer(batchSize)
+                .flatMap(this::fetchBatch, batchParallelism)
+                .<Map<Long, Object>>collect(HashMap::new, Map::putAll)
+                .toFuture();
+    }
+
+    /**
+     * Fetch one batch from the bulk endpoint, which answers with the reviews keyed by movie ID.
+     * Movies missing from a successful answer have no reviews; a failed batch is left out so that
+     * its movies are fetched again on the next read.
+     */
+    private Mono<Map<Long, Object>> fetchBatch(List<? extends Long> batch) {
+        Timer.Sample sample = Timer.start();
+        Supplier<WebClient.ResponseSpec> request = () -> webClient.get()
+                .uri(uri -> uri.path("/api/moviereview/movies").queryParam("ids", batch.toArray()).build())
+                .retrieve();
+        Mono<Map<Long, Object>> reviews = passThrough.isEnabled()
+                ? guard.call(() -> request.get().bodyToMono(byte[].class))
+                        .map(body -> passThrough.reviewsByMovie(body, batch))
+                : guard.call(() -> request.get().bodyToMono(REVIEWS_BY_MOVIE))
+                        .map(body -> {
+                            Map<Long, Object> parsed = new HashMap<>();
+                            batch.forEach(id -> parsed.put(id, body.getOrDefault(String.valueOf(id), List.of())));
+                            return parsed;
+                        });
+        return reviews
+                .doFinally(signal -> sample.stop(batchTimer))
+                .onErrorResume(e -> {
+                    logFailure(e, batch);
+                    return Mono.just(Map.of());
+                });
+    }
+
+    private CompletableFuture<Object> fetch(Long id, Timer timer) {
+        Timer.Sample sample = Timer.start();
+        Supplier<WebClient.ResponseSpec> request = () -> webClient.get()
+                .uri("/api/moviereview/movie/{id}", id)
+                .retrieve();
+        Mono<Object> reviews = passThrough.isEnabled()
+                ? guard.call(() -> request.get().bodyToMono(byte[].class)).map(passThrough::reviews)
+                : guard.call(() -> request.get().bodyToMono(Object.class));
+        return reviews
+                .doFinally(signal -> sample.stop(timer))
+                .toFuture();
+    }
+
+    private static void logFailure(Throwable error, Object ids) {
+        if (error instanceof ReviewCallRejectedException) {
+            log.debug("Skipped fetching reviews for movie id(s) {}: {}", ids, error.getMessage());
+        } else {
+            log.error("Error fetching reviews for movie id(s): {}", ids, error);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.abc.movieworld.review;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pass-through mode for review payloads.
+ * <p>
+ * When enabled, review bodies are read as bytes and kept as {@link RawJson}, which is written into
+ * responses as it is, instead of being parsed into maps and lists and serialized again. The bytes
+ * are only tokenized, without building any objects, to find where each movie's reviews start and end
+ * in a bulk answer and to bound each payload.
+ * <p>
+ * A review array is cut after its first {@code topN} reviews, if set, and after the last review that
+ * still fits in {@code maxBytes}. A payload over the size limit that is not an array cannot be cut and
+ * is replaced by {@code null}.
+ */
+@Component
+public class ReviewPassThrough {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final boolean enabled;
+    private final int maxBytes;
+    private final int topN;
+    private final Counter topNTruncations;
+    private final Counter sizeTruncations;
+
+    public ReviewPassThrough(MeterRegistry meterRegistry,
+                             @Value("${moviereview.passthrough.enabled:false}") boolean enabled,
+                             @Value("${moviereview.passthrough.max-size:64KB}") DataSize maxSize,
+                             @Value("${moviereview.passthrough.top-n:0}") int topN) {
+        this.enabled = enabled;
+        this.maxBytes = (int) Math.min(maxSize.toBytes(), Integer.MAX_VALUE);
+        this.topN = topN;
+        this.topNTruncations = truncations(meterRegistry, "top_n");
+        this.sizeTruncations = truncations(meterRegistry, "max_size");
+    }
+
+    private static Counter truncations(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("movieworld.reviews.truncated")
+                .description("Passed-through review payloads cut to stay within the configured bounds")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Read the reviews of one movie.
+     * @param body Body of the review service answer
+     * @return Reviews, within the bounds
+     */
+    RawJson reviews(byte[] body) {
+        try (JsonParser parser = JSON.createParser(body)) {
+            parser.nextToken();
+            return read(parser, body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Read the reviews of several movies from a bulk answer, which holds them keyed by movie ID.
+     * @param body Body of the review service answer
+     * @param ids Movie IDs asked for; those missing from the answer have no reviews
+     * @return Reviews by movie ID, within the bounds
+     */
+    Map<Long, Object> reviewsByMovie(byte[] body, List<? extends Long> ids) {
+        Map<String, RawJson> found = new HashMap<>();
+        try (JsonParser parser = JSON.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected reviews keyed by movie ID");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String id = parser.getCurrentName();
+                parser.nextToken();
+                found.put(id, read(parser, body));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Map<Long, Object> reviews = new HashMap<>();
+        ids.forEach(id -> reviews.put(id, found.getOrDefault(String.valueOf(id), RawJson.EMPTY_ARRAY)));
+        return reviews;
+    }
+
+    /**
+     * Read the value at the current token, leaving the parser on its last token.
+     */
+    private RawJson read(JsonParser parser, byte[] body) throws IOException {
+        int start = (int) parser.getTokenLocation().getByteOffset();
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            int end = end(parser);
+            if (end - start > maxBytes) {
+                sizeTruncations.increment();
+                return RawJson.NULL;
+            }
+            return RawJson.of(body, start, end);
+        }
+        int kept = 0;
+        int keptEnd = start + 1;
+        Counter truncation = null;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            parser.skipChildren();
+            int end = end(parser);
+            if (truncation != null) {
+                continue;
+            }
+            if (topN > 0 && kept == topN) {
+                truncation = topNTruncations;
+            } else if (end - start + 1 > maxBytes) {
+                truncation = sizeTruncations;
+            } else {
+                kept++;
+                keptEnd = end;
+            }
+        }
+        if (truncation == null) {
+            return RawJson.of(body, start, end(parser));
+        }
+        truncation.increment();
+        return RawJson.truncatedArray(body, start, keptEnd);
+    }
+
+    /**
+     * @return Offset just past the current token, reading the rest of it if the parser has not yet
+     */
+    private static int end(JsonParser parser) throws IOException {
+        parser.finishToken();
+        return (int) parser.getCurrentLocation().getByteOffset();
+    }
+}
@@ -0,0 +1,135 @@
+package com.abc.movieworld.review;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Resilience layer around calls to the Movie Review service.
+ * <p>
+ * Every call is bounded by a timeout and must get a slot from a bulkhead, which caps the calls in
+ * flight and rejects the excess at once rather than queueing it. A circuit breaker watches the
+ * outcomes and, while the review service keeps failing, rejects calls without trying them, so
+ * movies are served without reviews immediately. Optionally, a call still unanswered after the hedge
+ * delay is sent a second time and the first answer wins, which trims the latency tail.
+ * <p>
+ * Client errors (4xx) mean the review service is up, so they count as successes for the breaker.
+ */
+@Component
+public class ReviewServiceGuard {
+
+    private final Duration timeout;
+    private final Semaphore bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final Duration hedgeDelay;
+    private final Counter circuitOpenRejections;
+    private final Counter bulkheadRejections;
+    private final Counter hedges;
+
+    @Autowired
+    public ReviewServiceGuard(MeterRegistry meterRegistry,
+                              @Value("${moviereview.service.timeout:2s}") Duration timeout,
+                              @Value("${moviereview.bulkhead.max-concurrent:25}") int maxConcurrent,
+                              @Value("${moviereview.circuit-breaker.window-size:20}") int windowSize,
+                              @Value("${moviereview.circuit-breaker.minimum-calls:10}") int minimumCalls,
+                              @Value("${moviereview.circuit-breaker.failure-rate-threshold:50}") int failureRatePercent,
+                              @Value("${moviereview.circuit-breaker.open-duration:10s}") Duration openDuration,
+                              @Value("${moviereview.circuit-breaker.half-open-calls:3}") int halfOpenCalls,
+                              @Value("${moviereview.hedge.enabled:false}") boolean hedgeEnabled,
+                              @Value("${moviereview.hedge.delay:300ms}") Duration hedgeDelay) {
+        this(meterRegistry, timeout, maxConcurrent,
+                new CircuitBreaker(windowSize, minimumCalls, failureRatePercent / 100.0, openDuration, halfOpenCalls,
+                        Ticker.systemTicker()),
+                hedgeEnabled ? hedgeDelay : null);
+    }
+
+    ReviewServiceGuard(MeterRegistry meterRegistry, Duration timeout, int maxConcurrent,
+                       CircuitBreaker circuitBreaker, Duration hedgeDelay) {
+        this.timeout = timeout;
+        this.bulkhead = new Semaphore(maxConcurrent);
+        this.circuitBreaker = circuitBreaker;
+        this.hedgeDelay = hedgeDelay;
+        this.circuitOpenRejections = rejections(meterRegistry, "circuit_open");
+        this.bulkheadRejections = rejections(meterRegistry, "bulkhead_full");
+        this.hedges = Counter.builder("movieworld.reviews.hedged")
+                .description("Review calls sent a second time because the first was slower than the hedge delay")
+                .register(meterRegistry);
+        for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+            Gauge.builder("movieworld.reviews.circuit.state", circuitBreaker, breaker -> breaker.state() == state ? 1 : 0)
+                    .description("Review service circuit breaker state: 1 for the current state, 0 otherwise")
+                    .tag("state", state.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+        Gauge.builder("movieworld.reviews.bulkhead.available", bulkhead, Semaphore::availablePermits)
+                .description("Review service calls that can still be started before the bulkhead rejects")
+                .register(meterRegistry);
+    }
+
+    private static Counter rejections(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("movieworld.reviews.rejected")
+                .description("Review calls rejected without reaching the review service")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Make a call to the review service under the timeout, bulkhead, circuit breaker and hedging.
+     * @param request Sends the request; called again for a hedged request, so it must be idempotent
+     * @param <T> Response type
+     * @return Response, or an error; rejected calls fail with {@link ReviewCallRejectedException}
+     */
+    public <T> Mono<T> call(Supplier<Mono<T>> request) {
+        return Mono.defer(() -> {
+            CircuitBreaker.Permit permit = circuitBreaker.tryAcquire();
+            if (permit == null) {
+                circuitOpenRejections.increment();
+                return Mono.error(new ReviewCallRejectedException("Review service circuit breaker is open"));
+            }
+            Mono<T> response = hedgeDelay == null
+                    ? attempt(request, false)
+                    : Mono.firstWithSignal(attempt(request, false), Mono.delay(hedgeDelay).then(attempt(request, true)));
+            return response
+                    .timeout(timeout)
+                    .doOnSuccess(value -> circuitBreaker.onSuccess(permit))
+                    .doOnError(error -> recordError(permit, error))
+                    .doOnCancel(() -> circuitBreaker.onCancel(permit));
+        });
+    }
+
+    private <T> Mono<T> attempt(Supplier<Mono<T>> request, boolean hedge) {
+        return Mono.defer(() -> {
+            if (!bulkhead.tryAcquire()) {
+                if (hedge) {
+                    // No room for a hedge: keep waiting on the first request
+                    return Mono.never();
+                }
+                bulkheadRejections.increment();
+                return Mono.error(new ReviewCallRejectedException("Review service bulkhead is full"));
+            }
+            if (hedge) {
+                hedges.increment();
+            }
+            return request.get().doFinally(signal -> bulkhead.release());
+        });
+    }
+
+    private void recordError(CircuitBreaker.Permit permit, Throwable error) {
+        if (error instanceof ReviewCallRejectedException) {
+            circuitBreaker.onCancel(permit);
+        } else if (error instanceof WebClientResponseException response && response.getStatusCode().is4xxClientError()) {
+            circuitBreaker.onSuccess(permit);
+        } else {
+            circuitBreaker.onFailure(permit);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.abc.movieworld.review;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Local stand-in for the review endpoints of the Movie Review service.
+ * <p>
+ * Active with the {@code review-stub} profile, which also points {@code moviereview.service.url} back
+ * at this application, so review features can be run and tried offline. Reviews are generated from
+ * the movie ID and are the same on every call.
+ */
+@RestController
+@Profile("review-stub")
+@RequestMapping("/api/moviereview")
+public class ReviewServiceStub {
+
+    /**
+     * Reviews of one movie.
+     * @param id Movie ID
+     * @return Generated reviews
+     */
+    @GetMapping("/movie/{id}")
+    public List<Map<String, Object>> getReviews(@PathVariable Long id) {
+        return reviews(id);
+    }
+
+    /**
+     * Reviews of several movies, as served by the bulk endpoint.
+     * @param ids Movie IDs
+     * @return Generated reviews by movie ID
+     */
+    @GetMapping("/movies")
+    public Map<String, List<Map<String, Object>>> getReviews(@RequestParam List<Long> ids) {
+        Map<String, List<Map<String, Object>>> reviews = new LinkedHashMap<>();
+        ids.forEach(id -> reviews.put(String.valueOf(id), reviews(id)));
+        return reviews;
+    }
+
+    static List<Map<String, Object>> reviews(long movieId) {
+        List<Map<String, Object>> reviews = new ArrayList<>();
+        for (int i = 0; i <= movieId % 3; i++) {
+            Map<String, Object> review = new LinkedHashMap<>();
+            review.put("movieId", movieId);
+            review.put("reviewer", "reviewer-" + (i + 1));
+            review.put("rating", (int) ((movieId + i) % 5) + 1);
+            review.put("comment", "Review " + (i + 1) + " of movie " + movieId);
+            reviews.add(review);
+        }
+        return reviews;
+    }
+}
@@ -0,0 +1,237 @@
+package com.abc.movieworld.search;
+
+import com.abc.movieworld.catalog.CatalogChangedEvent;
+import com.abc.movieworld.dto.MovieDTO;
+import com.abc.movieworld.dto.SuggestionDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Prefix trie of movie titles and directors for autocomplete.
+ * <p>
+ * Keys are folded for case and accents, and every word start is indexed, so "knight" and "dark kn"
+ * both reach "The Dark Knight". Children are kept in sorted parallel arrays rather than maps, which
+ * keeps nodes small and makes a depth-first walk yield suggestions in alphabetical order, so a lookup
+ * stops as soon as it has enough suggestions. Like the other search structures, it follows the catalog
+ * snapshot through {@link CatalogChangedEvent}s.
+ */
+@Component
+public class AutocompleteIndex {
+
+    private static final Comparator<SuggestionDTO> ORDER = Comparator.comparing(SuggestionDTO::getText)
+            .thenComparing(SuggestionDTO::getType);
+
+    private final Node root = new Node();
+    private final Map<Long, List<SuggestionDTO>> suggestionsByMovie = new HashMap<>();
+    private int nodeCount = 1;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private static final class Node {
+        private static final char[] NO_LABELS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        char[] labels = NO_LABELS;
+        Node[] children = NO_CHILDREN;
+        /** Suggestions whose key ends here, with the number of movies contributing each. */
+        TreeMap<SuggestionDTO, Integer> terminals;
+
+        Node child(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node addChild(char label) {
+            int index = -Arrays.binarySearch(labels, label) - 1;
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            newLabels[index] = label;
+            newChildren[index] = new Node();
+            System.arraycopy(labels, index, newLabels, index + 1, labels.length - index);
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            labels = newLabels;
+            children = newChildren;
+            return newChildren[index];
+        }
+
+        void removeChild(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            char[] newLabels = new char[labels.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(labels, 0, newLabels, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(labels, index + 1, newLabels, index, labels.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            labels = newLabels.length == 0 ? NO_LABELS : newLabels;
+            children = newChildren.length == 0 ? NO_CHILDREN : newChildren;
+        }
+
+        boolean isEmpty() {
+            return labels.length == 0 && (terminals == null || terminals.isEmpty());
+        }
+    }
+
+    public AutocompleteIndex(MeterRegistry meterRegistry) {
+        Gauge.builder("movieworld.autocomplete.nodes", this, AutocompleteIndex::size)
+                .description("Number of nodes in the autocomplete trie")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Apply a catalog change to the trie.
+     * @param event Catalog change; a reset carries the whole catalog
+     */
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.reset()) {
+                root.labels = Node.NO_LABELS;
+                root.children = Node.NO_CHILDREN;
+                root.terminals = null;
+                suggestionsByMovie.clear();
+                nodeCount = 1;
+            }
+            event.removedIds().forEach(this::remove);
+            for (MovieDTO movie : event.upserted()) {
+                remove(movie.getId());
+                add(movie);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Titles and directors containing a word starting with the prefix, in alphabetical order.
+     * @param prefix Typed text, matched ignoring case and accents
+     * @param limit Maximum number of suggestions
+     * @return Distinct suggestions
+     */
+    public List<SuggestionDTO> suggest(String prefix, int limit) {
+        String key = String.join(" ", TextNormalizer.tokens(prefix));
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+            Set<SuggestionDTO> suggestions = new LinkedHashSet<>();
+            collect(node, suggestions, limit);
+            return List.copyOf(suggestions);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void collect(Node node, Set<SuggestionDTO> suggestions, int limit) {
+        if (node.terminals != null) {
+            for (SuggestionDTO suggestion : node.terminals.keySet()) {
+                suggestions.add(suggestion);
+                if (suggestions.size() >= limit) {
+                    return;
+                }
+            }
+        }
+        for (Node child : node.children) {
+            collect(child, suggestions, limit);
+            if (suggestions.size() >= limit) {
+                return;
+            }
+        }
+    }
+
+    private void add(MovieDTO movie) {
+        List<SuggestionDTO> suggestions = new ArrayList<>(2);
+        if (movie.getTitle() != null && !movie.getTitle().isBlank()) {
+            suggestions.add(new SuggestionDTO(movie.getTitle().trim(), SuggestionDTO.TITLE));
+        }
+        if (movie.getDirector() != null && !movie.getDirector().isBlank()) {
+            suggestions.add(new SuggestionDTO(movie.getDirector().trim(), SuggestionDTO.DIRECTOR));
+        }
+        for (SuggestionDTO suggestion : suggestions) {
+            for (String key : keys(suggestion.getText())) {
+                Node node = root;
+                for (int i = 0; i < key.length(); i++) {
+                    Node child = node.child(key.charAt(i));
+                    if (child == null) {
+                        child = node.addChild(key.charAt(i));
+                        nodeCount++;
+                    }
+                    node = child;
+                }
+                if (node.terminals == null) {
+                    node.terminals = new TreeMap<>(ORDER);
+                }
+                node.terminals.merge(suggestion, 1, Integer::sum);
+            }
+        }
+        suggestionsByMovie.put(movie.getId(), suggestions);
+    }
+
+    private void remove(Long id) {
+        List<SuggestionDTO> suggestions = suggestionsByMovie.remove(id);
+        if (suggestions == null) {
+            return;
+        }
+        for (SuggestionDTO suggestion : suggestions) {
+            for (String key : keys(suggestion.getText())) {
+                Node[] path = new Node[key.length() + 1];
+                path[0] = root;
+                for (int i = 0; i < key.length(); i++) {
+                    path[i + 1] = path[i].child(key.charAt(i));
+                }
+                Node node = path[key.length()];
+                if (node.terminals.merge(suggestion, -1, Integer::sum) == 0) {
+                    node.terminals.remove(suggestion);
+                }
+                for (int i = key.length(); i > 0 && path[i].isEmpty(); i--) {
+                    path[i - 1].removeChild(key.charAt(i - 1));
+                    nodeCount--;
+                }
+            }
+        }
+    }
+
+    /**
+     * Keys under which a text is indexed: the folded text from each word onwards.
+     */
+    private static Set<String> keys(String text) {
+        List<String> words = TextNormalizer.tokens(text);
+        Set<String> keys = new LinkedHashSet<>();
+        for (int i = 0; i < words.size(); i++) {
+            keys.add(String.join(" ", words.subList(i, words.size())));
+        }
+        return keys;
+    }
+
+    private int size() {
+        lock.readLock().lock();
+        try {
+            return nodeCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package com.abc.movieworld.search;
+
+import com.abc.movieworld.catalog.CatalogChangedEvent;
+import com.abc.movieworld.dto.MovieDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * In-memory bitmap index of movies by genre.
+ * <p>
+ * {@code Movie.genre} holds a comma-separated list such as "Action, Crime, Drama". Each genre gets a
+ * bitset over slots, which the index hands out to movies as it first sees them. Movie IDs come
+ * from a pooled sequence and skip whole blocks whenever an instance restarts, so they are not used as
+ * bit positions: the slot of a deleted movie goes to the next movie indexed, and a reset hands out
+ * slots from zero again, so slots stay dense and a bitset costs about one bit per indexed movie. A
+ * {@link Selection} keeps the slot table it was taken with, so it never mistakes the movie now in a
+ * reused slot for one of its own. Filters and facet counts are bitset intersections and unions, never
+ * scans. Like the search index, it follows the catalog snapshot through {@link CatalogChangedEvent}s.
+ * <p>
+ * The bitsets are plain {@link BitSet}s rather than compressed bitmaps such as Roaring: with dense
+ * slots a genre costs one bit per indexed movie, a few hundred kilobytes per genre for a million
+ * movies, which does not justify a new dependency.
+ */
+@Component
+public class GenreIndex {
+
+    /** Folded genre name to the slots of the movies listing it. */
+    private final Map<String, BitSet> bitmaps = new HashMap<>();
+    /** Folded genre name to the spelling it is reported under. */
+    private final Map<String, String> labels = new HashMap<>();
+    private final Map<Long, Set<String>> genresByMovie = new HashMap<>();
+    /** Slot of every indexed movie; read without the lock by {@link Selection#contains}. */
+    private final Map<Long, Integer> slots = new ConcurrentHashMap<>();
+    /**
+     * Movie ID of each slot handed out. Selections keep the table they were taken with, so once one
+     * has been taken, the table is copied before a slot is handed out again.
+     */
+    private long[] ids = new long[64];
+    /** Whether a selection holds {@link #ids}; set under the read lock. */
+    private volatile boolean idsShared;
+    private int nextSlot;
+    /** Slots of deleted movies, handed out again before {@link #nextSlot}. */
+    private final BitSet freeSlots = new BitSet();
+    private final BitSet movies = new BitSet();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public GenreIndex(MeterRegistry meterRegistry) {
+        Gauge.builder("movieworld.search.genres", this, GenreIndex::genreCount)
+                .description("Number of distinct genres in the genre index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Split a genre column value into its genres.
+     * @param genre Comma-separated genres, may be null
+     * @return Trimmed genre names in their original spelling
+     */
+    public static Set<String> parse(String genre) {
+        Set<String> genres = new LinkedHashSet<>();
+        if (genre != null) {
+            for (String name : genre.split(",")) {
+                if (!name.isBlank()) {
+                    genres.add(name.trim());
+                }
+            }
+        }
+        return genres;
+    }
+
+    /**
+     * Apply a catalog change to the index.
+     * @param event Catalog change; a reset carries the whole catalog
+     */
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.reset()) {
+                bitmaps.clear();
+                labels.clear();
+                genresByMovie.clear();
+                movies.clear();
+                slots.clear();
+                freeSlots.clear();
+                ids = new long[Math.max(64, event.upserted().size())];
+                idsShared = false;
+                nextSlot = 0;
+            }
+            event.removedIds().forEach(id -> {
+                remove(id);
+                Integer slot = slots.remove(id);
+                if (slot != null) {
+                    freeSlots.set(slot);
+                }
+            });
+            for (MovieDTO movie : event.upserted()) {
+                remove(movie.getId());
+                add(movie);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Movies matching a genre filter.
+     * @param genres Genres to filter on, matched ignoring case and accents
+     * @param matchAll true to require every genre, false to require any of them
+     * @return Private selection of the matching movies; every movie when no genre is given
+     */
+    public Selection select(Collection<String> genres, boolean matchAll) {
+        lock.readLock().lock();
+        try {
+            idsShared = true;
+            if (genres.isEmpty()) {
+                return new Selection((BitSet) movies.clone());
+            }
+            BitSet selected = null;
+            for (String genre : genres) {
+                BitSet bitmap = bitmaps.get(TextNormalizer.fold(genre.trim()));
+                if (bitmap == null) {
+                    if (matchAll) {
+                        return new Selection(new BitSet());
+                    }
+                    continue;
+                }
+                if (selected == null) {
+                    selected = (BitSet) bitmap.clone();
+                } else if (matchAll) {
+                    selected.and(bitmap);
+                } else {
+                    selected.or(bitmap);
+                }
+            }
+            return new Selection(selected == null ? new BitSet() : selected);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Count the movies of each genre within a selection.
+     * @param selection Movies to count, as returned by {@link #select}
+     * @return Genre to number of selected movies listing it, by genre name; genres with no selected movie are left out
+     */
+    public Map<String, Integer> facets(Selection selection) {
+        Map<String, Integer> facets = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        lock.readLock().lock();
+        try {
+            BitSet selected = selection.current();
+            // One buffer for every genre: or() and and() reuse its words instead of cloning each bitmap
+            BitSet intersection = new BitSet(selected.length());
+            bitmaps.forEach((genre, bitmap) -> {
+                intersection.clear();
+                intersection.or(selected);
+                intersection.and(bitmap);
+                int count = intersection.cardinality();
+                if (count > 0) {
+                    facets.put(labels.get(genre), count);
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        return facets;
+    }
+
+    private void add(MovieDTO movie) {
+        int bit = slots.computeIfAbsent(movie.getId(), this::assignSlot);
+        Set<String> genres = new LinkedHashSet<>();
+        for (String name : parse(movie.getGenre())) {
+            String genre = TextNormalizer.fold(name);
+            genres.add(genre);
+            labels.putIfAbsent(genre, name);
+            bitmaps.computeIfAbsent(genre, key -> new BitSet()).set(bit);
+        }
+        genresByMovie.put(movie.getId(), genres);
+        movies.set(bit);
+    }
+
+    private void remove(Long id) {
+        Set<String> genres = genresByMovie.remove(id);
+        if (genres == null) {
+            return;
+        }
+        int bit = slots.get(id);
+        movies.clear(bit);
+        for (String genre : genres) {
+            BitSet bitmap = bitmaps.get(genre);
+            bitmap.clear(bit);
+            if (bitmap.isEmpty()) {
+                bitmaps.remove(genre);
+                labels.remove(genre);
+            }
+        }
+    }
+
+    private int assignSlot(Long id) {
+        int slot = freeSlots.nextSetBit(0);
+        if (slot >= 0) {
+            if (idsShared) {
+                ids = ids.clone();
+                idsShared = false;
+            }
+            freeSlots.clear(slot);
+        } else {
+            if (nextSlot == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+            }
+            slot = nextSlot++;
+        }
+        ids[slot] = id;
+        return slot;
+    }
+
+    /**
+     * @return Number of slots handed out, including free ones
+     */
+    int slotCount() {
+        lock.readLock().lock();
+        try {
+            return nextSlot;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int genreCount() {
+        lock.readLock().lock();
+        try {
+            return bitmaps.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Movies picked by {@link #select}, owned by the caller. It stays valid while the index changes:
+     * movies indexed since are not in it, and movies deleted since are no longer reported.
+     */
+    public final class Selection {
+
+        private final BitSet slots;
+        /** Slot table the selection was taken with; never written once shared. */
+        private final long[] movieIds;
+
+        private Selection(BitSet slots) {
+            this.slots = slots;
+            this.movieIds = ids;
+        }
+
+        /**
+         * @param slot Slot of the selection
+         * @return Whether the slot still holds the movie it held when the selection was taken
+         */
+        private boolean indexed(int slot) {
+            Integer current = GenreIndex.this.slots.get(movieIds[slot]);
+            return current != null && current == slot;
+        }
+
+        /**
+         * @param id Movie ID
+         * @return Whether the movie is selected
+         */
+        public boolean contains(Long id) {
+            Integer slot = GenreIndex.this.slots.get(id);
+            return slot != null && slots.get(slot) && slot < movieIds.length && movieIds[slot] == id;
+        }
+
+        /**
+         * Drop the selected movies failing a check.
+         * @param filter Check of a movie ID, called without any lock held
+         */
+        public void retainIf(Predicate<Long> filter) {
+            for (int slot = slots.nextSetBit(0); slot >= 0; slot = slots.nextSetBit(slot + 1)) {
+                if (!filter.test(movieIds[slot])) {
+                    slots.clear(slot);
+                }
+            }
+        }
+
+        /**
+         * @return IDs of the selected movies that are still indexed, in slot order
+         */
+        public List<Long> ids() {
+            List<Long> selected = new ArrayList<>(slots.cardinality());
+            for (int slot = slots.nextSetBit(0); slot >= 0; slot = slots.nextSetBit(slot + 1)) {
+                if (indexed(slot)) {
+                    selected.add(movieIds[slot]);
+                }
+            }
+            return selected;
+        }
+
+        /**
+         * Called under the read lock.
+         * @return Selected slots still holding the movie they held when the selection was taken
+         */
+        private BitSet current() {
+            if (movieIds == ids) {
+                // No slot has been handed out again since; deleted movies are cleared from the bitmaps
+                return slots;
+            }
+            BitSet current = (BitSet) slots.clone();
+            for (int slot = current.nextSetBit(0); slot >= 0; slot = current.nextSetBit(slot + 1)) {
+                if (!indexed(slot)) {
+                    current.clear(slot);
+                }
+            }
+            return current;
+        }
+    }
+}
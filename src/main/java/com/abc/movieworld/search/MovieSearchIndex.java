@@ -0,0 +1,214 @@
+package com.abc.movieworld.search;
+
+import com.abc.movieworld.catalog.CatalogChangedEvent;
+import com.abc.movieworld.dto.MovieDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over movie titles, directors and descriptions.
+ * <p>
+ * The index follows the catalog snapshot through {@link CatalogChangedEvent}s: a full load rebuilds
+ * it, every other change only re-indexes the movies it touches. Queries match movies containing every
+ * query term and rank them with BM25 over field-weighted term frequencies, so a title match outranks
+ * a director match, which outranks a description match.
+ */
+@Component
+public class MovieSearchIndex {
+
+    static final float TITLE_WEIGHT = 3f;
+    static final float DIRECTOR_WEIGHT = 2f;
+    static final float DESCRIPTION_WEIGHT = 1f;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final Comparator<Hit> RANKING = Comparator.comparingDouble(Hit::score).reversed()
+            .thenComparingLong(Hit::id);
+
+    /** Term to the weighted frequency of the term in each movie containing it. */
+    private final Map<String, Map<Long, Float>> postings = new HashMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private double totalLength;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private record Document(Set<String> terms, float length) {
+    }
+
+    /**
+     * A matching movie and its relevance.
+     * @param id Movie ID
+     * @param score BM25 score, higher is more relevant
+     */
+    public record Hit(long id, double score) {
+    }
+
+    /**
+     * One page of ranked hits.
+     * @param hits Hits in rank order
+     * @param total Number of movies matching the query
+     */
+    public record Result(List<Hit> hits, int total) {
+    }
+
+    public MovieSearchIndex(MeterRegistry meterRegistry) {
+        Gauge.builder("movieworld.search.terms", this, MovieSearchIndex::termCount)
+                .description("Number of distinct terms in the search index")
+                .register(meterRegistry);
+        Gauge.builder("movieworld.search.documents", this, MovieSearchIndex::documentCount)
+                .description("Number of movies in the search index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Apply a catalog change to the index.
+     * @param event Catalog change; a reset carries the whole catalog
+     */
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.reset()) {
+                postings.clear();
+                documents.clear();
+                totalLength = 0;
+            }
+            event.removedIds().forEach(this::remove);
+            for (MovieDTO movie : event.upserted()) {
+                remove(movie.getId());
+                add(movie);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Find the movies containing every term of the query, best matches first.
+     * Only the hits up to the requested page are ever sorted.
+     * @param query Free-text query
+     * @param offset Number of ranked hits to skip
+     * @param limit Maximum number of hits to return
+     * @return Requested page of hits with the total number of matches
+     */
+    public Result search(String query, int offset, int limit) {
+        Set<String> terms = new LinkedHashSet<>(TextNormalizer.tokens(query));
+        if (terms.isEmpty()) {
+            return new Result(List.of(), 0);
+        }
+        lock.readLock().lock();
+        try {
+            List<Map<Long, Float>> termPostings = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Map<Long, Float> posting = postings.get(term);
+                if (posting == null) {
+                    return new Result(List.of(), 0);
+                }
+                termPostings.add(posting);
+            }
+            // Drive the intersection from the rarest term
+            termPostings.sort(Comparator.comparingInt(Map::size));
+            double averageLength = totalLength / documents.size();
+
+            int keep = offset + limit;
+            PriorityQueue<Hit> top = new PriorityQueue<>(RANKING.reversed());
+            int total = 0;
+            candidates:
+            for (Long id : termPostings.get(0).keySet()) {
+                double score = 0;
+                float length = documents.get(id).length();
+                for (Map<Long, Float> posting : termPostings) {
+                    Float frequency = posting.get(id);
+                    if (frequency == null) {
+                        continue candidates;
+                    }
+                    score += idf(posting.size()) * frequency * (K1 + 1)
+                            / (frequency + K1 * (1 - B + B * length / averageLength));
+                }
+                total++;
+                if (keep > 0) {
+                    Hit hit = new Hit(id, score);
+                    if (top.size() < keep) {
+                        top.add(hit);
+                    } else if (RANKING.compare(hit, top.peek()) < 0) {
+                        top.poll();
+                        top.add(hit);
+                    }
+                }
+            }
+            List<Hit> ranked = new ArrayList<>(top);
+            ranked.sort(RANKING);
+            return new Result(offset >= ranked.size() ? List.of() : ranked.subList(offset, ranked.size()), total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private double idf(int documentFrequency) {
+        int documentCount = documents.size();
+        return Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private void add(MovieDTO movie) {
+        Map<String, Float> frequencies = new HashMap<>();
+        float length = count(frequencies, movie.getTitle(), TITLE_WEIGHT)
+                + count(frequencies, movie.getDirector(), DIRECTOR_WEIGHT)
+                + count(frequencies, movie.getDescription(), DESCRIPTION_WEIGHT);
+        frequencies.forEach((term, frequency) ->
+                postings.computeIfAbsent(term, key -> new HashMap<>()).put(movie.getId(), frequency));
+        documents.put(movie.getId(), new Document(frequencies.keySet(), length));
+        totalLength += length;
+    }
+
+    private static float count(Map<String, Float> frequencies, String text, float weight) {
+        List<String> tokens = TextNormalizer.tokens(text);
+        tokens.forEach(token -> frequencies.merge(token, weight, Float::sum));
+        return tokens.size() * weight;
+    }
+
+    private void remove(Long id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        totalLength -= document.length();
+        for (String term : document.terms()) {
+            Map<Long, Float> posting = postings.get(term);
+            posting.remove(id);
+            if (posting.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    private int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int documentCount() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
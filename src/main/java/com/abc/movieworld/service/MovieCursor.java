@@ -0,0 +1,101 @@
+package com.abc.movieworld.service;
+
+import com.abc.movieworld.dto.MovieDTO;
+import com.abc.movieworld.dto.MovieSort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset cursor pointing just after a movie in a given sort order.
+ * Encoded as URL-safe Base64 so clients treat it as an opaque token.
+ *
+ * @param sort Sort order the cursor was issued for
+ * @param id ID of the last movie on the previous page
+ * @param key Sort key of the last movie on the previous page (null for {@link MovieSort#ID})
+ */
+record MovieCursor(MovieSort sort, Long id, String key) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Build the cursor that resumes after the given movie.
+     * @param sort Sort order of the page
+     * @param movie Last movie of the page
+     * @return Cursor positioned after the movie
+     */
+    static MovieCursor after(MovieSort sort, MovieDTO movie) {
+        String key = switch (sort) {
+            case ID -> null;
+            case RELEASE_DATE -> movie.getReleaseDate().toString();
+            case TITLE -> movie.getTitle();
+            case DIRECTOR -> movie.getDirector();
+        };
+        return new MovieCursor(sort, movie.getId(), key);
+    }
+
+    /**
+     * Decode a cursor previously returned to a client.
+     * @param token Encoded cursor
+     * @param sort Sort order of the current request
+     * @return Decoded cursor
+     * @throws IllegalArgumentException if the token is malformed or was issued for another sort order
+     */
+    static MovieCursor decode(String token, MovieSort sort) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, 3);
+            if (parts.length != 3 || !parts[0].equals(sort.name())) {
+                throw new IllegalArgumentException("Cursor does not match sort: " + sort.getParameter());
+            }
+            MovieCursor cursor = new MovieCursor(sort, Long.valueOf(parts[1]), parts[2].isEmpty() ? null : parts[2]);
+            if (sort == MovieSort.RELEASE_DATE) {
+                cursor.releaseDate();
+            }
+            return cursor;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+
+    /**
+     * Encode the cursor for a client.
+     * @return Opaque cursor token
+     */
+    String encode() {
+        String raw = sort.name() + SEPARATOR + id + SEPARATOR + (key == null ? "" : key);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Movie carrying only the sort key and ID, for positioning in an in-memory ordering.
+     * @return Probe movie comparable with {@link MovieSort#comparator()}
+     */
+    MovieDTO probe() {
+        MovieDTO.MovieDTOBuilder probe = MovieDTO.builder().id(id);
+        return switch (sort) {
+            case ID -> probe.build();
+            case RELEASE_DATE -> probe.releaseDate(releaseDate()).build();
+            case TITLE -> probe.title(key).build();
+            case DIRECTOR -> probe.director(key).build();
+        };
+    }
+
+    /**
+     * Sort key typed like the entity attribute it was taken from.
+     * @return Sort key of the last movie on the previous page, null for {@link MovieSort#ID}
+     */
+    Object keyValue() {
+        return sort == MovieSort.RELEASE_DATE ? releaseDate() : key;
+    }
+
+    /**
+     * Sort key as a release date.
+     * @return Release date of the last movie on the previous page
+     */
+    LocalDate releaseDate() {
+        return LocalDate.parse(key);
+    }
+}
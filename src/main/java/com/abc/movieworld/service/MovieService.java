@@ -1,9 +1,20 @@
 package com.abc.movieworld.service;
 
+import com.abc.movieworld.dto.BulkResultDTO;
+import com.abc.movieworld.dto.ChangeFeedDTO;
 import com.abc.movieworld.dto.MovieDTO;
+import com.abc.movieworld.dto.MovieField;
+import com.abc.movieworld.dto.MovieFilter;
+import com.abc.movieworld.dto.MoviePageDTO;
+import com.abc.movieworld.dto.MovieSort;
+import com.abc.movieworld.dto.SuggestionDTO;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Service interface for Movie operations.
@@ -17,6 +28,67 @@ public interface MovieService {
      */
     List<MovieDTO> getAllMovies();
 
+    /**
+     * Version of the catalog that listings matching a filter are currently served from.
+     * @param filter Movies the listing includes
+     * @return Catalog version, empty when such listings are read from the database directly
+     */
+    Optional<Long> getCatalogVersion(MovieFilter filter);
+
+    /**
+     * Get a page of movies using keyset pagination.
+     * @param after Opaque cursor returned with the previous page, null for the first page
+     * @param limit Maximum number of movies to return, null for the default page size
+     * @param sort Sort order of the listing
+     * @return Page of movies with the cursor for the next page
+     * @throws IllegalArgumentException if the cursor is invalid for the requested sort
+     */
+    MoviePageDTO getMoviesPage(String after, Integer limit, MovieSort sort);
+
+    /**
+     * Get a filtered page of movies using keyset pagination, reading only the selected fields where possible.
+     * @param after Opaque cursor returned with the previous page, null for the first page
+     * @param limit Maximum number of movies to return, null for the default page size
+     * @param sort Sort order of the listing
+     * @param fields Fields the caller will use; other fields may be left unset
+     * @param filter Movies to include
+     * @return Page of movies with at least the selected fields populated
+     * @throws IllegalArgumentException if the cursor is invalid for the requested sort
+     */
+    MoviePageDTO getMoviesPage(String after, Integer limit, MovieSort sort, Set<MovieField> fields, MovieFilter filter);
+
+    /**
+     * Count the movies of each genre among the movies matching a filter.
+     * @param filter Movies to count
+     * @return Genre to number of matching movies
+     */
+    Map<String, Integer> getGenreFacets(MovieFilter filter);
+
+    /**
+     * Full-text search over titles, directors and descriptions, best matches first.
+     * @param query Free-text query; every word must match
+     * @param after Opaque cursor returned with the previous page, null for the first page
+     * @param limit Maximum number of movies to return, null for the default page size
+     * @return Page of matching movies with the cursor for the next page
+     * @throws IllegalArgumentException if the query is blank or the cursor is invalid
+     */
+    MoviePageDTO searchMovies(String query, String after, Integer limit);
+
+    /**
+     * Suggest titles and directors containing a word that starts with the typed prefix.
+     * @param prefix Typed text, matched ignoring case and accents
+     * @param limit Maximum number of suggestions, null for the default
+     * @return Suggestions in alphabetical order
+     */
+    List<SuggestionDTO> autocomplete(String prefix, Integer limit);
+
+    /**
+     * Stream every movie in ID order without materializing the catalog in memory.
+     * @param consumer Callback invoked for each movie as it is read from the database
+     * @return Number of movies exported
+     */
+    long exportMovies(Consumer<MovieDTO> consumer);
+
     /**
      * Get a movie by its ID.
      * @param id Movie ID
@@ -31,6 +103,22 @@ public interface MovieService {
      */
     Optional<MovieDTO> getMovieWithReviews(Long id);
 
+    /**
+     * Get a movie by its ID with reviews without blocking the calling thread.
+     * The movie lookup and the review fetch run concurrently; reviews are left empty when the review
+     * service fails or does not answer in time.
+     * @param id Movie ID
+     * @return Movie with reviews, empty if the movie does not exist
+     */
+    Mono<MovieDTO> getMovieWithReviewsAsync(Long id);
+
+    /**
+     * Add reviews to a list of movies, fetching the reviews of all of them in bulk.
+     * @param movies Movies to add reviews to; they are not modified
+     * @return Copies of the movies, in the same order, with their reviews when available
+     */
+    Mono<List<MovieDTO>> withReviews(List<MovieDTO> movies);
+
     /**
      * Create a new movie.
      * @param movieDTO Movie to create
@@ -38,18 +126,86 @@ public interface MovieService {
      */
     MovieDTO createMovie(MovieDTO movieDTO);
 
+    /**
+     * Create many movies at once. Each movie is validated on its own; the valid ones are inserted in
+     * batches, one transaction per batch, so a failure only affects the movies it concerns.
+     * @param movies Movies to create; their IDs are ignored
+     * @return ID of each created movie and the error of each movie that was not created
+     */
+    BulkResultDTO createMovies(List<MovieDTO> movies);
+
+    /**
+     * Update many existing movies at once, each identified by its ID. Each movie is validated on its
+     * own; the valid ones are updated in batches, one transaction per batch.
+     * @param movies Movies to update, with their IDs
+     * @return ID of each updated movie and the error of each movie that was not updated
+     */
+    BulkResultDTO replaceMovies(List<MovieDTO> movies);
+
+    /**
+     * Insert or update a batch of movies in one transaction. A movie is matched to an existing one by
+     * its ID, or by its title if it has no ID or the ID is unknown; unmatched movies are inserted.
+     * Writing the same movies again therefore leaves the catalog unchanged.
+     * @param movies Movies to write, already validated
+     * @param inTransaction Run in the same transaction after the movies are written, e.g. to record progress
+     * @return ID of each written movie, in order
+     */
+    List<Long> upsertMovies(List<MovieDTO> movies, Runnable inTransaction);
+
+    /**
+     * Read the changes made to the catalog after a point of the change feed.
+     * @param since Sequence number of the last change already read, 0 to read from the start
+     * @param limit Most changes to return, null for the default
+     * @return Changes in sequence order, with the cursor to continue from
+     * @throws IllegalArgumentException if since is negative
+     */
+    ChangeFeedDTO getChanges(long since, Integer limit);
+
+    /**
+     * Set the same fields on every selected movie with one UPDATE statement.
+     * @param ids IDs of the movies to update, null to select by filter only
+     * @param filter Genre, director and release date criteria the movies must meet
+     * @param changes Fields to set; null fields are left unchanged
+     * @return Number of movies updated
+     */
+    int updateMovies(List<Long> ids, MovieFilter filter, MovieDTO changes);
+
+    /**
+     * Delete every selected movie with one DELETE statement.
+     * @param ids IDs of the movies to delete, null to select by filter only
+     * @param filter Genre, director and release date criteria the movies must meet
+     * @return Number of movies deleted
+     */
+    int deleteMovies(List<Long> ids, MovieFilter filter);
+
     /**
      * Update an existing movie.
      * @param id Movie ID
      * @param movieDTO Updated movie details
+     * @param expectedVersion Version the movie must still be at, null to overwrite whatever its version
      * @return Updated movie if found, null otherwise
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the movie exists at another version
+     */
+    MovieDTO updateMovie(Long id, MovieDTO movieDTO, Long expectedVersion);
+
+    /**
+     * Change only some fields of an existing movie.
+     * @param id Movie ID
+     * @param patch Values of the patched fields; a null value clears the field
+     * @param fields Fields to change, all of them {@link MovieField#WRITABLE}
+     * @param expectedVersion Version the movie must still be at, null to patch whatever its version
+     * @return Patched movie if found, null otherwise
+     * @throws IllegalArgumentException if no field is given or a value is invalid
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the movie exists at another version
      */
-    MovieDTO updateMovie(Long id, MovieDTO movieDTO);
+    MovieDTO patchMovie(Long id, MovieDTO patch, Set<MovieField> fields, Long expectedVersion);
 
     /**
      * Delete a movie.
      * @param id Movie ID
+     * @param expectedVersion Version the movie must still be at, null to delete whatever its version
      * @return true if deleted, false if not found
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the movie exists at another version
      */
-    boolean deleteMovie(Long id);
+    boolean deleteMovie(Long id, Long expectedVersion);
 }
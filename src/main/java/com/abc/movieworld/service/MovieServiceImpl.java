@@ -1,18 +1,70 @@
 package com.abc.movieworld.service;
 
+import com.abc.movieworld.catalog.CatalogChangedEvent;
+import com.abc.movieworld.catalog.CatalogNotLoadedException;
+import com.abc.movieworld.catalog.CatalogSnapshot;
+import com.abc.movieworld.catalog.MovieCatalog;
+import com.abc.movieworld.catalog.MovieChangeLog;
+import com.abc.movieworld.config.CacheConfig;
+import com.abc.movieworld.datasource.DataSourceRouting;
+import com.abc.movieworld.dto.BulkResultDTO;
+import com.abc.movieworld.dto.ChangeEventDTO;
+import com.abc.movieworld.dto.ChangeFeedDTO;
 import com.abc.movieworld.dto.MovieDTO;
+import com.abc.movieworld.dto.MovieField;
+import com.abc.movieworld.dto.MovieFilter;
+import com.abc.movieworld.dto.MoviePageDTO;
+import com.abc.movieworld.dto.MovieSort;
+import com.abc.movieworld.dto.SuggestionDTO;
 import com.abc.movieworld.mapper.MovieMapper;
 import com.abc.movieworld.model.Movie;
+import com.abc.movieworld.model.MovieChange;
 import com.abc.movieworld.repository.MovieRepository;
+import com.abc.movieworld.review.ReviewClient;
+import com.abc.movieworld.search.AutocompleteIndex;
+import com.abc.movieworld.search.GenreIndex;
+import com.abc.movieworld.search.MovieSearchIndex;
+import com.abc.movieworld.search.TextNormalizer;
+import jakarta.persistence.Tuple;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 /**
  * Service implementation class for Movie operations.
@@ -23,75 +75,441 @@ import java.util.Optional;
 public class MovieServiceImpl implements MovieService {
 
     private final MovieRepository movieRepository;
-    private final WebClient.Builder webClientBuilder;
+    private final ReviewClient reviewClient;
     private final MovieMapper movieMapper;
+    private final CacheManager cacheManager;
+    private final MovieCatalog movieCatalog;
+    private final MovieChangeLog movieChangeLog;
+    private final MovieSearchIndex movieSearchIndex;
+    private final GenreIndex genreIndex;
+    private final AutocompleteIndex autocompleteIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Validator validator;
     
-    @Value("${moviereview.service.url}")
-    private String movieReviewServiceUrl;
+    @Value("${movieworld.pagination.default-limit:20}")
+    private int defaultPageLimit;
+
+    @Value("${movieworld.pagination.max-limit:100}")
+    private int maxPageLimit;
+
+    @Value("${movieworld.autocomplete.default-limit:10}")
+    private int defaultSuggestionLimit;
+
+    @Value("${movieworld.export.fetch-size:500}")
+    private int exportFetchSize;
+
+    @Value("${movieworld.bulk.batch-size:500}")
+    private int bulkBatchSize;
+
+    @Value("${movieworld.bulk.max-items:50000}")
+    private int bulkMaxItems;
+
+    @Value("${movieworld.changes.default-limit:100}")
+    private int defaultChangeLimit;
+
+    @Value("${movieworld.changes.max-limit:1000}")
+    private int maxChangeLimit;
 
     @Autowired
-    public MovieServiceImpl(MovieRepository movieRepository, WebClient.Builder webClientBuilder, MovieMapper movieMapper) {
+    public MovieServiceImpl(MovieRepository movieRepository, ReviewClient reviewClient, MovieMapper movieMapper,
+                            CacheManager cacheManager, MovieCatalog movieCatalog, MovieChangeLog movieChangeLog,
+                            MovieSearchIndex movieSearchIndex, GenreIndex genreIndex,
+                            AutocompleteIndex autocompleteIndex, PlatformTransactionManager transactionManager,
+                            Validator validator) {
         this.movieRepository = movieRepository;
-        this.webClientBuilder = webClientBuilder;
+        this.reviewClient = reviewClient;
         this.movieMapper = movieMapper;
+        this.cacheManager = cacheManager;
+        this.movieCatalog = movieCatalog;
+        this.movieChangeLog = movieChangeLog;
+        this.movieSearchIndex = movieSearchIndex;
+        this.genreIndex = genreIndex;
+        this.autocompleteIndex = autocompleteIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.validator = validator;
     }
 
     /**
      * Get all movies.
+     * Served from the in-memory catalog snapshot once it is loaded, and from a read-only transaction,
+     * which can use the read replica, before that.
      * @return List of all movies
      */
     @Override
     public List<MovieDTO> getAllMovies() {
         log.info("Fetching all movies");
-        List<Movie> movies = movieRepository.findAll();
+        Optional<CatalogSnapshot> snapshot = movieCatalog.current();
+        if (snapshot.isPresent()) {
+            return snapshot.get().movies(MovieSort.ID);
+        }
+        List<Movie> movies = readOnlyTransaction.execute(status -> movieRepository.findAll());
         return movieMapper.toDTOList(movies);
     }
 
+    /**
+     * Version of the in-memory catalog snapshot.
+     * Any write to the catalog produces a new version, so it validates every listing served from the snapshot.
+     * Listings answered by a database query may come from the read replica, which can lag behind the
+     * version of the snapshot, so they have no version.
+     * @param filter Movies the listing includes
+     * @return Catalog version, empty until the snapshot is loaded or when the listing is read from the database
+     */
+    @Override
+    public Optional<Long> getCatalogVersion(MovieFilter filter) {
+        if (queriesDatabase(filter)) {
+            return Optional.empty();
+        }
+        return movieCatalog.current().map(CatalogSnapshot::getVersion);
+    }
+
+    /**
+     * @return Whether listings with this filter are answered by an indexed database query even once the snapshot is loaded
+     */
+    private static boolean queriesDatabase(MovieFilter filter) {
+        return filter.hasColumnCriteria() && !filter.hasGenres();
+    }
+
+    /**
+     * Get a page of movies using keyset pagination.
+     * Pages are cut from the in-memory catalog snapshot when it is loaded, and from the database otherwise.
+     * One extra movie is fetched to tell whether a next page exists without a count query.
+     * @param after Opaque cursor returned with the previous page, null for the first page
+     * @param limit Maximum number of movies to return, null for the default page size
+     * @param sort Sort order of the listing
+     * @return Page of movies with the cursor for the next page
+     */
+    @Override
+    public MoviePageDTO getMoviesPage(String after, Integer limit, MovieSort sort) {
+        return getMoviesPage(after, limit, sort, MovieField.ALL, MovieFilter.none());
+    }
+
+    /**
+     * Get a filtered page of movies using keyset pagination, reading only the selected fields from the database.
+     * Director, release date and duration filters are answered by an indexed, parameterized database query.
+     * Genre filters need the genre index, so they are answered from the snapshot, with the genres resolved
+     * to a bitset once per page and any other criteria checked in memory. The snapshot already holds every
+     * field, so only database reads are narrowed; the ID and the sort key are always read to build the
+     * next cursor. Database reads run in a read-only transaction, which can use the read replica.
+     * @param after Opaque cursor returned with the previous page, null for the first page
+     * @param limit Maximum number of movies to return, null for the default page size
+     * @param sort Sort order of the listing
+     * @param fields Fields the caller will use
+     * @param filter Movies to include
+     * @return Page of movies with at least the selected fields populated
+     */
+    @Override
+    public MoviePageDTO getMoviesPage(String after, Integer limit, MovieSort sort, Set<MovieField> fields, MovieFilter filter) {
+        int pageSize = pageSize(limit);
+        log.info("Fetching page of {} movies sorted by {} after cursor {} matching {}", pageSize, sort.getParameter(), after, filter);
+        MovieCursor cursor = after == null || after.isBlank() ? null : MovieCursor.decode(after, sort);
+
+        Optional<CatalogSnapshot> snapshot = movieCatalog.current();
+        List<MovieDTO> movies;
+        Long catalogVersion = null;
+        if (queriesDatabase(filter)) {
+            movies = readOnlyTransaction.execute(status -> fields.containsAll(MovieField.ALL)
+                    ? movieMapper.toDTOList(movieRepository.findPage(filter, sort,
+                            cursor == null ? null : cursor.keyValue(), cursor == null ? null : cursor.id(), pageSize + 1))
+                    : findPageColumnsInDatabase(sort, cursor, fields, filter, pageSize + 1));
+        } else if (snapshot.isPresent()) {
+            movies = pageFromSnapshot(snapshot.get(), sort, cursor, filter, pageSize + 1);
+            catalogVersion = snapshot.get().getVersion();
+        } else if (filter.hasGenres()) {
+            movies = readOnlyTransaction.execute(status -> findFilteredPageInDatabase(sort, cursor, filter, pageSize + 1));
+        } else {
+            movies = readOnlyTransaction.execute(status -> fields.containsAll(MovieField.ALL)
+                    ? findPageInDatabase(sort, cursor, pageSize + 1)
+                    : findPageColumnsInDatabase(sort, cursor, fields, filter, pageSize + 1));
+        }
+
+        boolean hasMore = movies.size() > pageSize;
+        List<MovieDTO> items = List.copyOf(hasMore ? movies.subList(0, pageSize) : movies);
+        String nextCursor = hasMore ? MovieCursor.after(sort, items.get(items.size() - 1)).encode() : null;
+        return new MoviePageDTO(items, nextCursor, catalogVersion);
+    }
+
+    /**
+     * Count the movies of each genre among the movies matching a filter.
+     * Computed from the genre bitmaps with one intersection per genre; director, release date and
+     * duration criteria first remove the non-matching movies from the selection. Before the snapshot
+     * is loaded the genre bitmaps are empty, so the movies are counted by the database instead.
+     * @param filter Movies to count
+     * @return Genre to number of matching movies
+     */
+    @Override
+    public Map<String, Integer> getGenreFacets(MovieFilter filter) {
+        if (movieCatalog.current().isEmpty()) {
+            return readOnlyTransaction.execute(status -> countGenresInDatabase(filter));
+        }
+        GenreIndex.Selection selected = genreIndex.select(filter.getGenres(), filter.isMatchAllGenres());
+        if (filter.hasColumnCriteria()) {
+            CatalogSnapshot snapshot = movieCatalog.current().orElse(null);
+            selected.retainIf(id -> {
+                CatalogSnapshot.Entry entry = snapshot == null ? null : snapshot.get(id);
+                return entry != null && filter.matchesColumns(entry.movie());
+            });
+        }
+        return genreIndex.facets(selected);
+    }
+
+    /**
+     * Facet counts from one GROUP BY query on the genre column. Each distinct column value is split
+     * into its genres and checked against the genre filter, as the genre index does for each movie.
+     */
+    private Map<String, Integer> countGenresInDatabase(MovieFilter filter) {
+        Predicate<String> genres = filter.hasGenres() ? genreMatcher(filter) : genre -> true;
+        Map<String, String> labels = new HashMap<>();
+        Map<String, Integer> facets = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        movieRepository.countByGenre(columnCriteria(filter)).forEach((genre, count) -> {
+            if (!genres.test(genre)) {
+                return;
+            }
+            Set<String> counted = new HashSet<>();
+            for (String name : GenreIndex.parse(genre)) {
+                String folded = TextNormalizer.fold(name);
+                if (counted.add(folded)) {
+                    facets.merge(labels.computeIfAbsent(folded, key -> name), Math.toIntExact(count), Integer::sum);
+                }
+            }
+        });
+        return facets;
+    }
+
+    private List<MovieDTO> pageFromSnapshot(CatalogSnapshot snapshot, MovieSort sort, MovieCursor cursor,
+                                            MovieFilter filter, int limit) {
+        MovieDTO probe = cursor == null ? null : cursor.probe();
+        if (filter.isEmpty()) {
+            return snapshot.page(sort, probe, limit);
+        }
+        GenreIndex.Selection selected = genreIndex.select(filter.getGenres(), filter.isMatchAllGenres());
+        return snapshot.page(sort, probe, limit,
+                movie -> selected.contains(movie.getId()) && filter.matchesColumns(movie));
+    }
+
+    /**
+     * @return Check of a movie's genre column against the genres of a filter
+     */
+    private static Predicate<String> genreMatcher(MovieFilter filter) {
+        Set<String> genres = filter.getGenres().stream().map(TextNormalizer::fold).collect(Collectors.toSet());
+        return genre -> {
+            Set<String> movieGenres = GenreIndex.parse(genre).stream()
+                    .map(TextNormalizer::fold)
+                    .collect(Collectors.toSet());
+            return filter.isMatchAllGenres()
+                    ? movieGenres.containsAll(genres)
+                    : genres.stream().anyMatch(movieGenres::contains);
+        };
+    }
+
+    /**
+     * Fallback for genre-filtered listings before the snapshot is loaded: walk the keyset order of the
+     * movies meeting the column criteria in batches and keep those matching the genres.
+     */
+    private List<MovieDTO> findFilteredPageInDatabase(MovieSort sort, MovieCursor cursor, MovieFilter filter, int limit) {
+        Predicate<String> genres = genreMatcher(filter);
+        Predicate<MovieDTO> matches = movie -> genres.test(movie.getGenre());
+        List<MovieDTO> page = new ArrayList<>();
+        MovieCursor position = cursor;
+        while (page.size() < limit) {
+            List<MovieDTO> batch = movieMapper.toDTOList(movieRepository.findPage(filter, sort,
+                    position == null ? null : position.keyValue(), position == null ? null : position.id(), limit));
+            batch.stream().filter(matches).limit(limit - page.size()).forEach(page::add);
+            if (batch.size() < limit) {
+                break;
+            }
+            position = MovieCursor.after(sort, batch.get(batch.size() - 1));
+        }
+        return page;
+    }
+
+    /**
+     * Full-text search over titles, directors and descriptions, best matches first.
+     * Answered from the in-memory search index and catalog snapshot without querying the database.
+     * @param query Free-text query; every word must match
+     * @param after Opaque cursor returned with the previous page, null for the first page
+     * @param limit Maximum number of movies to return, null for the default page size
+     * @return Page of matching movies with the cursor for the next page
+     * @throws CatalogNotLoadedException if the snapshot is not loaded yet
+     */
+    @Override
+    public MoviePageDTO searchMovies(String query, String after, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be blank");
+        }
+        int pageSize = pageSize(limit);
+        int offset = decodeOffset(after);
+        log.info("Searching movies for '{}' from offset {} with page size {}", query, offset, pageSize);
+
+        Optional<CatalogSnapshot> snapshot = movieCatalog.current();
+        if (snapshot.isEmpty()) {
+            throw new CatalogNotLoadedException("Search is unavailable until the catalog is loaded");
+        }
+        MovieSearchIndex.Result result = movieSearchIndex.search(query, offset, pageSize);
+        List<MovieDTO> items = result.hits().stream()
+                .map(hit -> snapshot.get().get(hit.id()))
+                // The index can briefly trail the snapshot while a change is being applied
+                .filter(Objects::nonNull)
+                .map(CatalogSnapshot.Entry::movie)
+                .toList();
+        int nextOffset = offset + pageSize;
+        return new MoviePageDTO(items, nextOffset < result.total() ? String.valueOf(nextOffset) : null);
+    }
+
+    /**
+     * Suggest titles and directors for a typed prefix.
+     * Served from the in-memory autocomplete trie without querying the database.
+     * @param prefix Typed text
+     * @param limit Maximum number of suggestions, null for the default
+     * @return Suggestions in alphabetical order
+     * @throws CatalogNotLoadedException if the snapshot is not loaded yet
+     */
+    @Override
+    public List<SuggestionDTO> autocomplete(String prefix, Integer limit) {
+        if (movieCatalog.current().isEmpty()) {
+            throw new CatalogNotLoadedException("Autocomplete is unavailable until the catalog is loaded");
+        }
+        int count = limit == null ? defaultSuggestionLimit : Math.max(1, Math.min(limit, maxPageLimit));
+        log.debug("Autocompleting '{}' with up to {} suggestions", prefix, count);
+        return autocompleteIndex.suggest(prefix, count);
+    }
+
+    private int pageSize(Integer limit) {
+        return limit == null ? defaultPageLimit : Math.max(1, Math.min(limit, maxPageLimit));
+    }
+
+    private static int decodeOffset(String after) {
+        if (after == null || after.isBlank()) {
+            return 0;
+        }
+        try {
+            int offset = Integer.parseInt(after);
+            if (offset < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + after);
+            }
+            return offset;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + after, e);
+        }
+    }
+
+    private List<MovieDTO> findPageInDatabase(MovieSort sort, MovieCursor cursor, int limit) {
+        Pageable pageable = PageRequest.of(0, limit);
+        List<Movie> movies = switch (sort) {
+            case ID -> cursor == null
+                    ? movieRepository.findFirstPageById(pageable)
+                    : movieRepository.findPageByIdAfter(cursor.id(), pageable);
+            case RELEASE_DATE -> cursor == null
+                    ? movieRepository.findFirstPageByReleaseDate(pageable)
+                    : movieRepository.findPageByReleaseDateAfter(cursor.releaseDate(), cursor.id(), pageable);
+            case TITLE -> cursor == null
+                    ? movieRepository.findFirstPageByTitle(pageable)
+                    : movieRepository.findPageByTitleAfter(cursor.key(), cursor.id(), pageable);
+            case DIRECTOR -> cursor == null
+                    ? movieRepository.findFirstPageByDirector(pageable)
+                    : movieRepository.findPageByDirectorAfter(cursor.key(), cursor.id(), pageable);
+        };
+        return movieMapper.toDTOList(movies);
+    }
+
+    private List<MovieDTO> findPageColumnsInDatabase(MovieSort sort, MovieCursor cursor, Set<MovieField> fields,
+                                                     MovieFilter filter, int limit) {
+        Set<MovieField> selected = EnumSet.copyOf(fields);
+        selected.add(MovieField.ID);
+        selected.add(MovieField.of(sort));
+        List<Tuple> rows = movieRepository.findPageColumns(
+                selected.stream().map(MovieField::getParameter).toList(), filter,
+                sort, cursor == null ? null : cursor.keyValue(), cursor == null ? null : cursor.id(), limit);
+        return rows.stream()
+                .map(row -> {
+                    MovieDTO movie = new MovieDTO();
+                    selected.forEach(field -> field.set(movie, row.get(field.getParameter())));
+                    return movie;
+                })
+                .toList();
+    }
+
+    /**
+     * Stream every movie in ID order without materializing the catalog in memory.
+     * Rows are read through a forward-only cursor and handed to the consumer one at a time.
+     * @param consumer Callback invoked for each movie as it is read from the database
+     * @return Number of movies exported
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportMovies(Consumer<MovieDTO> consumer) {
+        log.info("Exporting all movies with fetch size {}", exportFetchSize);
+        long count = movieRepository.scrollAll(exportFetchSize, movie -> consumer.accept(movieMapper.toDTO(movie)));
+        log.info("Exported {} movies", count);
+        return count;
+    }
+
     /**
      * Get a movie by its ID.
+     * Served from the movie cache; the database is only queried on a miss.
      * @param id Movie ID
      * @return Optional containing the movie if found, empty otherwise
      */
     @Override
     public Optional<MovieDTO> getMovieById(Long id) {
         log.info("Fetching movie with id: {}", id);
-        return movieRepository.findById(id)
-                .map(movieMapper::toDTO);
+        return Optional.ofNullable(loadMovie(id));
     }
 
     /**
      * Get a movie by its ID with reviews.
+     * Blocks the calling thread until both the movie and its reviews are available.
      * @param id Movie ID
      * @return Optional containing the movie with reviews if found, empty otherwise
      */
     @Override
     public Optional<MovieDTO> getMovieWithReviews(Long id) {
+        return getMovieWithReviewsAsync(id).blockOptional();
+    }
+
+    /**
+     * Get a movie by its ID with reviews without blocking the calling thread.
+     * The cache or database lookup runs on the bounded elastic scheduler while the reviews are read
+     * through the review cache; a review request still in flight is cancelled if the movie does not exist.
+     * @param id Movie ID
+     * @return Movie with reviews, empty if the movie does not exist
+     */
+    @Override
+    public Mono<MovieDTO> getMovieWithReviewsAsync(Long id) {
         log.info("Fetching movie with id: {} including reviews", id);
-        Optional<Movie> movieOpt = movieRepository.findById(id);
-        
-        if (movieOpt.isPresent()) {
-            Movie movie = movieOpt.get();
-            // Fetch reviews from the review service
-            try {
-                Object reviews = webClientBuilder.build()
-                        .get()
-                        .uri(movieReviewServiceUrl + "/api/moviereview/movie/{id}", id)
-                        .retrieve()
-                        .bodyToMono(Object.class)
-                        .onErrorResume(e -> {
-                            log.error("Error fetching reviews for movie id: {}", id, e);
-                            return Mono.empty();
+        Mono<MovieDTO> movie = Mono.fromCallable(() -> loadMovie(id))
+                .subscribeOn(Schedulers.boundedElastic());
+        Mono<Optional<Object>> reviews = reviewClient.getReviews(id)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty());
+        return Mono.zip(movie, reviews, (cachedMovie, movieReviews) -> {
+            // Copy so the reviews are never attached to the shared cached instance
+            MovieDTO result = cachedMovie.toBuilder().build();
+            result.setReviews(movieReviews.orElse(null));
+            return result;
+        });
+    }
+
+    /**
+     * Add reviews to a list of movies, fetching the reviews of all of them in bulk.
+     * Reviews already cached are reused; the rest are fetched in batches from the bulk endpoint.
+     * @param movies Movies to add reviews to; they are not modified
+     * @return Copies of the movies, in the same order, with their reviews when available
+     */
+    @Override
+    public Mono<List<MovieDTO>> withReviews(List<MovieDTO> movies) {
+        List<Long> ids = movies.stream().map(MovieDTO::getId).distinct().toList();
+        return reviewClient.getReviews(ids)
+                .map(reviews -> movies.stream()
+                        .map(movie -> {
+                            // Copy so the reviews are never attached to shared cached or snapshot instances
+                            MovieDTO result = movie.toBuilder().build();
+                            result.setReviews(reviews.get(movie.getId()));
+                            return result;
                         })
-                        .block();
-                
-                movie.setReviews(reviews);
-            } catch (Exception e) {
-                log.error("Failed to fetch reviews for movie id: {}", id, e);
-            }
-            return Optional.of(movieMapper.toDTO(movie));
-        }
-        
-        return Optional.empty();
+                        .toList());
     }
 
     /**
@@ -100,46 +518,662 @@ public class MovieServiceImpl implements MovieService {
      * @return Created movie
      */
     @Override
+    @Transactional
     public MovieDTO createMovie(MovieDTO movieDTO) {
         log.info("Creating new movie: {}", movieDTO);
         Movie movie = movieMapper.toEntity(movieDTO);
+        long revision = movieCatalog.nextRevision();
+        movie.setRevision(revision);
         Movie savedMovie = movieRepository.save(movie);
-        return movieMapper.toDTO(savedMovie);
+        movieChangeLog.record(MovieChange.Type.CREATED, List.of(savedMovie.getId()), revision);
+        MovieDTO savedMovieDTO = movieMapper.toDTO(savedMovie);
+        // The ID may have been looked up before and cached as a miss
+        afterCommit(() -> movieCache().evict(savedMovieDTO.getId()));
+        movieCatalog.recordWrite();
+        return savedMovieDTO;
+    }
+
+    /**
+     * Create many movies at once.
+     * Valid movies are inserted in batches of {@code movieworld.bulk.batch-size}, each batch in its own
+     * transaction and as JDBC batches, with IDs reserved from the sequence in blocks. A batch that fails
+     * is retried one movie at a time, so that only the movies at fault are reported and the others are
+     * still created.
+     * @param movies Movies to create; their IDs are ignored
+     * @return ID of each created movie and the error of each movie that was not created
+     */
+    @Override
+    public BulkResultDTO createMovies(List<MovieDTO> movies) {
+        if (movies.size() > bulkMaxItems) {
+            throw new IllegalArgumentException("At most " + bulkMaxItems + " movies can be created at once");
+        }
+        log.info("Creating {} movies in bulk", movies.size());
+        Long[] ids = new Long[movies.size()];
+        List<BulkResultDTO.ItemError> errors = new ArrayList<>();
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < movies.size(); i++) {
+            String violations = violations(movies.get(i));
+            if (violations == null) {
+                valid.add(i);
+            } else {
+                errors.add(new BulkResultDTO.ItemError(i, violations));
+            }
+        }
+
+        writeInBatches(valid, errors, batch -> insertBatch(batch, movies, ids));
+        return bulkResult(movies, ids, errors);
+    }
+
+    /**
+     * Update many existing movies at once, each identified by its ID.
+     * Valid movies are updated in batches of {@code movieworld.bulk.batch-size}: each batch loads its
+     * movies with one query and writes them back as JDBC batches in one transaction. A batch that fails
+     * is retried one movie at a time, as for {@link #createMovies}.
+     * @param movies Movies to update, with their IDs
+     * @return ID of each updated movie and the error of each movie that was not updated
+     */
+    @Override
+    public BulkResultDTO replaceMovies(List<MovieDTO> movies) {
+        if (movies.size() > bulkMaxItems) {
+            throw new IllegalArgumentException("At most " + bulkMaxItems + " movies can be updated at once");
+        }
+        log.info("Updating {} movies in bulk", movies.size());
+        Long[] ids = new Long[movies.size()];
+        List<BulkResultDTO.ItemError> errors = new ArrayList<>();
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < movies.size(); i++) {
+            String violations = violations(movies.get(i));
+            if (violations == null && movies.get(i).getId() == null) {
+                violations = "Movie ID is required";
+            }
+            if (violations == null) {
+                valid.add(i);
+            } else {
+                errors.add(new BulkResultDTO.ItemError(i, violations));
+            }
+        }
+        writeInBatches(valid, errors, batch -> replaceBatch(batch, movies, ids, errors));
+        return bulkResult(movies, ids, errors);
+    }
+
+    /**
+     * Insert or update a batch of movies in one transaction, all stamped with one new revision.
+     * Existing movies are loaded with one query by ID and one by title, updated in place and written
+     * back as JDBC batches; the others are inserted as JDBC batches. When several movies share a title,
+     * the one with the lowest ID is updated.
+     * @param movies Movies to write, already validated
+     * @param inTransaction Run in the same transaction after the movies are written
+     * @return ID of each written movie, in order
+     */
+    @Override
+    public List<Long> upsertMovies(List<MovieDTO> movies, Runnable inTransaction) {
+        List<Movie> written = transactionTemplate.execute(status -> {
+            if (movies.isEmpty()) {
+                inTransaction.run();
+                return List.<Movie>of();
+            }
+            // Before loading the movies: the version increment clears the persistence context
+            long revision = movieCatalog.nextRevision();
+            Map<Long, Movie> byId = movieRepository
+                    .findAllById(movies.stream().map(MovieDTO::getId).filter(Objects::nonNull).toList())
+                    .stream()
+                    .collect(Collectors.toMap(Movie::getId, movie -> movie));
+            List<String> unmatchedTitles = movies.stream()
+                    .filter(movie -> !byId.containsKey(movie.getId()))
+                    .map(MovieDTO::getTitle)
+                    .distinct()
+                    .toList();
+            Map<String, Movie> byTitle = unmatchedTitles.isEmpty() ? new HashMap<>() : movieRepository
+                    .findByTitleIn(unmatchedTitles)
+                    .stream()
+                    .collect(Collectors.toMap(Movie::getTitle, movie -> movie,
+                            (first, second) -> first.getId() < second.getId() ? first : second, HashMap::new));
+            List<Movie> entities = new ArrayList<>(movies.size());
+            List<Movie> inserts = new ArrayList<>();
+            for (MovieDTO movieDTO : movies) {
+                Movie movie = byId.get(movieDTO.getId());
+                if (movie == null) {
+                    movie = byTitle.get(movieDTO.getTitle());
+                }
+                if (movie == null) {
+                    movie = movieMapper.toEntity(movieDTO);
+                    movie.setId(null);
+                    inserts.add(movie);
+                    byTitle.put(movie.getTitle(), movie);
+                } else {
+                    movieMapper.updateEntityFromDTO(movie, movieDTO);
+                }
+                movie.setRevision(revision);
+                entities.add(movie);
+            }
+            // Updates first: inserting detaches the inserted movies but leaves the loaded ones managed
+            movieRepository.flushBatched(bulkBatchSize);
+            movieRepository.insertAll(inserts, bulkBatchSize);
+            Set<Long> created = inserts.stream().map(Movie::getId).collect(Collectors.toSet());
+            movieChangeLog.record(MovieChange.Type.CREATED, created, revision);
+            movieChangeLog.record(MovieChange.Type.UPDATED, entities.stream()
+                    .map(Movie::getId)
+                    .filter(id -> !created.contains(id))
+                    .collect(Collectors.toCollection(LinkedHashSet::new)), revision);
+            inTransaction.run();
+            return entities;
+        });
+        if (written.isEmpty()) {
+            return List.of();
+        }
+        Cache cache = movieCache();
+        List<Long> ids = written.stream().map(Movie::getId).toList();
+        ids.forEach(cache::evict);
+        movieCatalog.recordWrite();
+        return ids;
+    }
+
+    /**
+     * Write the movies at the given positions in batches of {@code movieworld.bulk.batch-size}. A batch
+     * that fails is retried one movie at a time, so that only the movies at fault are reported.
+     */
+    private void writeInBatches(List<Integer> valid, List<BulkResultDTO.ItemError> errors,
+                                Consumer<List<Integer>> write) {
+        for (int from = 0; from < valid.size(); from += bulkBatchSize) {
+            List<Integer> batch = valid.subList(from, Math.min(from + bulkBatchSize, valid.size()));
+            try {
+                write.accept(batch);
+            } catch (RuntimeException e) {
+                log.warn("Bulk write of {} movies failed, retrying them one at a time: {}", batch.size(), e.getMessage());
+                for (Integer index : batch) {
+                    try {
+                        write.accept(List.of(index));
+                    } catch (RuntimeException movieError) {
+                        errors.add(new BulkResultDTO.ItemError(index,
+                                NestedExceptionUtils.getMostSpecificCause(movieError).getMessage()));
+                    }
+                }
+            }
+        }
+    }
+
+    private BulkResultDTO bulkResult(List<MovieDTO> movies, Long[] ids, List<BulkResultDTO.ItemError> errors) {
+        if (errors.size() < movies.size()) {
+            movieCatalog.recordWrite();
+        }
+        errors.sort(Comparator.comparingInt(BulkResultDTO.ItemError::getIndex));
+        return new BulkResultDTO(movies.size() - errors.size(), Arrays.asList(ids), errors);
+    }
+
+    /**
+     * @return Constraint violations of a movie to create, joined in one message; null if it is valid
+     */
+    private String violations(MovieDTO movie) {
+        if (movie == null) {
+            return "Movie is required";
+        }
+        Set<ConstraintViolation<MovieDTO>> violations = validator.validate(movie);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Insert the movies at the given positions in one transaction, all stamped with one new revision,
+     * and record their IDs at the same positions.
+     */
+    private void insertBatch(List<Integer> indexes, List<MovieDTO> movies, Long[] ids) {
+        List<Movie> entities = indexes.stream()
+                .map(index -> {
+                    Movie movie = movieMapper.toEntity(movies.get(index));
+                    movie.setId(null);
+                    return movie;
+                })
+                .toList();
+        transactionTemplate.executeWithoutResult(status -> {
+            long revision = movieCatalog.nextRevision();
+            entities.forEach(movie -> movie.setRevision(revision));
+            movieRepository.insertAll(entities, bulkBatchSize);
+            movieChangeLog.record(MovieChange.Type.CREATED, entities.stream().map(Movie::getId).toList(), revision);
+        });
+        Cache cache = movieCache();
+        for (int i = 0; i < entities.size(); i++) {
+            Long id = entities.get(i).getId();
+            ids[indexes.get(i)] = id;
+            // The ID may have been looked up before and cached as a miss
+            cache.evict(id);
+        }
     }
 
     /**
-     * Update an existing movie.
+     * Set the same fields on every selected movie with one UPDATE statement, or one per
+     * {@code movieworld.bulk.batch-size} movies when the selection is a list of IDs.
+     * Every statement stamps the movies with a new catalog revision, which is then used to find exactly
+     * the movies it changed and evict them from the movie cache once committed.
+     * @param ids IDs of the movies to update, null to select by filter only
+     * @param filter Genre, director and release date criteria the movies must meet
+     * @param changes Fields to set; null fields are left unchanged
+     * @return Number of movies updated
+     */
+    @Override
+    public int updateMovies(List<Long> ids, MovieFilter filter, MovieDTO changes) {
+        Map<String, Object> values = changedColumns(changes);
+        checkSelection(ids, filter);
+        log.info("Updating {} in bulk for {} movie IDs and {}", values.keySet(), ids == null ? "no" : ids.size(), filter);
+        List<Long> updated = new ArrayList<>();
+        Integer count = transactionTemplate.execute(status -> {
+            // Before selecting: with the catalog version locked, no other write can change the selection
+            long revision = movieCatalog.nextRevision();
+            Collection<Long> selected = selectIds(ids, filter);
+            MovieFilter columns = columnCriteria(filter);
+            int rows = 0;
+            if (selected == null) {
+                rows = movieRepository.updateAll(null, columns, values, revision);
+            } else {
+                for (List<Long> chunk : chunks(selected)) {
+                    rows += movieRepository.updateAll(chunk, columns, values, revision);
+                }
+            }
+            if (rows == 0) {
+                status.setRollbackOnly();
+                return 0;
+            }
+            updated.addAll(movieRepository.findIdsByRevision(revision));
+            movieChangeLog.record(MovieChange.Type.UPDATED, updated, revision);
+            return rows;
+        });
+        return bulkChanged(count, updated);
+    }
+
+    /**
+     * Delete every selected movie with one DELETE statement per {@code movieworld.bulk.batch-size} movies.
+     * The IDs of the movies are read first in the same transaction, once the catalog version is locked
+     * so that no other write can change the selection, and exactly those movies are deleted: each one
+     * gets a tombstone in the change log and is evicted from the movie cache once the delete is committed.
+     * @param ids IDs of the movies to delete, null to select by filter only
+     * @param filter Genre, director and release date criteria the movies must meet
+     * @return Number of movies deleted
+     */
+    @Override
+    public int deleteMovies(List<Long> ids, MovieFilter filter) {
+        checkSelection(ids, filter);
+        log.info("Deleting in bulk for {} movie IDs and {}", ids == null ? "no" : ids.size(), filter);
+        List<Long> deleted = new ArrayList<>();
+        Integer count = transactionTemplate.execute(status -> {
+            long revision = movieCatalog.nextRevision();
+            Collection<Long> selected = selectIds(ids, filter);
+            MovieFilter columns = columnCriteria(filter);
+            if (selected == null) {
+                deleted.addAll(movieRepository.findIds(null, columns));
+            } else {
+                chunks(selected).forEach(chunk -> deleted.addAll(movieRepository.findIds(chunk, columns)));
+            }
+            if (deleted.isEmpty()) {
+                status.setRollbackOnly();
+                return 0;
+            }
+            int rows = 0;
+            for (List<Long> chunk : chunks(deleted)) {
+                movieChangeLog.record(MovieChange.Type.DELETED, chunk, revision);
+                rows += movieRepository.deleteAll(chunk, MovieFilter.none());
+            }
+            return rows;
+        });
+        return bulkChanged(count, deleted);
+    }
+
+    /**
+     * Split movie IDs into chunks of {@code movieworld.bulk.batch-size}, so that a statement binding
+     * them stays far below the bind parameter limit of the database whatever the size of the selection.
+     */
+    private List<List<Long>> chunks(Collection<Long> ids) {
+        List<Long> all = List.copyOf(ids);
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += bulkBatchSize) {
+            chunks.add(all.subList(from, Math.min(from + bulkBatchSize, all.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * Movie columns to set from the fields of a bulk update, each checked against the constraints of the movie.
+     */
+    private Map<String, Object> changedColumns(MovieDTO changes) {
+        Set<MovieField> fields = changes == null ? Set.of() : MovieField.WRITABLE.stream()
+                .filter(field -> field.get(changes) != null)
+                .collect(Collectors.toSet());
+        return validatedColumns(changes, fields);
+    }
+
+    /**
+     * Movie columns to set from the given fields of a movie, each checked on its own against the
+     * constraints of the movie, in a fixed order so that each set of fields maps to one statement shape.
+     * @throws IllegalArgumentException if no field is given or a value breaks a constraint
+     */
+    private Map<String, Object> validatedColumns(MovieDTO movie, Set<MovieField> fields) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (MovieField field : MovieField.WRITABLE) {
+            if (!fields.contains(field)) {
+                continue;
+            }
+            Object value = field.get(movie);
+            Set<ConstraintViolation<MovieDTO>> violations =
+                    validator.validateValue(MovieDTO.class, field.getParameter(), value);
+            if (!violations.isEmpty()) {
+                throw new IllegalArgumentException(violations.iterator().next().getMessage());
+            }
+            values.put(field.getParameter(), value);
+        }
+        if (values.isEmpty()) {
+            throw new IllegalArgumentException("At least one field to change is required");
+        }
+        return values;
+    }
+
+    private void checkSelection(List<Long> ids, MovieFilter filter) {
+        if (ids == null && filter.isEmpty()) {
+            throw new IllegalArgumentException("Movie IDs or a filter are required");
+        }
+        if (ids != null && ids.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Movie IDs must not be null");
+        }
+        if (ids != null && ids.size() > bulkMaxItems) {
+            throw new IllegalArgumentException("At most " + bulkMaxItems + " movie IDs can be given at once");
+        }
+    }
+
+    /**
+     * IDs a bulk statement is restricted to. The genre column holds a list, which a WHERE clause cannot
+     * match exactly, so genre criteria are resolved here by reading the ID and genre of the movies meeting
+     * the other criteria, page by page.
+     * @return The given IDs narrowed to the movies with matching genres, null when the statement is not
+     * restricted to IDs
+     */
+    private Collection<Long> selectIds(List<Long> ids, MovieFilter filter) {
+        Set<Long> given = ids == null ? null : new LinkedHashSet<>(ids);
+        if (!filter.hasGenres()) {
+            return given;
+        }
+        Predicate<String> genres = genreMatcher(filter);
+        MovieFilter columns = columnCriteria(filter);
+        List<String> attributes = List.of(MovieField.ID.getParameter(), MovieField.GENRE.getParameter());
+        Set<Long> selected = new LinkedHashSet<>();
+        Long afterId = null;
+        List<Tuple> rows;
+        do {
+            rows = movieRepository.findPageColumns(attributes, columns, MovieSort.ID, null, afterId, bulkBatchSize);
+            for (Tuple row : rows) {
+                afterId = row.get(MovieField.ID.getParameter(), Long.class);
+                if ((given == null || given.contains(afterId))
+                        && genres.test(row.get(MovieField.GENRE.getParameter(), String.class))) {
+                    selected.add(afterId);
+                }
+            }
+        } while (rows.size() == bulkBatchSize);
+        return selected;
+    }
+
+    private static MovieFilter columnCriteria(MovieFilter filter) {
+        return filter.toBuilder().genres(Set.of()).build();
+    }
+
+    /**
+     * Evict the movies a committed bulk statement changed and publish the write to the catalog.
+     */
+    private int bulkChanged(Integer count, List<Long> ids) {
+        if (count == null || count == 0) {
+            return 0;
+        }
+        Cache cache = movieCache();
+        ids.forEach(cache::evict);
+        movieCatalog.recordWrite();
+        log.info("Bulk statement changed {} movies", count);
+        return count;
+    }
+
+    /**
+     * Update the movies at the given positions in one transaction, all stamped with one new revision,
+     * and record their IDs at the same positions. Movies that do not exist are reported as errors once
+     * the transaction is committed.
+     */
+    private void replaceBatch(List<Integer> indexes, List<MovieDTO> movies, Long[] ids,
+                              List<BulkResultDTO.ItemError> errors) {
+        List<Integer> missing = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            // Before loading the movies: the version increment clears the persistence context
+            long revision = movieCatalog.nextRevision();
+            Map<Long, Movie> existing = movieRepository
+                    .findAllById(indexes.stream().map(index -> movies.get(index).getId()).toList())
+                    .stream()
+                    .collect(Collectors.toMap(Movie::getId, movie -> movie));
+            for (Integer index : indexes) {
+                Movie movie = existing.get(movies.get(index).getId());
+                if (movie == null) {
+                    missing.add(index);
+                    continue;
+                }
+                movieMapper.updateEntityFromDTO(movie, movies.get(index));
+                movie.setRevision(revision);
+            }
+            movieRepository.flushBatched(bulkBatchSize);
+            movieChangeLog.record(MovieChange.Type.UPDATED, indexes.stream()
+                    .filter(index -> !missing.contains(index))
+                    .map(index -> movies.get(index).getId())
+                    .collect(Collectors.toCollection(LinkedHashSet::new)), revision);
+        });
+        Cache cache = movieCache();
+        for (Integer index : indexes) {
+            if (missing.contains(index)) {
+                errors.add(new BulkResultDTO.ItemError(index, "Movie not found"));
+            } else {
+                ids[index] = movies.get(index).getId();
+                cache.evict(ids[index]);
+            }
+        }
+    }
+
+    /**
+     * Update an existing movie with one conditional UPDATE statement, without reading it first.
+     * The movie's version is only read back when no expected version is given.
      * @param id Movie ID
      * @param movieDTO Updated movie details
+     * @param expectedVersion Version the movie must still be at, null to overwrite whatever its version
      * @return Updated movie if found, null otherwise
+     * @throws OptimisticLockingFailureException if the movie exists at another version
      */
     @Override
-    public MovieDTO updateMovie(Long id, MovieDTO movieDTO) {
-        log.info("Updating movie with id: {}", id);
-        Optional<Movie> movieOpt = movieRepository.findById(id);
-        
-        if (movieOpt.isPresent()) {
-            Movie movie = movieOpt.get();
-            movieMapper.updateEntityFromDTO(movie, movieDTO);
-            Movie updatedMovie = movieRepository.save(movie);
-            return movieMapper.toDTO(updatedMovie);
+    public MovieDTO updateMovie(Long id, MovieDTO movieDTO, Long expectedVersion) {
+        log.info("Updating movie with id: {} at version: {}", id, expectedVersion);
+        Map<String, Object> values = new LinkedHashMap<>();
+        MovieField.WRITABLE.forEach(field -> values.put(field.getParameter(), field.get(movieDTO)));
+        MovieDTO updatedMovieDTO = transactionTemplate.execute(status -> {
+            long revision = movieCatalog.nextRevision();
+            if (movieRepository.updateOne(id, expectedVersion, values, revision) == 0) {
+                // Nothing was written, so the revision taken above must not be published
+                status.setRollbackOnly();
+                checkNoConflict(id, expectedVersion);
+                return null;
+            }
+            movieChangeLog.record(MovieChange.Type.UPDATED, List.of(id), revision);
+            long version = expectedVersion != null
+                    ? expectedVersion + 1
+                    : movieRepository.findVersionById(id).orElseThrow();
+            return movieDTO.toBuilder().id(id).reviews(null).revision(revision).version(version).build();
+        });
+        return written(id, updatedMovieDTO);
+    }
+
+    /**
+     * Apply a JSON merge patch to a movie with one conditional UPDATE statement that sets only the
+     * patched columns. Only the patched fields are validated; a null value clears the field.
+     * The patched movie is read back in the same transaction.
+     * @param id Movie ID
+     * @param patch Values of the patched fields
+     * @param fields Fields present in the patch
+     * @param expectedVersion Version the movie must still be at, null to patch whatever its version
+     * @return Patched movie if found, null otherwise
+     * @throws OptimisticLockingFailureException if the movie exists at another version
+     */
+    @Override
+    public MovieDTO patchMovie(Long id, MovieDTO patch, Set<MovieField> fields, Long expectedVersion) {
+        Map<String, Object> values = validatedColumns(patch, fields);
+        log.info("Patching {} of movie with id: {} at version: {}", values.keySet(), id, expectedVersion);
+        MovieDTO patchedMovieDTO = transactionTemplate.execute(status -> {
+            long revision = movieCatalog.nextRevision();
+            if (movieRepository.updateOne(id, expectedVersion, values, revision) == 0) {
+                // Nothing was written, so the revision taken above must not be published
+                status.setRollbackOnly();
+                checkNoConflict(id, expectedVersion);
+                return null;
+            }
+            movieChangeLog.record(MovieChange.Type.UPDATED, List.of(id), revision);
+            return movieRepository.findById(id).map(movieMapper::toDTO).orElseThrow();
+        });
+        return written(id, patchedMovieDTO);
+    }
+
+    /**
+     * Evict a movie once its write is committed and publish the write to the catalog.
+     * The written movie is not cached here: publishing the write evicts it again through
+     * {@link #onCatalogChanged}, so the next read loads it from the primary.
+     * @param movie Movie as written, null if it was not found
+     */
+    private MovieDTO written(Long id, MovieDTO movie) {
+        movieCache().evict(id);
+        if (movie != null) {
+            movieCatalog.recordWrite();
         }
-        
-        return null;
+        return movie;
     }
 
     /**
-     * Delete a movie.
+     * Delete a movie with one conditional DELETE statement, without reading it first.
      * @param id Movie ID
+     * @param expectedVersion Version the movie must still be at, null to delete whatever its version
      * @return true if deleted, false if not found
+     * @throws OptimisticLockingFailureException if the movie exists at another version
      */
     @Override
-    public boolean deleteMovie(Long id) {
-        log.info("Deleting movie with id: {}", id);
-        if (movieRepository.existsById(id)) {
-            movieRepository.deleteById(id);
+    public boolean deleteMovie(Long id, Long expectedVersion) {
+        log.info("Deleting movie with id: {} at version: {}", id, expectedVersion);
+        Boolean deleted = transactionTemplate.execute(status -> {
+            // The catalog version row is locked before the movie row, in the same order as every other write
+            long revision = movieCatalog.nextRevision();
+            if (movieRepository.deleteOne(id, expectedVersion) == 0) {
+                status.setRollbackOnly();
+                checkNoConflict(id, expectedVersion);
+                return false;
+            }
+            movieChangeLog.record(MovieChange.Type.DELETED, List.of(id), revision);
+            return true;
+        });
+        movieCache().evict(id);
+        if (Boolean.TRUE.equals(deleted)) {
+            movieCatalog.recordWrite();
             return true;
         }
         return false;
     }
+
+    /**
+     * Tell a missing movie from a version conflict once a conditional write matched no row.
+     */
+    private void checkNoConflict(Long id, Long expectedVersion) {
+        if (expectedVersion != null && movieRepository.existsById(id)) {
+            throw new OptimisticLockingFailureException(
+                    "Movie " + id + " is no longer at version " + expectedVersion);
+        }
+    }
+
+    /**
+     * Read a page of the change feed, joined with the current state of the changed movies in the same
+     * read-only transaction. A movie changed several times is returned as it is now in each of its
+     * changes, so a consumer applying the changes in order ends up with the current catalog.
+     * @param since Sequence number of the last change already read, 0 to read from the start
+     * @param limit Most changes to return, null for {@code movieworld.changes.default-limit}
+     * @return Changes in sequence order, with the cursor to continue from
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ChangeFeedDTO getChanges(long since, Integer limit) {
+        if (since < 0) {
+            throw new IllegalArgumentException("since must not be negative");
+        }
+        int count = limit == null ? defaultChangeLimit : Math.max(1, Math.min(limit, maxChangeLimit));
+        // One extra change tells whether more are waiting
+        List<MovieChange> changes = movieChangeLog.read(since, count + 1);
+        boolean more = changes.size() > count;
+        if (more) {
+            changes = changes.subList(0, count);
+        }
+        Map<Long, MovieDTO> movies = movieRepository
+                .findAllById(changes.stream()
+                        .filter(change -> change.getType() != MovieChange.Type.DELETED)
+                        .map(MovieChange::getMovieId)
+                        .distinct()
+                        .toList())
+                .stream()
+                .map(movieMapper::toDTO)
+                .collect(Collectors.toMap(MovieDTO::getId, movie -> movie));
+        List<ChangeEventDTO> events = changes.stream()
+                .map(change -> new ChangeEventDTO(change.getSequence(),
+                        ChangeEventDTO.Type.valueOf(change.getType().name()), change.getMovieId(),
+                        change.getRevision(), change.getChangedAt(),
+                        change.getType() == MovieChange.Type.DELETED ? null : movies.get(change.getMovieId())))
+                .toList();
+        long next = changes.isEmpty() ? since : changes.get(changes.size() - 1).getSequence();
+        return new ChangeFeedDTO(events, next, more);
+    }
+
+    /**
+     * Keep the movie cache exact when the catalog changes, including writes made on other replicas.
+     * @param event Catalog change
+     */
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        Cache cache = movieCache();
+        if (event.reset()) {
+            cache.clear();
+            return;
+        }
+        event.upserted().forEach(movie -> cache.evict(movie.getId()));
+        event.removedIds().forEach(cache::evict);
+    }
+
+    /**
+     * Read-through lookup of a movie in the movie cache.
+     * Misses are cached too, so repeated lookups of unknown IDs do not reach the database;
+     * writes replace or evict the entry. Cached instances are shared and must not be mutated.
+     * Misses are loaded from the primary rather than the read replica, since a lagging replica would
+     * leave a stale movie in the cache for every client.
+     * @param id Movie ID
+     * @return Cached or freshly loaded movie, null if it does not exist
+     */
+    private MovieDTO loadMovie(Long id) {
+        return movieCache().get(id, () -> {
+            // findById runs in a read-only transaction, which is routed to the replica unless pinned
+            try (DataSourceRouting.Pin pin = DataSourceRouting.pinToPrimary()) {
+                return movieRepository.findById(id).map(movieMapper::toDTO).orElse(null);
+            }
+        });
+    }
+
+    /**
+     * Run an action once the current transaction commits, or right away outside a transaction.
+     */
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private Cache movieCache() {
+        return cacheManager.getCache(CacheConfig.MOVIES_CACHE);
+    }
 }
@@ -101,4 +101,19 @@ WHERE NOT EXISTS (SELECT 1 FROM movie WHERE title = 'The Matrix');
 INSERT INTO movie (title, director, release_date, duration_minutes, genre, description, image_path)
 SELECT 'Interstellar', 'Christopher Nolan', '2014-11-07', 169, 'Adventure, Drama, Sci-Fi', 'A team of explorers travel through a wormhole in space in an attempt to ensure humanity''s survival.', 'https://image.tmdb.org/t/p/w500/gEU2QniE6E77NI6lCU6MxlNBvIx.jpg'
 FROM DUAL
-WHERE NOT EXISTS (SELECT 1 FROM movie WHERE title = 'Interstellar');
\ No newline at end of file
+WHERE NOT EXISTS (SELECT 1 FROM movie WHERE title = 'Interstellar');
+
+-- Catalog version counter used by replicas to sync their in-memory snapshot
+INSERT INTO catalog_version (id, version)
+SELECT 1, 0
+FROM DUAL
+WHERE NOT EXISTS (SELECT 1 FROM catalog_version WHERE id = 1);
+
+-- Movie IDs are reserved from this sequence in blocks of 100; keep it past the rows inserted above,
+-- which take their IDs from AUTO_INCREMENT
+INSERT INTO movie_seq (next_val)
+SELECT 1
+FROM DUAL
+WHERE NOT EXISTS (SELECT 1 FROM movie_seq);
+
+UPDATE movie_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 101 FROM movie));
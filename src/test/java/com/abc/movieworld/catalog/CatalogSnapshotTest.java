@@ -0,0 +1,102 @@
+package com.abc.movieworld.catalog;
+
+import com.abc.movieworld.dto.MovieDTO;
+import com.abc.movieworld.dto.MovieSort;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CatalogSnapshotTest {
+
+    private MovieDTO movie(long id, String title, LocalDate releaseDate) {
+        return new MovieDTO(id, title, "Director", releaseDate, 120, "Drama", null, null, null);
+    }
+
+    @Test
+    void of_ShouldOrderMoviesForEverySort() {
+        CatalogSnapshot snapshot = CatalogSnapshot.of(5L, List.of(
+                new CatalogSnapshot.Entry(movie(1L, "Zodiac", LocalDate.of(2007, 1, 1)), 1L),
+                new CatalogSnapshot.Entry(movie(2L, "alien", LocalDate.of(1979, 1, 1)), 2L),
+                new CatalogSnapshot.Entry(movie(3L, "Brazil", LocalDate.of(1985, 1, 1)), 3L)));
+
+        assertEquals(5L, snapshot.getVersion());
+        assertEquals(List.of(1L, 2L, 3L), ids(snapshot.movies(MovieSort.ID)));
+        assertEquals(List.of(2L, 3L, 1L), ids(snapshot.movies(MovieSort.RELEASE_DATE)));
+        assertEquals(List.of(2L, 3L, 1L), ids(snapshot.movies(MovieSort.TITLE)));
+    }
+
+    @Test
+    void page_ShouldResumeStrictlyAfterProbe() {
+        CatalogSnapshot snapshot = CatalogSnapshot.of(1L, List.of(
+                new CatalogSnapshot.Entry(movie(1L, "A", LocalDate.of(2000, 1, 1)), 1L),
+                new CatalogSnapshot.Entry(movie(2L, "B", LocalDate.of(2000, 1, 1)), 1L),
+                new CatalogSnapshot.Entry(movie(3L, "C", LocalDate.of(2001, 1, 1)), 1L)));
+        MovieDTO probe = MovieDTO.builder().id(1L).releaseDate(LocalDate.of(2000, 1, 1)).build();
+
+        assertEquals(List.of(2L, 3L), ids(snapshot.page(MovieSort.RELEASE_DATE, probe, 10)));
+        assertEquals(List.of(1L), ids(snapshot.page(MovieSort.RELEASE_DATE, null, 1)));
+    }
+
+    @Test
+    void with_ShouldReplaceAndRemoveWithoutChangingOriginal() {
+        CatalogSnapshot original = CatalogSnapshot.of(1L, List.of(
+                new CatalogSnapshot.Entry(movie(1L, "A", LocalDate.of(2000, 1, 1)), 1L),
+                new CatalogSnapshot.Entry(movie(2L, "B", LocalDate.of(2001, 1, 1)), 1L)));
+
+        CatalogSnapshot updated = original.with(3L,
+                List.of(new CatalogSnapshot.Entry(movie(1L, "C", LocalDate.of(2002, 1, 1)), 3L),
+                        new CatalogSnapshot.Entry(movie(4L, "D", LocalDate.of(1990, 1, 1)), 2L)),
+                Set.of(2L));
+
+        assertEquals(List.of(1L, 4L), ids(updated.movies(MovieSort.TITLE)));
+        assertEquals(List.of(4L, 1L), ids(updated.movies(MovieSort.RELEASE_DATE)));
+        assertEquals(3L, updated.get(1L).revision());
+        assertNull(updated.get(2L));
+        assertEquals(3L, updated.getVersion());
+        assertEquals(List.of(1L, 2L), ids(original.movies(MovieSort.ID)));
+        assertEquals("A", original.get(1L).movie().getTitle());
+    }
+
+    @Test
+    void with_LargeDelta_ShouldMatchSnapshotBuiltFromScratch() {
+        List<CatalogSnapshot.Entry> entries = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            entries.add(new CatalogSnapshot.Entry(movie(id, "Title " + (id * 7919 % 1000),
+                    LocalDate.of(2000, 1, 1).plusDays(id * 31 % 500)), 1L));
+        }
+        CatalogSnapshot original = CatalogSnapshot.of(1L, entries);
+        List<CatalogSnapshot.Entry> upserts = new ArrayList<>();
+        for (long id = 500; id <= 1500; id += 2) {
+            upserts.add(new CatalogSnapshot.Entry(movie(id, "New " + (id * 13 % 997),
+                    LocalDate.of(1990, 1, 1).plusDays(id % 300)), 2L));
+        }
+        // A later upsert of the same movie wins, and upserting a removed movie keeps it
+        upserts.add(new CatalogSnapshot.Entry(movie(500L, "Last", LocalDate.of(1980, 1, 1)), 2L));
+        Set<Long> removedIds = Set.of(3L, 4L, 500L, 999L, 2000L);
+
+        CatalogSnapshot updated = original.with(2L, upserts, removedIds);
+
+        Map<Long, CatalogSnapshot.Entry> expected = new HashMap<>();
+        entries.forEach(entry -> expected.put(entry.movie().getId(), entry));
+        removedIds.forEach(expected::remove);
+        upserts.forEach(entry -> expected.put(entry.movie().getId(), entry));
+        CatalogSnapshot rebuilt = CatalogSnapshot.of(2L, expected.values());
+        for (MovieSort sort : MovieSort.values()) {
+            assertEquals(ids(rebuilt.movies(sort)), ids(updated.movies(sort)), sort.name());
+        }
+        assertEquals(rebuilt.size(), updated.size());
+        assertEquals("Last", updated.get(500L).movie().getTitle());
+        assertEquals(1000, original.size());
+    }
+
+    private List<Long> ids(List<MovieDTO> movies) {
+        return movies.stream().map(MovieDTO::getId).toList();
+    }
+}
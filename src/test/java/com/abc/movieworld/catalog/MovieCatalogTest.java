@@ -0,0 +1,159 @@
+package com.abc.movieworld.catalog;
+
+import com.abc.movieworld.dto.MovieDTO;
+import com.abc.movieworld.dto.MovieSort;
+import com.abc.movieworld.mapper.MovieMapper;
+import com.abc.movieworld.model.CatalogVersion;
+import com.abc.movieworld.model.Movie;
+import com.abc.movieworld.repository.CatalogVersionRepository;
+import com.abc.movieworld.repository.MovieRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class MovieCatalogTest {
+
+    @Mock
+    private MovieRepository movieRepository;
+
+    @Mock
+    private CatalogVersionRepository catalogVersionRepository;
+
+    @Mock
+    private MovieChangeLog movieChangeLog;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MovieCatalog movieCatalog;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        movieCatalog = new MovieCatalog(movieRepository, catalogVersionRepository, movieChangeLog, new MovieMapper(), eventPublisher,
+                meterRegistry, transactionManager);
+    }
+
+    private Movie movie(long id, String title, long revision) {
+        return new Movie(id, title, "Director", LocalDate.of(2000, 1, 1), 120, "Drama", null, null, null, revision, 0L);
+    }
+
+    @Test
+    void refresh_FirstTime_ShouldLoadWholeCatalog() {
+        when(catalogVersionRepository.findVersion(CatalogVersion.CATALOG_ID)).thenReturn(Optional.of(2L));
+        when(movieRepository.findAll()).thenReturn(List.of(movie(1L, "A", 1L), movie(2L, "B", 2L)));
+
+        movieCatalog.refresh();
+
+        CatalogSnapshot snapshot = movieCatalog.current().orElseThrow();
+        assertEquals(2L, snapshot.getVersion());
+        assertEquals(2, snapshot.size());
+        assertEquals(2.0, meterRegistry.get("movieworld.catalog.version").gauge().value());
+        ArgumentCaptor<CatalogChangedEvent> event = ArgumentCaptor.forClass(CatalogChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertTrue(event.getValue().reset());
+    }
+
+    @Test
+    void refresh_WhenVersionUnchanged_ShouldNotReadMovies() {
+        when(catalogVersionRepository.findVersion(CatalogVersion.CATALOG_ID)).thenReturn(Optional.of(2L));
+        when(movieRepository.findAll()).thenReturn(List.of(movie(1L, "A", 1L)));
+        movieCatalog.refresh();
+
+        movieCatalog.refresh();
+
+        verify(movieRepository, times(1)).findAll();
+        verify(movieRepository, never()).findByRevisionGreaterThan(any());
+    }
+
+    @Test
+    void refresh_WhenVersionAdvanced_ShouldApplyChangedRowsAndTombstones() {
+        when(catalogVersionRepository.findVersion(CatalogVersion.CATALOG_ID)).thenReturn(Optional.of(2L), Optional.of(4L));
+        when(catalogVersionRepository.findChangeSequence(CatalogVersion.CATALOG_ID)).thenReturn(Optional.of(7L), Optional.of(9L));
+        when(movieRepository.findAll()).thenReturn(List.of(movie(1L, "A", 1L), movie(2L, "B", 2L)));
+        movieCatalog.refresh();
+        when(movieRepository.findByRevisionGreaterThan(2L)).thenReturn(List.of(movie(1L, "A2", 3L)));
+        when(movieChangeLog.deletedIds(7L, 9L)).thenReturn(List.of(2L));
+        when(movieRepository.count()).thenReturn(1L);
+
+        movieCatalog.refresh();
+
+        CatalogSnapshot snapshot = movieCatalog.current().orElseThrow();
+        assertEquals(4L, snapshot.getVersion());
+        assertEquals(List.of("A2"), snapshot.movies(MovieSort.ID).stream().map(MovieDTO::getTitle).toList());
+        ArgumentCaptor<CatalogChangedEvent> event = ArgumentCaptor.forClass(CatalogChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(event.capture());
+        assertEquals(Set.of(2L), event.getValue().removedIds());
+        assertEquals(1, event.getValue().upserted().size());
+        verify(movieRepository, never()).findAllIds();
+    }
+
+    @Test
+    void refresh_WhenRowCountStillDiffers_ShouldReconcileIds() {
+        when(catalogVersionRepository.findVersion(CatalogVersion.CATALOG_ID)).thenReturn(Optional.of(2L), Optional.of(4L));
+        when(catalogVersionRepository.findChangeSequence(CatalogVersion.CATALOG_ID)).thenReturn(Optional.of(7L), Optional.of(9L));
+        when(movieRepository.findAll()).thenReturn(List.of(movie(1L, "A", 1L), movie(2L, "B", 2L), movie(3L, "C", 2L)));
+        movieCatalog.refresh();
+        when(movieChangeLog.deletedIds(7L, 9L)).thenReturn(List.of(2L));
+        when(movieRepository.count()).thenReturn(1L);
+        when(movieRepository.findAllIds()).thenReturn(List.of(1L));
+
+        movieCatalog.refresh();
+
+        assertEquals(Set.of(1L), movieCatalog.current().orElseThrow().ids());
+        ArgumentCaptor<CatalogChangedEvent> event = ArgumentCaptor.forClass(CatalogChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(event.capture());
+        assertEquals(Set.of(2L, 3L), event.getValue().removedIds());
+    }
+
+    @Test
+    void recordWrite_OutsideTransaction_ShouldCatchUpImmediately() {
+        when(catalogVersionRepository.findVersion(CatalogVersion.CATALOG_ID)).thenReturn(Optional.of(2L), Optional.of(3L));
+        when(movieRepository.findAll()).thenReturn(List.of(movie(1L, "A", 1L)));
+        movieCatalog.refresh();
+        when(movieRepository.findByRevisionGreaterThan(2L)).thenReturn(List.of(movie(5L, "E", 3L)));
+        when(movieRepository.count()).thenReturn(2L);
+
+        movieCatalog.recordWrite();
+
+        CatalogSnapshot snapshot = movieCatalog.current().orElseThrow();
+        assertEquals(3L, snapshot.getVersion());
+        assertNotNull(snapshot.get(5L));
+    }
+
+    @Test
+    void refresh_WithOlderRevision_ShouldKeepNewerEntry() {
+        when(catalogVersionRepository.findVersion(CatalogVersion.CATALOG_ID)).thenReturn(Optional.of(3L), Optional.of(4L));
+        when(movieRepository.findAll()).thenReturn(List.of(movie(1L, "New", 3L)));
+        movieCatalog.refresh();
+        when(movieRepository.findByRevisionGreaterThan(3L)).thenReturn(List.of(movie(1L, "Old", 2L)));
+        when(movieRepository.count()).thenReturn(1L);
+
+        movieCatalog.refresh();
+
+        assertEquals("New", movieCatalog.current().orElseThrow().get(1L).movie().getTitle());
+    }
+}
@@ -0,0 +1,86 @@
+package com.abc.movieworld.catalog;
+
+import com.abc.movieworld.model.CatalogVersion;
+import com.abc.movieworld.model.MovieChange;
+import com.abc.movieworld.repository.CatalogVersionRepository;
+import com.abc.movieworld.repository.MovieChangeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class MovieChangeLogTest {
+
+    @Mock
+    private MovieChangeRepository movieChangeRepository;
+
+    @Mock
+    private CatalogVersionRepository catalogVersionRepository;
+
+    private MovieChangeLog movieChangeLog;
+
+    @BeforeEach
+    void setUp() {
+        movieChangeLog = new MovieChangeLog(movieChangeRepository, catalogVersionRepository, 50);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void record_ShouldNumberChangesFromTheReservedSequenceRange() {
+        when(catalogVersionRepository.findChangeSequence(CatalogVersion.CATALOG_ID)).thenReturn(Optional.of(13L));
+
+        movieChangeLog.record(MovieChange.Type.UPDATED, List.of(4L, 2L, 9L), 6L);
+
+        InOrder inOrder = inOrder(catalogVersionRepository, movieChangeRepository);
+        inOrder.verify(catalogVersionRepository).advanceChangeSequence(CatalogVersion.CATALOG_ID, 3);
+        inOrder.verify(catalogVersionRepository).findChangeSequence(CatalogVersion.CATALOG_ID);
+        ArgumentCaptor<List<MovieChange>> changes = ArgumentCaptor.forClass(List.class);
+        inOrder.verify(movieChangeRepository).insertAll(changes.capture(), eq(50));
+        assertEquals(List.of(11L, 12L, 13L), changes.getValue().stream().map(MovieChange::getSequence).toList());
+        assertEquals(List.of(4L, 2L, 9L), changes.getValue().stream().map(MovieChange::getMovieId).toList());
+        assertTrue(changes.getValue().stream().allMatch(change -> change.getType() == MovieChange.Type.UPDATED
+                && change.getRevision() == 6L && change.getChangedAt() != null));
+    }
+
+    @Test
+    void record_WithoutMovies_ShouldNotReserveSequenceNumbers() {
+        movieChangeLog.record(MovieChange.Type.DELETED, List.of(), 6L);
+
+        verifyNoInteractions(catalogVersionRepository, movieChangeRepository);
+    }
+
+    @Test
+    void read_ShouldReadOnePageAfterTheSequence() {
+        List<MovieChange> changes = List.of(new MovieChange(8L, 1L, MovieChange.Type.CREATED, 3L, null));
+        when(movieChangeRepository.findBySequenceGreaterThanOrderBySequence(7L, PageRequest.of(0, 20)))
+                .thenReturn(changes);
+
+        assertEquals(changes, movieChangeLog.read(7L, 20));
+    }
+
+    @Test
+    void deletedIds_ShouldReadTombstonesWithinTheRangeOnly() {
+        when(movieChangeRepository.findMovieIds(MovieChange.Type.DELETED, 7L, 9L)).thenReturn(List.of(4L));
+
+        assertEquals(List.of(4L), movieChangeLog.deletedIds(7L, 9L));
+        assertEquals(List.of(), movieChangeLog.deletedIds(9L, 9L));
+        verify(movieChangeRepository, times(1)).findMovieIds(any(), anyLong(), anyLong());
+    }
+}
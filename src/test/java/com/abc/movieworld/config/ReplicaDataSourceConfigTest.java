@@ -0,0 +1,109 @@
+package com.abc.movieworld.config;
+
+import com.abc.movieworld.datasource.DataSourceRouting;
+import com.abc.movieworld.datasource.ReadYourWritesFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.jdbc.DataSourcePoolMetricsAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReplicaDataSourceConfigTest {
+
+    private final String databases = UUID.randomUUID().toString();
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class,
+                    DataSourceTransactionManagerAutoConfiguration.class, TransactionAutoConfiguration.class,
+                    MetricsAutoConfiguration.class, SimpleMetricsExportAutoConfiguration.class,
+                    DataSourcePoolMetricsAutoConfiguration.class))
+            .withUserConfiguration(ReplicaDataSourceConfig.class)
+            // Converts durations in @Value, as SpringApplication does
+            .withInitializer(context -> context.getBeanFactory().setConversionService(new ApplicationConversionService()))
+            .withPropertyValues(
+                    "spring.datasource.url=jdbc:h2:mem:primary-" + databases + ";DB_CLOSE_DELAY=-1",
+                    "spring.datasource.username=sa",
+                    "spring.datasource.hikari.maximum-pool-size=3",
+                    "movieworld.datasource.replica.url=jdbc:h2:mem:replica-" + databases + ";DB_CLOSE_DELAY=-1");
+
+    /** Each database holds one row naming it, so a query tells which pool served it. */
+    private void nameDatabase(String pool) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:" + pool + "-" + databases + ";DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE server (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO server VALUES (?)", pool);
+    }
+
+    private static String server(ApplicationContext context, boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transaction.setReadOnly(readOnly);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(context.getBean(DataSource.class));
+        return transaction.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM server", String.class));
+    }
+
+    @Test
+    void dataSource_ShouldSendReadOnlyTransactionsToReplicaUnlessPinned() {
+        contextRunner.withPropertyValues("movieworld.datasource.replica.enabled=true").run(context -> {
+            nameDatabase("primary");
+            nameDatabase("replica");
+
+            assertEquals("replica", server(context, true));
+            assertEquals("primary", server(context, false));
+            assertEquals("primary", new JdbcTemplate(context.getBean(DataSource.class))
+                    .queryForObject("SELECT name FROM server", String.class));
+            try (DataSourceRouting.Pin pin = DataSourceRouting.pinToPrimary()) {
+                assertEquals("primary", server(context, true));
+            }
+            assertEquals("replica", server(context, true));
+
+            MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+            assertEquals(2.0, meterRegistry.get("movieworld.datasource.reads").tag("pool", "replica").counter().count());
+            assertEquals(1.0, meterRegistry.get("movieworld.datasource.reads").tag("pool", "primary").counter().count());
+            assertEquals(3.0, meterRegistry.get("hikaricp.connections.max").tag("pool", "primary").gauge().value());
+            assertEquals(10.0, meterRegistry.get("hikaricp.connections.max").tag("pool", "replica").gauge().value());
+            assertTrue(context.getBean("replicaDataSource", HikariDataSource.class).isReadOnly());
+            assertNotNull(context.getBean(ReadYourWritesFilter.class));
+        });
+    }
+
+    @Test
+    void dataSource_WithoutReplica_ShouldKeepSinglePool() {
+        contextRunner.run(context -> {
+            assertFalse(context.containsBean("replicaDataSource"));
+            assertInstanceOf(HikariDataSource.class, context.getBean(DataSource.class));
+            assertTrue(context.getBeansOfType(ReadYourWritesFilter.class).isEmpty());
+        });
+    }
+
+    @Test
+    void dataSource_WithReplicaEnabledButNoUrl_ShouldFailToStart() {
+        contextRunner.withPropertyValues("movieworld.datasource.replica.enabled=true",
+                "movieworld.datasource.replica.url=").run(context -> assertNotNull(context.getStartupFailure()));
+    }
+
+    @Test
+    void replicaDataSource_ShouldCopyDriverPropertiesOfPrimary() {
+        contextRunner.withPropertyValues("movieworld.datasource.replica.enabled=true",
+                "spring.datasource.hikari.data-source-properties.useCursorFetch=true").run(context -> {
+            HikariDataSource replica = context.getBean("replicaDataSource", HikariDataSource.class);
+            assertEquals("true", replica.getDataSourceProperties().getProperty("useCursorFetch"));
+        });
+    }
+}
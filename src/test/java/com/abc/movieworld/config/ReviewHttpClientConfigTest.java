@@ -0,0 +1,73 @@
+package com.abc.movieworld.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReviewHttpClientConfigTest {
+
+    private final ReviewHttpClientConfig config = new ReviewHttpClientConfig();
+    private SimpleMeterRegistry meterRegistry;
+    private DisposableServer server;
+    private ConnectionProvider connectionProvider;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes.get("/reviews", (request, response) -> response.sendString(Mono.just("[]"))))
+                .bindNow();
+        connectionProvider = config.reviewConnectionProvider(meterRegistry, 5, 10, Duration.ofSeconds(1),
+                Duration.ofSeconds(20), Duration.ofMinutes(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionProvider.dispose();
+        server.disposeNow();
+    }
+
+    private double pool(String name) {
+        return meterRegistry.get("movieworld.reviews.pool." + name).tag("name", "reviews").gauge().value();
+    }
+
+    /** The connection goes back to the pool on the event loop, possibly after the response is read. */
+    private void awaitReleased() {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (pool("active") > 0 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+
+    @Test
+    void reviewHttpClient_ShouldReusePooledConnectionsAndPublishPoolMetrics() {
+        HttpClient client = config.reviewHttpClient(connectionProvider, meterRegistry, Duration.ofSeconds(1))
+                .baseUrl("http://localhost:" + server.port());
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("[]", client.get().uri("/reviews").responseContent().aggregate().asString()
+                    .block(Duration.ofSeconds(5)));
+            awaitReleased();
+        }
+
+        assertEquals(1.0, pool("total"));
+        assertEquals(1.0, pool("idle"));
+        assertEquals(0.0, pool("active"));
+        assertEquals(0.0, pool("pending"));
+        assertEquals(5.0, pool("max"));
+        assertEquals(10.0, pool("max.pending"));
+        assertEquals(3, meterRegistry.get("movieworld.reviews.pool.acquire").timer().count());
+    }
+}
@@ -0,0 +1,72 @@
+package com.abc.movieworld.controller;
+
+import com.abc.movieworld.dto.ImportStatusDTO;
+import com.abc.movieworld.ingest.MovieImporter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(SpringExtension.class)
+@WebMvcTest(controllers = ImportController.class, properties = "movieworld.import.enabled=true")
+public class ImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private MovieImporter movieImporter;
+
+    private final ImportStatusDTO running = new ImportStatusDTO("movies.csv", "CSV", ImportStatusDTO.State.RUNNING,
+            0, 2000, 1990, 10, 5000.0, Instant.now(), null, null, List.of());
+
+    @Test
+    void startImport_ShouldReturnAcceptedWithStatus() throws Exception {
+        when(movieImporter.start("movies.csv", null)).thenReturn(true);
+        when(movieImporter.status()).thenReturn(Optional.of(running));
+
+        mockMvc.perform(post("/api/movieworld/admin/import").param("file", "movies.csv"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/movieworld/admin/import"))
+                .andExpect(jsonPath("$.state", is("RUNNING")))
+                .andExpect(jsonPath("$.rowsPerSecond", is(5000.0)));
+    }
+
+    @Test
+    void startImport_WhileAnotherRuns_ShouldReturnConflict() throws Exception {
+        when(movieImporter.start("other.csv", "csv")).thenReturn(false);
+        when(movieImporter.status()).thenReturn(Optional.of(running));
+
+        mockMvc.perform(post("/api/movieworld/admin/import").param("file", "other.csv").param("format", "csv"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.file", is("movies.csv")));
+    }
+
+    @Test
+    void startImport_WithUnknownFile_ShouldReturnBadRequest() throws Exception {
+        when(movieImporter.start("missing.csv", null)).thenThrow(new IllegalArgumentException("File not found: missing.csv"));
+
+        mockMvc.perform(post("/api/movieworld/admin/import").param("file", "missing.csv"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getStatus_BeforeAnyImport_ShouldReturnNotFound() throws Exception {
+        when(movieImporter.status()).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/movieworld/admin/import"))
+                .andExpect(status().isNotFound());
+    }
+}
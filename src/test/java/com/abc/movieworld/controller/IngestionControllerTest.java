@@ -0,0 +1,90 @@
+package com.abc.movieworld.controller;
+
+import com.abc.movieworld.dto.IngestionStatusDTO;
+import com.abc.movieworld.dto.MovieDTO;
+import com.abc.movieworld.ingest.IngestionQueue;
+import com.abc.movieworld.ingest.IngestionRejectedException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(SpringExtension.class)
+@WebMvcTest(controllers = IngestionController.class, properties = "movieworld.ingest.enabled=true")
+public class IngestionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private IngestionQueue ingestionQueue;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final MovieDTO movie = new MovieDTO(null, "Queued", "Director", LocalDate.of(2020, 1, 1), 100, "Drama", null, null, null);
+
+    @Test
+    void createMovie_ShouldReturnAcceptedWithTrackingLocation() throws Exception {
+        when(ingestionQueue.create(any(MovieDTO.class)))
+                .thenReturn(new IngestionStatusDTO("abc", IngestionStatusDTO.State.PENDING, null, null));
+
+        mockMvc.perform(post("/api/movieworld/ingest")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(movie)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/movieworld/ingest/abc"))
+                .andExpect(jsonPath("$.state", is("PENDING")));
+    }
+
+    @Test
+    void updateMovie_WhenQueueIsFull_ShouldReturnTooManyRequests() throws Exception {
+        when(ingestionQueue.update(eq(5L), any(MovieDTO.class)))
+                .thenThrow(new IngestionRejectedException("Ingestion queue is full", Duration.ofMillis(1500)));
+
+        mockMvc.perform(put("/api/movieworld/ingest/5")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(movie)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "2"));
+    }
+
+    @Test
+    void createMovie_WithInvalidMovie_ShouldNotQueueIt() throws Exception {
+        mockMvc.perform(post("/api/movieworld/ingest")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(movie.toBuilder().title(" ").build())))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(ingestionQueue);
+    }
+
+    @Test
+    void getStatus_ShouldReturnWrittenMovie() throws Exception {
+        when(ingestionQueue.status("abc"))
+                .thenReturn(Optional.of(new IngestionStatusDTO("abc", IngestionStatusDTO.State.WRITTEN, 11L, null)));
+        when(ingestionQueue.status("gone")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/movieworld/ingest/abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.movieId", is(11)));
+        mockMvc.perform(get("/api/movieworld/ingest/gone"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -1,6 +1,16 @@
 package com.abc.movieworld.controller;
 
+import com.abc.movieworld.catalog.CatalogNotLoadedException;
+import com.abc.movieworld.dto.BulkResultDTO;
+import com.abc.movieworld.dto.ChangeEventDTO;
+import com.abc.movieworld.dto.ChangeFeedDTO;
 import com.abc.movieworld.dto.MovieDTO;
+import com.abc.movieworld.dto.MovieField;
+import com.abc.movieworld.dto.MovieFilter;
+import com.abc.movieworld.dto.MoviePageDTO;
+import com.abc.movieworld.dto.MovieSort;
+import com.abc.movieworld.dto.SuggestionDTO;
+import com.abc.movieworld.review.RawJson;
 import com.abc.movieworld.service.MovieService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,17 +21,28 @@ import org.mockito.quality.Strictness;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Mono;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -52,16 +73,259 @@ public class MovieControllerTest {
     }
 
     @Test
-    void getAllMovies_ShouldReturnAllMovies() throws Exception {
-        when(movieService.getAllMovies()).thenReturn(testMovieDTOs);
+    void getAllMovies_ShouldReturnFirstPage() throws Exception {
+        when(movieService.getMoviesPage(null, null, MovieSort.ID)).thenReturn(new MoviePageDTO(testMovieDTOs, "next"));
 
         mockMvc.perform(get("/api/movieworld"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$", hasSize(2)))
-                .andExpect(jsonPath("$[0].title", is("Test Movie")));
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].title", is("Test Movie")))
+                .andExpect(jsonPath("$.nextCursor", is("next")));
 
-        verify(movieService).getAllMovies();
+        verify(movieService).getMoviesPage(null, null, MovieSort.ID);
+    }
+
+    @Test
+    void getAllMovies_WithCursorAndSort_ShouldPassThemToService() throws Exception {
+        when(movieService.getMoviesPage("abc", 5, MovieSort.RELEASE_DATE)).thenReturn(new MoviePageDTO(testMovieDTOs, null));
+
+        mockMvc.perform(get("/api/movieworld").param("after", "abc").param("limit", "5").param("sort", "releaseDate"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        verify(movieService).getMoviesPage("abc", 5, MovieSort.RELEASE_DATE);
+    }
+
+    @Test
+    void getAllMovies_WithUnknownSort_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/movieworld").param("sort", "rating"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getAllMovies_FromSnapshot_ShouldReturnCatalogETag() throws Exception {
+        when(movieService.getCatalogVersion(MovieFilter.none())).thenReturn(Optional.of(42L));
+        when(movieService.getMoviesPage(null, null, MovieSort.ID)).thenReturn(new MoviePageDTO(testMovieDTOs, null, 42L));
+
+        mockMvc.perform(get("/api/movieworld"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"catalog-42\""))
+                .andExpect(jsonPath("$.catalogVersion").doesNotExist());
+    }
+
+    @Test
+    void getAllMovies_WithCurrentETag_ShouldReturnNotModifiedWithoutReadingPage() throws Exception {
+        when(movieService.getCatalogVersion(MovieFilter.none())).thenReturn(Optional.of(42L));
+
+        mockMvc.perform(get("/api/movieworld").header("If-None-Match", "\"catalog-42\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"catalog-42\""))
+                .andExpect(content().string(""));
+
+        verify(movieService, never()).getMoviesPage(any(), any(), any());
+    }
+
+    @Test
+    void getAllMovies_WithStaleETag_ShouldReturnPage() throws Exception {
+        when(movieService.getCatalogVersion(MovieFilter.none())).thenReturn(Optional.of(43L));
+        when(movieService.getMoviesPage(null, null, MovieSort.ID)).thenReturn(new MoviePageDTO(testMovieDTOs, null, 43L));
+
+        mockMvc.perform(get("/api/movieworld").header("If-None-Match", "\"catalog-42\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"catalog-43\""))
+                .andExpect(jsonPath("$.items", hasSize(2)));
+    }
+
+    @Test
+    void getAllMovies_WithFields_ShouldReturnOnlySelectedFields() throws Exception {
+        when(movieService.getMoviesPage(eq(null), eq(null), eq(MovieSort.ID), any(), any())).thenReturn(new MoviePageDTO(testMovieDTOs, "next"));
+
+        mockMvc.perform(get("/api/movieworld").param("fields", "title,imagePath"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].id", is(1)))
+                .andExpect(jsonPath("$.items[0].title", is("Test Movie")))
+                .andExpect(jsonPath("$.items[0].imagePath", is("test-movie.jpg")))
+                .andExpect(jsonPath("$.items[0].description").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor", is("next")));
+
+        verify(movieService).getMoviesPage(null, null, MovieSort.ID, Set.of(MovieField.ID, MovieField.TITLE, MovieField.IMAGE_PATH),
+                MovieFilter.none());
+    }
+
+    @Test
+    void getAllMovies_WithUnknownField_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/movieworld").param("fields", "title,budget"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getAllMovies_WithGenresAndFacets_ShouldFilterAndCount() throws Exception {
+        MovieFilter filter = MovieFilter.builder().genres(Set.of("Action", "Drama")).matchAllGenres(false).build();
+        when(movieService.getMoviesPage(null, null, MovieSort.ID, MovieField.ALL, filter)).thenReturn(new MoviePageDTO(testMovieDTOs, null));
+        when(movieService.getGenreFacets(filter)).thenReturn(Map.of("Action", 1, "Drama", 1));
+
+        mockMvc.perform(get("/api/movieworld").param("genre", "Action,Drama").param("genreMatch", "any").param("facets", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.genreFacets.Action", is(1)))
+                .andExpect(jsonPath("$.genreFacets.Drama", is(1)));
+    }
+
+    @Test
+    void getAllMovies_WithDirectorYearAndDurationRange_ShouldFilterBySortedDirector() throws Exception {
+        MovieFilter filter = MovieFilter.builder()
+                .director("Christopher Nolan")
+                .releasedFrom(LocalDate.of(2000, 1, 1))
+                .releasedTo(LocalDate.of(2010, 12, 31))
+                .minDuration(90)
+                .maxDuration(180)
+                .build();
+        when(movieService.getMoviesPage(null, null, MovieSort.DIRECTOR, MovieField.ALL, filter)).thenReturn(new MoviePageDTO(testMovieDTOs, null));
+
+        mockMvc.perform(get("/api/movieworld").param("sort", "director").param("director", " Christopher Nolan ")
+                        .param("fromYear", "2000").param("toYear", "2010")
+                        .param("minDuration", "90").param("maxDuration", "180")
+                        .header("If-None-Match", "\"catalog-42\""))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(jsonPath("$.items", hasSize(2)));
+
+        verify(movieService).getMoviesPage(null, null, MovieSort.DIRECTOR, MovieField.ALL, filter);
+    }
+
+    @Test
+    void getAllMovies_WithInvertedYearRange_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/movieworld").param("fromYear", "2010").param("toYear", "2000"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getAllMovies_WithReviews_ShouldMergeBulkReviewsAsynchronously() throws Exception {
+        when(movieService.getMoviesPage(eq(null), eq(null), eq(MovieSort.ID), any(), any())).thenReturn(new MoviePageDTO(testMovieDTOs, "next", 42L));
+        List<MovieDTO> reviewed = testMovieDTOs.stream()
+                .map(movie -> movie.toBuilder().reviews("reviews of " + movie.getId()).build())
+                .toList();
+        when(movieService.withReviews(testMovieDTOs)).thenReturn(Mono.just(reviewed));
+
+        MvcResult result = mockMvc.perform(get("/api/movieworld").param("withReviews", "true").param("fields", "title"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(jsonPath("$.items[0].title", is("Test Movie")))
+                .andExpect(jsonPath("$.items[0].reviews", is("reviews of 1")))
+                .andExpect(jsonPath("$.nextCursor", is("next")));
+
+        verify(movieService, never()).getCatalogVersion(any());
+    }
+
+    @Test
+    void getAllMovies_WithoutFacets_ShouldOmitFacets() throws Exception {
+        when(movieService.getMoviesPage(null, null, MovieSort.ID)).thenReturn(new MoviePageDTO(testMovieDTOs, null));
+
+        mockMvc.perform(get("/api/movieworld"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.genreFacets").doesNotExist());
+
+        verify(movieService, never()).getGenreFacets(any());
+    }
+
+    @Test
+    void getAllMovies_WithUnknownGenreMatch_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/movieworld").param("genre", "Action").param("genreMatch", "some"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchMovies_ShouldReturnRankedPage() throws Exception {
+        when(movieService.searchMovies("test", null, 10)).thenReturn(new MoviePageDTO(testMovieDTOs, "10"));
+
+        mockMvc.perform(get("/api/movieworld/search").param("q", "test").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.nextCursor", is("10")));
+    }
+
+    @Test
+    void searchMovies_WithoutQuery_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/movieworld/search"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getChanges_ShouldReturnChangesAfterSequence() throws Exception {
+        when(movieService.getChanges(4L, 2)).thenReturn(new ChangeFeedDTO(List.of(
+                new ChangeEventDTO(5L, ChangeEventDTO.Type.UPDATED, 1L, 9L, Instant.parse("2026-01-01T00:00:00Z"),
+                        testMovieDTOs.get(0)),
+                new ChangeEventDTO(6L, ChangeEventDTO.Type.DELETED, 2L, 10L, Instant.parse("2026-01-01T00:00:00Z"),
+                        null)), 6L, true));
+
+        mockMvc.perform(get("/api/movieworld/changes").param("since", "4").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(2)))
+                .andExpect(jsonPath("$.changes[0].type", is("UPDATED")))
+                .andExpect(jsonPath("$.changes[0].movie.id", is(1)))
+                .andExpect(jsonPath("$.changes[1].type", is("DELETED")))
+                .andExpect(jsonPath("$.changes[1].movieId", is(2)))
+                .andExpect(jsonPath("$.next", is(6)))
+                .andExpect(jsonPath("$.more", is(true)));
+    }
+
+    @Test
+    void getChanges_WithNegativeSequence_ShouldReturnBadRequest() throws Exception {
+        when(movieService.getChanges(-1L, null)).thenThrow(new IllegalArgumentException("since must not be negative"));
+
+        mockMvc.perform(get("/api/movieworld/changes").param("since", "-1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchMovies_BeforeCatalogIsLoaded_ShouldReturnServiceUnavailable() throws Exception {
+        when(movieService.searchMovies("nolan", null, null))
+                .thenThrow(new CatalogNotLoadedException("Search is unavailable until the catalog is loaded"));
+
+        mockMvc.perform(get("/api/movieworld/search").param("q", "nolan"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    void autocomplete_ShouldReturnSuggestions() throws Exception {
+        when(movieService.autocomplete("nol", null)).thenReturn(List.of(
+                new SuggestionDTO("Christopher Nolan", SuggestionDTO.DIRECTOR)));
+
+        mockMvc.perform(get("/api/movieworld/autocomplete").param("prefix", "nol"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].text", is("Christopher Nolan")))
+                .andExpect(jsonPath("$[0].type", is("director")));
+    }
+
+    @Test
+    void exportMovies_ShouldStreamNewlineDelimitedJson() throws Exception {
+        when(movieService.exportMovies(any())).thenAnswer(invocation -> {
+            Consumer<MovieDTO> consumer = invocation.getArgument(0);
+            testMovieDTOs.forEach(consumer);
+            return (long) testMovieDTOs.size();
+        });
+
+        MvcResult result = mockMvc.perform(get("/api/movieworld/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(600_000L, result.getRequest().getAsyncContext().getTimeout());
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("Test Movie", objectMapper.readValue(lines[0], MovieDTO.class).getTitle());
+        assertEquals("Test Movie 2", objectMapper.readValue(lines[1], MovieDTO.class).getTitle());
     }
 
     @Test
@@ -76,17 +340,149 @@ public class MovieControllerTest {
         verify(movieService).getMovieById(1L);
     }
 
+    @Test
+    void getMovieById_ShouldReturnVersionETag() throws Exception {
+        testMovieDTO.setRevision(9L);
+        testMovieDTO.setVersion(7L);
+        when(movieService.getMovieById(1L)).thenReturn(Optional.of(testMovieDTO));
+
+        mockMvc.perform(get("/api/movieworld/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"movie-1-7\""))
+                .andExpect(jsonPath("$.revision", is(9)))
+                .andExpect(jsonPath("$.version", is(7)));
+    }
+
+    @Test
+    void getMovieById_WithFields_ShouldReturnOnlySelectedFields() throws Exception {
+        when(movieService.getMovieById(1L)).thenReturn(Optional.of(testMovieDTO));
+
+        mockMvc.perform(get("/api/movieworld/1").param("fields", "genre"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(1)))
+                .andExpect(jsonPath("$.genre", is("Action")))
+                .andExpect(jsonPath("$.title").doesNotExist());
+    }
+
+    @Test
+    void getMovieById_WithCurrentETag_ShouldReturnNotModified() throws Exception {
+        testMovieDTO.setVersion(7L);
+        when(movieService.getMovieById(1L)).thenReturn(Optional.of(testMovieDTO));
+
+        mockMvc.perform(get("/api/movieworld/1").header("If-None-Match", "\"movie-1-7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     @Test
     void getMovieWithReviews_ShouldReturnMovieWithReviews() throws Exception {
         testMovieDTO.setReviews("Some reviews");
-        when(movieService.getMovieWithReviews(1L)).thenReturn(Optional.of(testMovieDTO));
+        when(movieService.getMovieWithReviewsAsync(1L)).thenReturn(Mono.just(testMovieDTO));
+
+        MvcResult result = mockMvc.perform(get("/api/movieworld/1/with-reviews"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
 
-        mockMvc.perform(get("/api/movieworld/1/with-reviews"))
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.reviews", is("Some reviews")));
 
-        verify(movieService).getMovieWithReviews(1L);
+        verify(movieService).getMovieWithReviewsAsync(1L);
+    }
+
+    @Test
+    void getMovieWithReviews_WithRawReviews_ShouldSpliceThemIntoResponse() throws Exception {
+        String reviews = "[{\"reviewer\":\"reviewer-1\",\"rating\":5}]";
+        testMovieDTO.setReviews(RawJson.of(reviews.getBytes(StandardCharsets.UTF_8)));
+        when(movieService.getMovieWithReviewsAsync(1L)).thenReturn(Mono.just(testMovieDTO));
+
+        MvcResult result = mockMvc.perform(get("/api/movieworld/1/with-reviews"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"reviews\":" + reviews)))
+                .andExpect(jsonPath("$.reviews[0].rating", is(5)));
+    }
+
+    @Test
+    void getMovieWithReviews_WithNonExistingId_ShouldReturnNotFound() throws Exception {
+        when(movieService.getMovieWithReviewsAsync(999L)).thenReturn(Mono.empty());
+
+        MvcResult result = mockMvc.perform(get("/api/movieworld/999/with-reviews"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void createMovies_WhenAllAreCreated_ShouldReturnCreated() throws Exception {
+        when(movieService.createMovies(anyList())).thenReturn(new BulkResultDTO(2, List.of(11L, 12L), List.of()));
+
+        mockMvc.perform(post("/api/movieworld/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testMovieDTOs)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.succeeded", is(2)))
+                .andExpect(jsonPath("$.ids", contains(11, 12)));
+
+        verify(movieService).createMovies(argThat(movies -> movies.size() == 2
+                && movies.get(1).getTitle().equals("Test Movie 2")));
+    }
+
+    @Test
+    void createMovies_WhenSomeFail_ShouldReturnMultiStatusWithErrorsByPosition() throws Exception {
+        when(movieService.createMovies(anyList())).thenReturn(new BulkResultDTO(1, Arrays.asList(11L, null),
+                List.of(new BulkResultDTO.ItemError(1, "Title is required"))));
+
+        mockMvc.perform(post("/api/movieworld/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testMovieDTOs)))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.ids[1]", nullValue()))
+                .andExpect(jsonPath("$.errors[0].index", is(1)))
+                .andExpect(jsonPath("$.errors[0].message", is("Title is required")));
+    }
+
+    @Test
+    void updateMovies_ShouldPassSelectionAndChangesAndReturnAffectedCount() throws Exception {
+        when(movieService.updateMovies(any(), any(), any())).thenReturn(3);
+
+        mockMvc.perform(post("/api/movieworld/bulk/update")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"genres\":[\"Drama\"],\"genreMatch\":\"any\",\"director\":\" Test Director \","
+                        + "\"releasedFrom\":\"2000-01-01\",\"changes\":{\"imagePath\":\"new.jpg\"}}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected", is(3)));
+
+        MovieFilter filter = MovieFilter.builder().genres(Set.of("Drama")).matchAllGenres(false)
+                .director("Test Director").releasedFrom(LocalDate.of(2000, 1, 1)).build();
+        verify(movieService).updateMovies(isNull(), eq(filter), argThat(changes -> "new.jpg".equals(changes.getImagePath())));
+    }
+
+    @Test
+    void deleteMovies_ShouldDeleteByIdsAndReturnAffectedCount() throws Exception {
+        when(movieService.deleteMovies(List.of(1L, 2L), MovieFilter.none())).thenReturn(2);
+
+        mockMvc.perform(post("/api/movieworld/bulk/delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[1,2]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected", is(2)));
+    }
+
+    @Test
+    void deleteMovies_WithReversedReleaseRange_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/movieworld/bulk/delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"releasedFrom\":\"2001-01-01\",\"releasedTo\":\"2000-01-01\"}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(movieService);
     }
 
     @Test
@@ -104,24 +500,85 @@ public class MovieControllerTest {
 
     @Test
     void updateMovie_WithExistingId_ShouldReturnUpdatedMovie() throws Exception {
-        when(movieService.updateMovie(eq(1L), any(MovieDTO.class))).thenReturn(testMovieDTO);
+        testMovieDTO.setVersion(4L);
+        when(movieService.updateMovie(eq(1L), any(MovieDTO.class), isNull())).thenReturn(testMovieDTO);
 
         mockMvc.perform(put("/api/movieworld/1")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(testMovieDTO)))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"movie-1-4\""))
                 .andExpect(jsonPath("$.title", is("Test Movie")));
 
-        verify(movieService).updateMovie(eq(1L), any(MovieDTO.class));
+        verify(movieService).updateMovie(eq(1L), any(MovieDTO.class), isNull());
+    }
+
+    @Test
+    void updateMovie_WithIfMatch_ShouldRequireItsVersion() throws Exception {
+        when(movieService.updateMovie(eq(1L), any(MovieDTO.class), eq(3L)))
+                .thenThrow(new OptimisticLockingFailureException("Movie 1 is no longer at version 3"));
+
+        mockMvc.perform(put("/api/movieworld/1")
+                .header("If-Match", "\"movie-1-3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testMovieDTO)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.error", is("Movie 1 is no longer at version 3")));
+    }
+
+    @Test
+    void patchMovie_ShouldPassOnlyPatchedFieldsAndReturnPatchedMovie() throws Exception {
+        testMovieDTO.setVersion(6L);
+        when(movieService.patchMovie(eq(1L), any(MovieDTO.class), any(), eq(5L))).thenReturn(testMovieDTO);
+
+        mockMvc.perform(patch("/api/movieworld/1")
+                .header("If-Match", "\"movie-1-5\"")
+                .contentType("application/merge-patch+json")
+                .content("{\"durationMinutes\":95,\"description\":null}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"movie-1-6\""));
+
+        verify(movieService).patchMovie(eq(1L), argThat(values -> values.getDurationMinutes() == 95
+                && values.getTitle() == null), eq(Set.of(MovieField.DURATION_MINUTES, MovieField.DESCRIPTION)), eq(5L));
+    }
+
+    @Test
+    void patchMovie_WithReadOnlyOrMalformedField_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(patch("/api/movieworld/1")
+                .contentType("application/merge-patch+json")
+                .content("{\"version\":3}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", is("Field cannot be changed: version")));
+        mockMvc.perform(patch("/api/movieworld/1")
+                .contentType("application/merge-patch+json")
+                .content("{\"releaseDate\":\"soon\"}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(movieService);
     }
 
     @Test
     void deleteMovie_WithExistingId_ShouldReturnNoContent() throws Exception {
-        when(movieService.deleteMovie(1L)).thenReturn(true);
+        when(movieService.deleteMovie(1L, null)).thenReturn(true);
 
         mockMvc.perform(delete("/api/movieworld/1"))
                 .andExpect(status().isNoContent());
 
-        verify(movieService).deleteMovie(1L);
+        verify(movieService).deleteMovie(1L, null);
+    }
+
+    @Test
+    void deleteMovie_WithIfMatch_ShouldPassVersionAndRejectOtherMoviesETags() throws Exception {
+        when(movieService.deleteMovie(1L, 5L)).thenReturn(true);
+
+        mockMvc.perform(delete("/api/movieworld/1").header("If-Match", "\"movie-1-5\""))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(delete("/api/movieworld/1").header("If-Match", "\"movie-2-5\""))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(delete("/api/movieworld/1").header("If-Match", "W/\"movie-1-5\""))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(movieService).deleteMovie(1L, 5L);
+        verifyNoMoreInteractions(movieService);
     }
 }
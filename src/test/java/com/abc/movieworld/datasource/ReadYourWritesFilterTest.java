@@ -0,0 +1,56 @@
+package com.abc.movieworld.datasource;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReadYourWritesFilterTest {
+
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofMillis(2500));
+
+    /** @return Whether the request was handled pinned to the primary */
+    private boolean handle(MockHttpServletRequest request, MockHttpServletResponse response) throws Exception {
+        AtomicBoolean pinned = new AtomicBoolean();
+        filter.doFilter(request, response, (req, res) -> pinned.set(DataSourceRouting.isPinnedToPrimary()));
+        assertFalse(DataSourceRouting.isPinnedToPrimary());
+        return pinned.get();
+    }
+
+    @Test
+    void write_ShouldRunPinnedAndPinTheClientForTheWindow() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        long before = System.currentTimeMillis();
+
+        assertTrue(handle(new MockHttpServletRequest("PUT", "/api/movieworld/1"), response));
+
+        Cookie cookie = response.getCookie(ReadYourWritesFilter.COOKIE);
+        assertNotNull(cookie);
+        assertEquals(3, cookie.getMaxAge());
+        assertEquals("/", cookie.getPath());
+        assertTrue(Long.parseLong(cookie.getValue()) >= before + 2500);
+
+        MockHttpServletRequest read = new MockHttpServletRequest("GET", "/api/movieworld/page");
+        read.setCookies(cookie);
+        MockHttpServletResponse readResponse = new MockHttpServletResponse();
+        assertTrue(handle(read, readResponse));
+        assertNull(readResponse.getCookie(ReadYourWritesFilter.COOKIE));
+    }
+
+    @Test
+    void read_WithoutRecentWrite_ShouldNotBePinned() throws Exception {
+        MockHttpServletRequest expired = new MockHttpServletRequest("GET", "/api/movieworld/page");
+        expired.setCookies(new Cookie(ReadYourWritesFilter.COOKIE, String.valueOf(System.currentTimeMillis() - 1)));
+        MockHttpServletRequest invalid = new MockHttpServletRequest("GET", "/api/movieworld/page");
+        invalid.setCookies(new Cookie(ReadYourWritesFilter.COOKIE, "soon"));
+
+        assertFalse(handle(new MockHttpServletRequest("GET", "/api/movieworld/page"), new MockHttpServletResponse()));
+        assertFalse(handle(expired, new MockHttpServletResponse()));
+        assertFalse(handle(invalid, new MockHttpServletResponse()));
+    }
+}
@@ -0,0 +1,146 @@
+package com.abc.movieworld.ingest;
+
+import com.abc.movieworld.dto.BulkResultDTO;
+import com.abc.movieworld.dto.IngestionStatusDTO;
+import com.abc.movieworld.dto.MovieDTO;
+import com.abc.movieworld.service.MovieService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+public class IngestionQueueTest {
+
+    private MovieService movieService;
+    private SimpleMeterRegistry meterRegistry;
+    private IngestionQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        movieService = mock(MovieService.class);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (queue.isRunning()) {
+            queue.stop();
+        }
+    }
+
+    private IngestionQueue start(int capacity, int batchSize) {
+        queue = new IngestionQueue(movieService, meterRegistry, capacity, batchSize, Duration.ofMinutes(1),
+                Duration.ofMinutes(10));
+        queue.start();
+        return queue;
+    }
+
+    private static MovieDTO movie(String title) {
+        return new MovieDTO(null, title, "Director", LocalDate.of(2020, 1, 1), 100, "Drama", null, null, null);
+    }
+
+    private void awaitCompleted(IngestionStatusDTO accepted) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (queue.status(accepted.getTrackingId()).orElseThrow().getState() == IngestionStatusDTO.State.PENDING
+                && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private double depth() {
+        return meterRegistry.get("movieworld.ingest.queue.depth").gauge().value();
+    }
+
+    @Test
+    void update_OfQueuedMovie_ShouldBeCoalescedAndWrittenOnceOnStop() {
+        when(movieService.createMovies(anyList())).thenReturn(new BulkResultDTO(1, List.of(42L), List.of()));
+        when(movieService.replaceMovies(anyList())).thenReturn(new BulkResultDTO(1, List.of(7L), List.of()));
+        start(10, 10);
+
+        IngestionStatusDTO first = queue.update(7L, movie("First"));
+        IngestionStatusDTO second = queue.update(7L, movie("Second"));
+        IngestionStatusDTO created = queue.create(movie("New"));
+
+        assertEquals(IngestionStatusDTO.State.PENDING, queue.status(first.getTrackingId()).orElseThrow().getState());
+        assertEquals(2.0, depth());
+        assertEquals(1.0, meterRegistry.get("movieworld.ingest.coalesced").counter().count());
+
+        queue.stop();
+
+        verify(movieService).replaceMovies(argThat(movies -> movies.size() == 1
+                && movies.get(0).getId() == 7L && movies.get(0).getTitle().equals("Second")));
+        verify(movieService).createMovies(argThat(movies -> movies.size() == 1 && movies.get(0).getTitle().equals("New")));
+        assertEquals(IngestionStatusDTO.State.WRITTEN, queue.status(first.getTrackingId()).orElseThrow().getState());
+        assertEquals(IngestionStatusDTO.State.WRITTEN, queue.status(second.getTrackingId()).orElseThrow().getState());
+        assertEquals(42L, queue.status(created.getTrackingId()).orElseThrow().getMovieId());
+        assertEquals(0.0, depth());
+        assertEquals(1, meterRegistry.get("movieworld.ingest.flush").timer().count());
+        assertEquals(2.0, meterRegistry.get("movieworld.ingest.batch.size").summary().totalAmount());
+    }
+
+    @Test
+    void create_WhenQueueIsFull_ShouldBeRejected() {
+        start(2, 10);
+        queue.create(movie("A"));
+        queue.update(1L, movie("B"));
+
+        assertThrows(IngestionRejectedException.class, () -> queue.create(movie("C")));
+        // Coalescing into a queued update needs no room
+        queue.update(1L, movie("B2"));
+        assertEquals(1.0, meterRegistry.get("movieworld.ingest.rejected").counter().count());
+    }
+
+    @Test
+    void create_WhenBatchIsFull_ShouldFlushWithoutWaitingForInterval() {
+        when(movieService.createMovies(anyList())).thenReturn(new BulkResultDTO(1, Arrays.asList(1L, null),
+                List.of(new BulkResultDTO.ItemError(1, "Data too long"))));
+        start(10, 2);
+
+        queue.create(movie("A"));
+        IngestionStatusDTO failed = queue.create(movie("B"));
+
+        verify(movieService, timeout(5000)).createMovies(anyList());
+        awaitCompleted(failed);
+        IngestionStatusDTO status = queue.status(failed.getTrackingId()).orElseThrow();
+        assertEquals(IngestionStatusDTO.State.FAILED, status.getState());
+        assertEquals("Data too long", status.getError());
+    }
+
+    @Test
+    void create_AfterBatchFailsUnexpectedly_ShouldMarkBatchFailedAndKeepWriting() {
+        BulkResultDTO duplicateErrors = new BulkResultDTO(0, Arrays.asList(null, null), List.of(
+                new BulkResultDTO.ItemError(0, "Data too long"), new BulkResultDTO.ItemError(0, "Duplicate title")));
+        when(movieService.createMovies(anyList()))
+                .thenReturn(duplicateErrors)
+                .thenReturn(new BulkResultDTO(1, List.of(5L), List.of()));
+        start(10, 1);
+
+        IngestionStatusDTO failed = queue.create(movie("A"));
+        awaitCompleted(failed);
+        IngestionStatusDTO written = queue.create(movie("B"));
+        awaitCompleted(written);
+
+        assertEquals(IngestionStatusDTO.State.FAILED, queue.status(failed.getTrackingId()).orElseThrow().getState());
+        IngestionStatusDTO status = queue.status(written.getTrackingId()).orElseThrow();
+        assertEquals(IngestionStatusDTO.State.WRITTEN, status.getState());
+        assertEquals(5L, status.getMovieId());
+    }
+
+    @Test
+    void create_AfterStop_ShouldBeRejected() {
+        start(10, 10);
+        queue.stop();
+
+        assertThrows(IngestionRejectedException.class, () -> queue.create(movie("Late")));
+        verifyNoInteractions(movieService);
+    }
+}
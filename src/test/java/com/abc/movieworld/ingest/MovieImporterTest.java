@@ -0,0 +1,222 @@
+package com.abc.movieworld.ingest;
+
+import com.abc.movieworld.dto.ImportStatusDTO;
+import com.abc.movieworld.dto.MovieDTO;
+import com.abc.movieworld.model.MovieImport;
+import com.abc.movieworld.repository.MovieImportRepository;
+import com.abc.movieworld.service.MovieService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class MovieImporterTest {
+
+    private static final String HEADER = "id,title,director,release_date,duration_minutes,genre,rating\r\n";
+
+    @TempDir
+    Path directory;
+
+    private MovieService movieService;
+    private MovieImportRepository importRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private final Map<String, MovieImport> checkpoints = new HashMap<>();
+    private final List<String> written = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        movieService = mock(MovieService.class);
+        importRepository = mock(MovieImportRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        when(importRepository.findById(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(checkpoints.get(invocation.<String>getArgument(0))));
+        when(importRepository.save(any(MovieImport.class))).thenAnswer(invocation -> {
+            MovieImport checkpoint = invocation.getArgument(0);
+            checkpoints.put(checkpoint.getFile(), checkpoint);
+            return checkpoint;
+        });
+        // Writes the movies, then runs the checkpoint as if in the same transaction
+        when(movieService.upsertMovies(anyList(), any(Runnable.class))).thenAnswer(invocation -> {
+            List<MovieDTO> movies = invocation.getArgument(0);
+            movies.forEach(movie -> written.add(movie.getTitle()));
+            invocation.<Runnable>getArgument(1).run();
+            return movies.stream().map(movie -> 1L).toList();
+        });
+    }
+
+    private MovieImporter importer(int batchSize) {
+        return new MovieImporter(movieService, importRepository, Validation.buildDefaultValidatorFactory().getValidator(),
+                Jackson2ObjectMapperBuilder.json().build(), meterRegistry, directory.toString(), batchSize, 2, "");
+    }
+
+    private Path file(String name, String content) throws Exception {
+        return Files.writeString(directory.resolve(name), content, StandardCharsets.UTF_8);
+    }
+
+    private ImportStatusDTO run(MovieImporter importer, String file, String format) throws Exception {
+        assertTrue(importer.start(file, format));
+        importer.awaitCompletion();
+        return importer.status().orElseThrow();
+    }
+
+    private static String row(int number) {
+        return "," + "Movie " + number + ",Director," + LocalDate.of(2000, 1, 1).plusDays(number) + ",100,Drama,5\n";
+    }
+
+    @Test
+    void importCsv_ShouldWriteValidRowsInOrderAndReportTheOthers() throws Exception {
+        file("movies.csv", HEADER
+                + row(1)
+                + "7,\"Quoted, \"\"Title\"\"\nOn Two Lines\",Director,2001-02-03,95,\"Drama, Crime\",\r\n"
+                + ",Missing Director,,2001-02-03,95,Drama,\n"
+                + "\n"
+                + ",Bad Date,Director,03/02/2001,95,Drama,\n"
+                + row(2)
+                + ",Too,Many,Fields,2001-02-03,95,Drama,5,6\n");
+
+        ImportStatusDTO status = run(importer(2), "movies.csv", null);
+
+        assertEquals(ImportStatusDTO.State.COMPLETED, status.getState());
+        assertEquals(List.of("Movie 1", "Quoted, \"Title\"\nOn Two Lines", "Movie 2"), written);
+        assertEquals(6, status.getRowsRead());
+        assertEquals(3, status.getRowsWritten());
+        assertEquals(3, status.getRowsFailed());
+        assertEquals(List.of(new ImportStatusDTO.RowError(3, "Director is required"),
+                new ImportStatusDTO.RowError(4, "Invalid releaseDate: 03/02/2001"),
+                new ImportStatusDTO.RowError(6, "Expected 7 fields but found 9")), status.getRowErrors());
+        verify(movieService).upsertMovies(argThat(movies -> movies.size() == 2 && movies.get(1).getId() == 7L
+                && movies.get(1).getGenre().equals("Drama, Crime")), any(Runnable.class));
+
+        MovieImport checkpoint = checkpoints.get("movies.csv");
+        assertTrue(checkpoint.isCompleted());
+        assertEquals(Files.size(directory.resolve("movies.csv")), checkpoint.getOffset());
+        assertEquals(3.0, meterRegistry.get("movieworld.import.rows").tag("outcome", "written").counter().count());
+        assertEquals(3.0, meterRegistry.get("movieworld.import.rows").tag("outcome", "failed").counter().count());
+    }
+
+    @Test
+    void importCsv_WithCheckpoint_ShouldResumeAfterLastCommittedBatch() throws Exception {
+        Path path = file("movies.csv", HEADER + row(1) + row(2) + row(3) + row(4));
+        long offset = (HEADER + row(1) + row(2)).getBytes(StandardCharsets.UTF_8).length;
+        checkpoints.put("movies.csv", new MovieImport("movies.csv", "CSV", Files.size(path),
+                Files.getLastModifiedTime(path).toMillis(), offset, 2L, 2L, 0L, false, null));
+
+        ImportStatusDTO status = run(importer(10), "movies.csv", "csv");
+
+        assertEquals(List.of("Movie 3", "Movie 4"), written);
+        assertEquals(2, status.getResumedAt());
+        assertEquals(4, status.getRowsRead());
+        assertEquals(4, status.getRowsWritten());
+        assertTrue(status.getRowsPerSecond() > 0);
+    }
+
+    @Test
+    void importCsv_ShouldSkipCompletedFileButRestartChangedOne() throws Exception {
+        Path path = file("movies.csv", HEADER + row(1));
+        checkpoints.put("movies.csv", new MovieImport("movies.csv", "CSV", Files.size(path),
+                Files.getLastModifiedTime(path).toMillis(), Files.size(path), 1L, 1L, 0L, true, null));
+        MovieImporter importer = importer(10);
+
+        assertEquals(ImportStatusDTO.State.COMPLETED, run(importer, "movies.csv", null).getState());
+        assertTrue(written.isEmpty());
+
+        file("movies.csv", HEADER + row(1) + row(2));
+        ImportStatusDTO status = run(importer, "movies.csv", null);
+
+        assertEquals(List.of("Movie 1", "Movie 2"), written);
+        assertEquals(0, status.getResumedAt());
+        assertEquals(2, status.getRowsWritten());
+    }
+
+    @Test
+    void importNdjson_ShouldIgnoreUnknownPropertiesAndReportInvalidLines() throws Exception {
+        file("export.ndjson", "{\"id\":3,\"title\":\"Json Movie\",\"director\":\"Director\",\"releaseDate\":\"2001-02-03\","
+                + "\"durationMinutes\":90,\"genre\":\"Drama\",\"version\":4,\"reviews\":null}\n"
+                + "{\"title\": \n"
+                + "null\n");
+
+        ImportStatusDTO status = run(importer(10), "export.ndjson", null);
+
+        assertEquals(List.of("Json Movie"), written);
+        assertEquals(3, status.getRowsRead());
+        assertEquals(2, status.getRowsFailed());
+        assertTrue(status.getRowErrors().get(0).getMessage().startsWith("Invalid JSON"));
+        assertEquals(new ImportStatusDTO.RowError(3, "Movie is required"), status.getRowErrors().get(1));
+    }
+
+    @Test
+    void importCsv_WhenBatchFails_ShouldRetryRowsOneAtATime() throws Exception {
+        file("movies.csv", HEADER + row(1) + row(2) + row(3));
+        List<Runnable> checkpointed = new ArrayList<>();
+        when(movieService.upsertMovies(anyList(), any(Runnable.class))).thenAnswer(invocation -> {
+            List<MovieDTO> movies = invocation.getArgument(0);
+            if (movies.stream().anyMatch(movie -> movie.getTitle().equals("Movie 2"))) {
+                throw new DataIntegrityViolationException("Data too long");
+            }
+            movies.forEach(movie -> written.add(movie.getTitle()));
+            checkpointed.add(invocation.getArgument(1));
+            return List.of(1L);
+        });
+
+        ImportStatusDTO status = run(importer(10), "movies.csv", null);
+
+        assertEquals(List.of("Movie 1", "Movie 3"), written);
+        assertEquals(List.of(new ImportStatusDTO.RowError(2, "Data too long")), status.getRowErrors());
+        assertEquals(2, status.getRowsWritten());
+        assertEquals(3, checkpoints.get("movies.csv").getRowsRead());
+    }
+
+    @Test
+    void start_WhileImportIsRunning_ShouldNotStartAnother() throws Exception {
+        file("movies.csv", HEADER + row(1));
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(movieService.upsertMovies(anyList(), any(Runnable.class))).thenAnswer(invocation -> {
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(1L);
+        });
+        MovieImporter importer = importer(10);
+
+        assertTrue(importer.start("movies.csv", null));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        assertFalse(importer.start("movies.csv", null));
+        assertEquals(ImportStatusDTO.State.RUNNING, importer.status().orElseThrow().getState());
+        release.countDown();
+        importer.awaitCompletion();
+        assertEquals(ImportStatusDTO.State.COMPLETED, importer.status().orElseThrow().getState());
+    }
+
+    @Test
+    void start_WithFileOutsideImportDirectory_ShouldBeRejected() throws Exception {
+        file("movies.txt", "title\n");
+        MovieImporter importer = importer(10);
+
+        assertThrows(IllegalArgumentException.class, () -> importer.start("../movies.csv", null));
+        assertThrows(IllegalArgumentException.class, () -> importer.start("missing.csv", null));
+        assertThrows(IllegalArgumentException.class, () -> importer.start("movies.txt", null));
+        assertTrue(importer.status().isEmpty());
+    }
+}
@@ -1,13 +1,20 @@
 package com.abc.movieworld.repository;
 
+import com.abc.movieworld.dto.MovieFilter;
+import com.abc.movieworld.dto.MovieSort;
 import com.abc.movieworld.model.Movie;
+import jakarta.persistence.Tuple;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -36,6 +43,72 @@ public class MovieRepositoryTest {
         assertEquals("Test Movie", found.get().getTitle());
     }
 
+    @Test
+    void insertAll_ShouldAssignIdsAndPersistEveryMovie() {
+        List<Movie> movies = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            movies.add(new Movie(null, "Bulk Movie " + i, "Bulk Director", LocalDate.of(2020, 1, 1 + i), 100 + i,
+                    "Drama", null, null, null));
+        }
+
+        movieRepository.insertAll(movies, 2);
+
+        assertTrue(movies.stream().allMatch(movie -> movie.getId() != null));
+        assertFalse(entityManager.getEntityManager().contains(movies.get(0)));
+        entityManager.clear();
+        assertEquals(5, movieRepository.findAllById(movies.stream().map(Movie::getId).toList()).size());
+        assertEquals("Bulk Movie 3", movieRepository.findById(movies.get(3).getId()).orElseThrow().getTitle());
+    }
+
+    @Test
+    void updateAllAndDeleteAll_ShouldChangeOnlyMatchingMoviesWithOneStatement() {
+        Movie old = entityManager.persist(new Movie(null, "Old", "Set Director", LocalDate.of(1990, 1, 1), 100, "Drama", null, null, null));
+        Movie recent = entityManager.persist(new Movie(null, "Recent", "Set Director", LocalDate.of(2020, 1, 1), 100, "Drama", null, null, null));
+        Movie other = entityManager.persist(new Movie(null, "Other", "Other Director", LocalDate.of(1990, 1, 1), 100, "Drama", null, null, null));
+        entityManager.flush();
+        MovieFilter filter = MovieFilter.builder().director("Set Director").releasedTo(LocalDate.of(2000, 12, 31)).build();
+
+        int updated = movieRepository.updateAll(null, filter, Map.of("imagePath", "set.jpg", "durationMinutes", 90), 5L);
+
+        assertEquals(1, updated);
+        assertEquals(List.of(old.getId()), movieRepository.findIdsByRevision(5L));
+        Movie updatedMovie = movieRepository.findById(old.getId()).orElseThrow();
+        assertEquals("set.jpg", updatedMovie.getImagePath());
+        assertEquals(90, updatedMovie.getDurationMinutes());
+        assertEquals(100, movieRepository.findById(recent.getId()).orElseThrow().getDurationMinutes());
+
+        List<Long> ids = List.of(recent.getId(), other.getId());
+        assertEquals(List.of(recent.getId()), movieRepository.findIds(ids, MovieFilter.builder().director("Set Director").build()));
+        assertEquals(1, movieRepository.deleteAll(ids, MovieFilter.builder().director("Set Director").build()));
+        assertFalse(movieRepository.existsById(recent.getId()));
+        assertTrue(movieRepository.existsById(other.getId()));
+    }
+
+    @Test
+    void updateOneAndDeleteOne_ShouldOnlyApplyAtExpectedVersion() {
+        Movie movie = entityManager.persist(new Movie(null, "Versioned", "Director", LocalDate.of(2001, 1, 1), 100, "Drama", null, null, null));
+        entityManager.flush();
+        assertEquals(0L, movie.getVersion());
+        Map<String, Object> changes = new HashMap<>();
+        changes.put("title", "Versioned 2");
+        changes.put("genre", null);
+
+        assertEquals(0, movieRepository.updateOne(movie.getId(), 1L, changes, 8L));
+        assertEquals(1, movieRepository.updateOne(movie.getId(), 0L, changes, 8L));
+        assertEquals(1, movieRepository.updateOne(movie.getId(), null, Map.of("durationMinutes", 110), 9L));
+
+        Movie updated = movieRepository.findById(movie.getId()).orElseThrow();
+        assertEquals("Versioned 2", updated.getTitle());
+        assertNull(updated.getGenre());
+        assertEquals(110, updated.getDurationMinutes());
+        assertEquals(9L, updated.getRevision());
+        assertEquals(Optional.of(2L), movieRepository.findVersionById(movie.getId()));
+
+        assertEquals(0, movieRepository.deleteOne(movie.getId(), 1L));
+        assertEquals(1, movieRepository.deleteOne(movie.getId(), 2L));
+        assertFalse(movieRepository.existsById(movie.getId()));
+    }
+
     @Test
     void findById_WithNonExistingId_ShouldReturnEmpty() {
         // When
@@ -88,4 +161,123 @@ public class MovieRepositoryTest {
         Optional<Movie> found = movieRepository.findById(movie.getId());
         assertFalse(found.isPresent());
     }
+
+    @Test
+    void findPageByReleaseDateAfter_ShouldResumeAfterKeyAndBreakTiesOnId() {
+        // Given
+        Movie movie1 = new Movie(null, "Movie A", "Director", LocalDate.of(2020, 1, 1), 100, "Drama", null, null, null);
+        Movie movie2 = new Movie(null, "Movie B", "Director", LocalDate.of(2021, 1, 1), 100, "Drama", null, null, null);
+        Movie movie3 = new Movie(null, "Movie C", "Director", LocalDate.of(2021, 1, 1), 100, "Drama", null, null, null);
+        Movie movie4 = new Movie(null, "Movie D", "Director", LocalDate.of(2019, 1, 1), 100, "Drama", null, null, null);
+        entityManager.persist(movie1);
+        entityManager.persist(movie2);
+        entityManager.persist(movie3);
+        entityManager.persist(movie4);
+        entityManager.flush();
+
+        // When
+        List<Movie> firstPage = movieRepository.findFirstPageByReleaseDate(PageRequest.of(0, 2));
+        Movie last = firstPage.get(firstPage.size() - 1);
+        List<Movie> secondPage = movieRepository.findPageByReleaseDateAfter(last.getReleaseDate(), last.getId(), PageRequest.of(0, 2));
+
+        // Then
+        assertEquals(List.of("Movie D", "Movie A"), firstPage.stream().map(Movie::getTitle).toList());
+        assertEquals(List.of("Movie B", "Movie C"), secondPage.stream().map(Movie::getTitle).toList());
+    }
+
+    @Test
+    void findPageByIdAfter_ShouldReturnMoviesWithGreaterIds() {
+        // Given
+        Movie movie1 = new Movie(null, "Movie A", "Director", LocalDate.of(2020, 1, 1), 100, "Drama", null, null, null);
+        Movie movie2 = new Movie(null, "Movie B", "Director", LocalDate.of(2021, 1, 1), 100, "Drama", null, null, null);
+        entityManager.persist(movie1);
+        entityManager.persist(movie2);
+        entityManager.flush();
+
+        // When
+        List<Movie> page = movieRepository.findPageByIdAfter(movie1.getId(), PageRequest.of(0, 10));
+
+        // Then
+        assertEquals(1, page.size());
+        assertEquals(movie2.getId(), page.get(0).getId());
+    }
+
+    @Test
+    void findPageColumns_ShouldSelectOnlyRequestedAttributesAfterKey() {
+        // Given
+        Movie movie1 = new Movie(null, "Movie B", "Director", LocalDate.of(2020, 1, 1), 100, "Drama", "b.jpg", "Long description", null);
+        Movie movie2 = new Movie(null, "Movie A", "Director", LocalDate.of(2021, 1, 1), 100, "Drama", "a.jpg", "Long description", null);
+        Movie movie3 = new Movie(null, "Movie C", "Director", LocalDate.of(2022, 1, 1), 100, "Drama", "c.jpg", "Long description", null);
+        entityManager.persist(movie1);
+        entityManager.persist(movie2);
+        entityManager.persist(movie3);
+        entityManager.flush();
+
+        // When
+        List<Tuple> page = movieRepository.findPageColumns(List.of("id", "title", "imagePath"),
+                MovieFilter.none(), MovieSort.TITLE, "Movie A", movie2.getId(), 10);
+
+        // Then
+        assertEquals(List.of("Movie B", "Movie C"), page.stream().map(row -> row.get("title")).toList());
+        assertEquals("b.jpg", page.get(0).get("imagePath"));
+        assertEquals(3, page.get(0).getElements().size());
+    }
+
+    @Test
+    void findPage_ShouldApplyDirectorReleaseAndDurationCriteriaAfterKey() {
+        // Given
+        Movie early = new Movie(null, "Early", "Nolan", LocalDate.of(1998, 6, 1), 70, "Drama", null, null, null);
+        Movie first = new Movie(null, "First", "Nolan", LocalDate.of(2005, 6, 1), 140, "Drama", null, null, null);
+        Movie second = new Movie(null, "Second", "Nolan", LocalDate.of(2008, 6, 1), 150, "Action", null, null, null);
+        Movie third = new Movie(null, "Third", "Nolan", LocalDate.of(2010, 6, 1), 148, "Action", null, null, null);
+        Movie other = new Movie(null, "Other", "Mann", LocalDate.of(2006, 6, 1), 140, "Crime", null, null, null);
+        List.of(early, first, second, third, other).forEach(entityManager::persist);
+        entityManager.flush();
+        MovieFilter filter = MovieFilter.builder()
+                .director("Nolan")
+                .releasedFrom(LocalDate.of(2000, 1, 1))
+                .releasedTo(LocalDate.of(2009, 12, 31))
+                .minDuration(90)
+                .build();
+
+        // When
+        List<Movie> firstPage = movieRepository.findPage(filter, MovieSort.RELEASE_DATE, null, null, 1);
+        List<Movie> secondPage = movieRepository.findPage(filter, MovieSort.RELEASE_DATE,
+                first.getReleaseDate(), first.getId(), 10);
+
+        // Then
+        assertEquals(List.of("First"), firstPage.stream().map(Movie::getTitle).toList());
+        assertEquals(List.of("Second"), secondPage.stream().map(Movie::getTitle).toList());
+    }
+
+    @Test
+    void countByGenre_ShouldCountMatchingMoviesPerGenreColumnValue() {
+        entityManager.persist(new Movie(null, "One", "Mann", LocalDate.of(1995, 1, 1), 170, "Crime, Drama", null, null, null));
+        entityManager.persist(new Movie(null, "Two", "Mann", LocalDate.of(1999, 1, 1), 157, "Crime, Drama", null, null, null));
+        entityManager.persist(new Movie(null, "Three", "Mann", LocalDate.of(2004, 1, 1), 120, "Thriller", null, null, null));
+        entityManager.persist(new Movie(null, "Four", "Nolan", LocalDate.of(2010, 1, 1), 148, "Action", null, null, null));
+        entityManager.flush();
+
+        Map<String, Long> counts = movieRepository.countByGenre(MovieFilter.builder().director("Mann").build());
+
+        assertEquals(Map.of("Crime, Drama", 2L, "Thriller", 1L), counts);
+    }
+
+    @Test
+    void scrollAll_ShouldVisitEveryMovieInIdOrderAndDetachThem() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            entityManager.persist(new Movie(null, "Movie " + i, "Director", LocalDate.of(2020, 1, 1), 100, "Drama", null, null, null));
+        }
+        entityManager.flush();
+        List<Movie> visited = new ArrayList<>();
+
+        // When
+        long count = movieRepository.scrollAll(2, visited::add);
+
+        // Then
+        assertEquals(5, count);
+        assertEquals(List.of("Movie 0", "Movie 1", "Movie 2", "Movie 3", "Movie 4"), visited.stream().map(Movie::getTitle).toList());
+        assertFalse(entityManager.getEntityManager().contains(visited.get(0)));
+    }
 }
@@ -0,0 +1,199 @@
+package com.abc.movieworld.review;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReviewClientTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final List<List<Long>> batches = new CopyOnWriteArrayList<>();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private volatile HttpStatus status = HttpStatus.OK;
+    /** When set, the review service answers only once the test completes this sink. */
+    private volatile Sinks.One<ClientResponse> pendingResponse;
+    private SimpleMeterRegistry meterRegistry;
+    private WebClient.Builder webClientBuilder;
+    private ReviewClient reviewClient;
+
+    @BeforeEach
+    void setUp() {
+        webClientBuilder = WebClient.builder().exchangeFunction(request -> {
+            if (request.url().getPath().equals("/api/moviereview/movies")) {
+                return Mono.just(bulkResponse(request.url()));
+            }
+            ClientResponse response = response(calls.incrementAndGet());
+            Sinks.One<ClientResponse> pending = pendingResponse;
+            if (pending == null) {
+                return Mono.just(response);
+            }
+            return pending.asMono().map(ignored -> response);
+        });
+        reviewClient = reviewClient(false);
+    }
+
+    private ReviewClient reviewClient(boolean passThrough) {
+        meterRegistry = new SimpleMeterRegistry();
+        ReviewServiceGuard guard = new ReviewServiceGuard(meterRegistry, Duration.ofSeconds(1), 100,
+                new CircuitBreaker(20, 1000, 0.5, Duration.ofSeconds(10), 3, nanos::get), null);
+        return new ReviewClient(webClientBuilder, meterRegistry, guard,
+                new ReviewPassThrough(meterRegistry, passThrough, DataSize.ofKilobytes(64), 0), "http://reviews",
+                Duration.ofSeconds(30), Duration.ofMinutes(5), 100, 2, 2, nanos::get, Runnable::run);
+    }
+
+    private ClientResponse response(int call) {
+        return ClientResponse.create(status)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body("\"reviews-" + call + "\"")
+                .build();
+    }
+
+    /** Answer a bulk request the way the review service stub does, leaving out movie 4. */
+    private ClientResponse bulkResponse(URI url) {
+        List<Long> ids = UriComponentsBuilder.fromUri(url).build().getQueryParams().get("ids").stream()
+                .map(Long::valueOf)
+                .toList();
+        batches.add(ids);
+        Map<String, Object> body = new LinkedHashMap<>();
+        ids.stream().filter(id -> id != 4L).forEach(id -> body.put(String.valueOf(id), ReviewServiceStub.reviews(id)));
+        try {
+            return ClientResponse.create(status)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body(objectMapper.writeValueAsString(body))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Object read(long id) {
+        return reviewClient.getReviews(id).block(Duration.ofSeconds(5));
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    @Test
+    void getReviews_WithinTtl_ShouldServeFromCache() {
+        assertEquals("reviews-1", read(1L));
+        assertEquals("reviews-1", read(1L));
+
+        assertEquals(1, calls.get());
+        assertEquals(0.5, meterRegistry.get("movieworld.reviews.cache.hit.ratio").gauge().value());
+        assertEquals(1, meterRegistry.get("movieworld.reviews.fetch").tag("kind", "load").timer().count());
+    }
+
+    @Test
+    void getReviews_WhileFetchIsInFlight_ShouldJoinItInsteadOfCallingAgain() {
+        pendingResponse = Sinks.one();
+        CompletableFuture<Object> first = reviewClient.getReviews(1L).toFuture();
+        CompletableFuture<Object> second = reviewClient.getReviews(1L).toFuture();
+        CompletableFuture<Map<Long, Object>> bulk = reviewClient.getReviews(List.of(1L)).toFuture();
+
+        pendingResponse.tryEmitValue(response(0));
+
+        assertEquals("reviews-1", first.join());
+        assertEquals("reviews-1", second.join());
+        assertEquals(Map.of(1L, "reviews-1"), bulk.join());
+        assertEquals(1, calls.get());
+        assertEquals(2.0, meterRegistry.get("movieworld.reviews.coalesced").counter().count());
+    }
+
+    @Test
+    void getReviews_AfterTtl_ShouldServeStaleValueAndRefreshInBackground() {
+        read(1L);
+        advance(Duration.ofSeconds(31));
+        pendingResponse = Sinks.one();
+
+        assertEquals("reviews-1", read(1L));
+        assertEquals("reviews-1", read(1L));
+        assertEquals(2, calls.get());
+
+        pendingResponse.tryEmitValue(response(0));
+        assertEquals("reviews-2", read(1L));
+        assertEquals(1, meterRegistry.get("movieworld.reviews.fetch").tag("kind", "refresh").timer().count());
+    }
+
+    @Test
+    void getReviews_WhenRefreshFails_ShouldServeStaleValueUntilStaleLimit() {
+        read(1L);
+        status = HttpStatus.SERVICE_UNAVAILABLE;
+        advance(Duration.ofSeconds(31));
+
+        assertEquals("reviews-1", read(1L));
+        assertEquals("reviews-1", read(1L));
+
+        advance(Duration.ofMinutes(5));
+        assertNull(read(1L));
+        status = HttpStatus.OK;
+        assertNotNull(read(1L));
+    }
+
+    @Test
+    void getReviews_ForSeveralMovies_ShouldFetchMissesInBoundedBatches() {
+        read(1L);
+
+        Map<Long, Object> reviews = reviewClient.getReviews(List.of(1L, 2L, 3L, 4L, 5L)).block(Duration.ofSeconds(5));
+
+        assertEquals("reviews-1", reviews.get(1L));
+        assertEquals(ReviewServiceStub.reviews(2L).size(), ((List<?>) reviews.get(2L)).size());
+        assertEquals(List.of(), reviews.get(4L));
+        assertEquals(5, reviews.size());
+        assertEquals(2, batches.size());
+        assertTrue(batches.stream().allMatch(batch -> batch.size() <= 2 && !batch.contains(1L)));
+        assertEquals(1, calls.get());
+
+        reviewClient.getReviews(List.of(2L, 5L)).block(Duration.ofSeconds(5));
+        assertEquals(2, batches.size());
+    }
+
+    @Test
+    void getReviews_WhenBatchFails_ShouldLeaveItsMoviesOut() {
+        status = HttpStatus.SERVICE_UNAVAILABLE;
+
+        assertEquals(Map.of(), reviewClient.getReviews(List.of(1L, 2L)).block(Duration.ofSeconds(5)));
+
+        status = HttpStatus.OK;
+        assertEquals(2, reviewClient.getReviews(List.of(1L, 2L)).block(Duration.ofSeconds(5)).size());
+    }
+
+    @Test
+    void getReviews_InPassThroughMode_ShouldKeepPayloadsAsRawJson() throws JsonProcessingException {
+        reviewClient = reviewClient(true);
+
+        assertEquals("\"reviews-1\"", read(1L).toString());
+        Map<Long, Object> reviews = reviewClient.getReviews(List.of(2L, 3L, 4L)).block(Duration.ofSeconds(5));
+
+        assertInstanceOf(RawJson.class, reviews.get(2L));
+        assertEquals(objectMapper.writeValueAsString(ReviewServiceStub.reviews(2L)), reviews.get(2L).toString());
+        assertEquals(objectMapper.writeValueAsString(ReviewServiceStub.reviews(3L)), reviews.get(3L).toString());
+        assertEquals("[]", reviews.get(4L).toString());
+        assertEquals("\"reviews-1\"", read(1L).toString());
+        assertEquals(1, calls.get());
+    }
+}
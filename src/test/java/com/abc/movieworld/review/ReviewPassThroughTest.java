@@ -0,0 +1,86 @@
+package com.abc.movieworld.review;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReviewPassThroughTest {
+
+    private static final String REVIEWS = "[ {\"rating\":5,\"tags\":[\"a\",\"b\"]}, \"plain\", 42, null ]";
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private ReviewPassThrough passThrough(int maxBytes, int topN) {
+        return new ReviewPassThrough(meterRegistry, true, DataSize.ofBytes(maxBytes), topN);
+    }
+
+    private static byte[] utf8(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private double truncations(String reason) {
+        return meterRegistry.get("movieworld.reviews.truncated").tag("reason", reason).counter().count();
+    }
+
+    @Test
+    void reviews_WithinBounds_ShouldKeepPayloadAsReceived() {
+        assertEquals(REVIEWS, passThrough(1024, 0).reviews(utf8(REVIEWS)).toString());
+        assertEquals(0.0, truncations("top_n") + truncations("max_size"));
+    }
+
+    @Test
+    void reviews_WithTopN_ShouldKeepFirstReviews() {
+        assertEquals("[ {\"rating\":5,\"tags\":[\"a\",\"b\"]}, \"plain\"]",
+                passThrough(1024, 2).reviews(utf8(REVIEWS)).toString());
+        assertEquals(1.0, truncations("top_n"));
+    }
+
+    @Test
+    void reviews_OverMaxSize_ShouldKeepReviewsThatFit() {
+        assertEquals("[ {\"rating\":5,\"tags\":[\"a\",\"b\"]}, \"plain\", 42]",
+                passThrough(45, 0).reviews(utf8(REVIEWS)).toString());
+        assertEquals("[]", passThrough(10, 0).reviews(utf8(REVIEWS)).toString());
+        assertEquals(2.0, truncations("max_size"));
+    }
+
+    @Test
+    void reviews_WithObjectOverMaxSize_ShouldReplaceItWithNull() {
+        assertEquals("null", passThrough(20, 0).reviews(utf8("{\"reviews\":[1,2,3,4,5]}")).toString());
+        assertEquals("{\"reviews\":[1]}", passThrough(20, 0).reviews(utf8("{\"reviews\":[1]}")).toString());
+    }
+
+    @Test
+    void reviewsByMovie_ShouldSliceEachMovieAndBoundIt() {
+        String body = "{\"1\":" + REVIEWS + ",\"2\":[],\"3\":[{\"rating\":1},{\"rating\":2}]}";
+
+        Map<Long, Object> reviews = passThrough(1024, 1).reviewsByMovie(utf8(body), List.of(1L, 2L, 3L, 4L));
+
+        assertEquals("[ {\"rating\":5,\"tags\":[\"a\",\"b\"]}]", reviews.get(1L).toString());
+        assertEquals("[]", reviews.get(2L).toString());
+        assertEquals("[{\"rating\":1}]", reviews.get(3L).toString());
+        assertEquals("[]", reviews.get(4L).toString());
+        assertEquals(2.0, truncations("top_n"));
+    }
+
+    @Test
+    void serialize_ShouldWriteBytesAsTheyAre() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, Object> movie = Map.of("reviews", passThrough(1024, 0).reviews(utf8(REVIEWS)));
+
+        assertEquals("{\"reviews\":" + REVIEWS + "}", new String(objectMapper.writeValueAsBytes(movie), StandardCharsets.UTF_8));
+        assertEquals("{\"reviews\":" + REVIEWS + "}", objectMapper.writeValueAsString(movie));
+    }
+}
@@ -0,0 +1,143 @@
+package com.abc.movieworld.review;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReviewServiceGuardTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicInteger calls = new AtomicInteger();
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private ReviewServiceGuard guard(int maxConcurrent, Duration hedgeDelay) {
+        return new ReviewServiceGuard(meterRegistry, Duration.ofMillis(500), maxConcurrent,
+                new CircuitBreaker(4, 4, 0.5, Duration.ofSeconds(10), 2, nanos::get), hedgeDelay);
+    }
+
+    private <T> Supplier<Mono<T>> counted(Supplier<Mono<T>> response) {
+        return () -> {
+            calls.incrementAndGet();
+            return response.get();
+        };
+    }
+
+    private static Mono<String> serverError() {
+        return Mono.error(WebClientResponseException.create(503, "Service Unavailable", null, null, null));
+    }
+
+    private double circuitState(String state) {
+        return meterRegistry.get("movieworld.reviews.circuit.state").tag("state", state).gauge().value();
+    }
+
+    @Test
+    void call_AfterEnoughFailures_ShouldOpenAndFailFastThenRecoverThroughHalfOpen() {
+        ReviewServiceGuard guard = guard(10, null);
+        for (int i = 0; i < 2; i++) {
+            assertEquals("ok", guard.call(() -> Mono.just("ok")).block());
+            assertThrows(WebClientResponseException.class, () -> guard.call(ReviewServiceGuardTest::serverError).block());
+        }
+        assertEquals(1.0, circuitState("open"));
+
+        assertThrows(ReviewCallRejectedException.class, () -> guard.call(counted(() -> Mono.just("ok"))).block());
+        assertEquals(0, calls.get());
+        assertEquals(1.0, meterRegistry.get("movieworld.reviews.rejected").tag("reason", "circuit_open").counter().count());
+
+        nanos.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertEquals("ok", guard.call(() -> Mono.just("ok")).block());
+        assertEquals(1.0, circuitState("half_open"));
+        assertEquals("ok", guard.call(() -> Mono.just("ok")).block());
+        assertEquals(1.0, circuitState("closed"));
+    }
+
+    @Test
+    void call_GrantedWhileClosedAndEndingDuringHalfOpen_ShouldNotCountTowardsTrialCalls() {
+        ReviewServiceGuard guard = guard(10, null);
+        Sinks.One<String> slow = Sinks.one();
+        guard.call(slow::asMono).subscribe(value -> { }, error -> { });
+        Disposable cancelled = guard.call(Mono::<String>never).subscribe(value -> { }, error -> { });
+        for (int i = 0; i < 2; i++) {
+            assertEquals("ok", guard.call(() -> Mono.just("ok")).block());
+            assertThrows(WebClientResponseException.class, () -> guard.call(ReviewServiceGuardTest::serverError).block());
+        }
+        nanos.addAndGet(Duration.ofSeconds(10).toNanos());
+        Sinks.One<String> trial = Sinks.one();
+        guard.call(trial::asMono).subscribe(value -> { }, error -> { });
+
+        cancelled.dispose();
+        slow.tryEmitValue("late");
+        assertEquals("ok", guard.call(() -> Mono.just("ok")).block());
+
+        assertEquals(1.0, circuitState("half_open"));
+        assertThrows(ReviewCallRejectedException.class, () -> guard.call(counted(() -> Mono.just("ok"))).block());
+        assertEquals(0, calls.get());
+        trial.tryEmitValue("ok");
+        assertEquals(1.0, circuitState("closed"));
+    }
+
+    @Test
+    void call_WithTimeoutsAndClientErrors_ShouldOnlyCountTimeoutsAsFailures() {
+        ReviewServiceGuard guard = guard(10, null);
+        for (int i = 0; i < 4; i++) {
+            Mono<String> notFound = Mono.error(WebClientResponseException.create(404, "Not Found", null, null, null));
+            assertThrows(WebClientResponseException.class, () -> guard.call(() -> notFound).block());
+        }
+        assertEquals(1.0, circuitState("closed"));
+
+        for (int i = 0; i < 2; i++) {
+            RuntimeException error = assertThrows(RuntimeException.class, () -> guard.call(Mono::<String>never).block());
+            assertInstanceOf(TimeoutException.class, error.getCause());
+        }
+        assertEquals(1.0, circuitState("open"));
+    }
+
+    @Test
+    void call_BeyondBulkhead_ShouldRejectWithoutCalling() {
+        ReviewServiceGuard guard = guard(1, null);
+        guard.call(Mono::<String>never).subscribe();
+
+        assertThrows(ReviewCallRejectedException.class, () -> guard.call(counted(() -> Mono.just("ok"))).block());
+
+        assertEquals(0, calls.get());
+        assertEquals(1.0, meterRegistry.get("movieworld.reviews.rejected").tag("reason", "bulkhead_full").counter().count());
+        assertEquals(1.0, circuitState("closed"));
+    }
+
+    @Test
+    void call_WhenFirstRequestIsSlow_ShouldHedgeAndTakeFirstAnswer() {
+        ReviewServiceGuard guard = guard(10, Duration.ofMillis(20));
+
+        String response = guard.call(counted(() -> calls.get() == 1 ? Mono.<String>never() : Mono.just("hedged"))).block();
+
+        assertEquals("hedged", response);
+        assertEquals(2, calls.get());
+        assertEquals(1.0, meterRegistry.get("movieworld.reviews.hedged").counter().count());
+    }
+
+    @Test
+    void call_WhenFirstRequestIsFast_ShouldNotHedge() {
+        ReviewServiceGuard guard = guard(10, Duration.ofMillis(200));
+
+        assertEquals("ok", guard.call(counted(() -> Mono.just("ok"))).block());
+
+        assertEquals(1, calls.get());
+        assertEquals(0.0, meterRegistry.get("movieworld.reviews.hedged").counter().count());
+    }
+}
@@ -0,0 +1,70 @@
+package com.abc.movieworld.search;
+
+import com.abc.movieworld.catalog.CatalogChangedEvent;
+import com.abc.movieworld.dto.MovieDTO;
+import com.abc.movieworld.dto.SuggestionDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AutocompleteIndexTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AutocompleteIndex index;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        index = new AutocompleteIndex(meterRegistry);
+        index.onCatalogChanged(new CatalogChangedEvent(1L, List.of(
+                movie(1L, "The Dark Knight", "Christopher Nolan"),
+                movie(2L, "Memento", "Christopher Nolan"),
+                movie(3L, "Amélie", "Jean-Pierre Jeunet"),
+                movie(4L, "Dark City", "Alex Proyas")), Set.of(), true));
+    }
+
+    private MovieDTO movie(long id, String title, String director) {
+        return new MovieDTO(id, title, director, LocalDate.of(2000, 1, 1), 120, "Drama", null, null, null);
+    }
+
+    private List<String> texts(List<SuggestionDTO> suggestions) {
+        return suggestions.stream().map(SuggestionDTO::getText).toList();
+    }
+
+    @Test
+    void suggest_ShouldMatchAnyWordStartInAlphabeticalOrder() {
+        assertEquals(List.of("Dark City", "The Dark Knight"), texts(index.suggest("dar", 10)));
+        assertEquals(List.of("The Dark Knight"), texts(index.suggest("dark kn", 10)));
+        assertEquals(List.of("Dark City"), texts(index.suggest("dar", 1)));
+    }
+
+    @Test
+    void suggest_ShouldFoldCaseAndAccentsAndDeduplicate() {
+        assertEquals(List.of("Amélie"), texts(index.suggest("AME", 10)));
+        List<SuggestionDTO> directors = index.suggest("nolan", 10);
+        assertEquals(1, directors.size());
+        assertEquals(SuggestionDTO.DIRECTOR, directors.get(0).getType());
+    }
+
+    @Test
+    void onCatalogChanged_ShouldUpdateAndPruneIncrementally() {
+        double nodesBefore = meterRegistry.get("movieworld.autocomplete.nodes").gauge().value();
+
+        index.onCatalogChanged(new CatalogChangedEvent(2L,
+                List.of(movie(5L, "Zelig", "Woody Allen")), Set.of(), false));
+        index.onCatalogChanged(new CatalogChangedEvent(3L, List.of(), Set.of(5L), false));
+        assertEquals(nodesBefore, meterRegistry.get("movieworld.autocomplete.nodes").gauge().value());
+        index.onCatalogChanged(new CatalogChangedEvent(4L, List.of(movie(2L, "Tenet", "Christopher Nolan")), Set.of(), false));
+
+        assertTrue(index.suggest("zel", 10).isEmpty());
+        assertTrue(index.suggest("mem", 10).isEmpty());
+        assertEquals(List.of("Tenet"), texts(index.suggest("ten", 10)));
+        assertEquals(1, index.suggest("christopher", 10).size());
+    }
+}
@@ -0,0 +1,105 @@
+package com.abc.movieworld.search;
+
+import com.abc.movieworld.catalog.CatalogChangedEvent;
+import com.abc.movieworld.dto.MovieDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GenreIndexTest {
+
+    private GenreIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new GenreIndex(new SimpleMeterRegistry());
+        index.onCatalogChanged(new CatalogChangedEvent(1L, List.of(
+                movie(1L, "Action, Crime, Drama"),
+                movie(2L, "Crime,Drama"),
+                movie(3L, "Action"),
+                movie(4L, null)), Set.of(), true));
+    }
+
+    private MovieDTO movie(long id, String genre) {
+        return new MovieDTO(id, "Movie " + id, "Director", LocalDate.of(2000, 1, 1), 120, genre, null, null, null);
+    }
+
+    private List<Long> ids(GenreIndex.Selection selection) {
+        return selection.ids().stream().sorted().toList();
+    }
+
+    @Test
+    void select_ShouldIntersectOrUniteGenreBitmaps() {
+        assertEquals(List.of(1L, 2L), ids(index.select(List.of("crime", "DRAMA"), true)));
+        assertEquals(List.of(1L), ids(index.select(List.of("Action", "Drama"), true)));
+        assertEquals(List.of(1L, 2L, 3L), ids(index.select(List.of("Action", "Drama"), false)));
+        assertTrue(ids(index.select(List.of("Action", "Western"), true)).isEmpty());
+        assertEquals(List.of(1L, 2L, 3L, 4L), ids(index.select(List.of(), true)));
+    }
+
+    @Test
+    void facets_ShouldCountGenresWithinSelection() {
+        assertEquals(Map.of("Action", 2, "Crime", 2, "Drama", 2), index.facets(index.select(List.of(), true)));
+        assertEquals(Map.of("Action", 1, "Crime", 2, "Drama", 2), index.facets(index.select(List.of("Crime"), true)));
+    }
+
+    @Test
+    void onCatalogChanged_ShouldMoveChangedMoviesBetweenGenres() {
+        index.onCatalogChanged(new CatalogChangedEvent(2L, List.of(movie(3L, "Western")), Set.of(2L), false));
+
+        assertEquals(List.of(1L), ids(index.select(List.of("Action"), true)));
+        assertEquals(List.of(3L), ids(index.select(List.of("western"), true)));
+        assertEquals(Map.of("Action", 1, "Crime", 1, "Drama", 1, "Western", 1), index.facets(index.select(List.of(), true)));
+    }
+
+    @Test
+    void select_WithSparseAndLargeIds_ShouldKeepSelectionsValidAcrossChanges() {
+        long large = Integer.MAX_VALUE + 100L;
+        index.onCatalogChanged(new CatalogChangedEvent(2L, List.of(movie(large, "Crime"), movie(5_000L, "Crime")),
+                Set.of(), false));
+        GenreIndex.Selection crime = index.select(List.of("Crime"), true);
+
+        index.onCatalogChanged(new CatalogChangedEvent(3L, List.of(movie(6L, "Crime")), Set.of(2L), false));
+
+        assertEquals(List.of(1L, 5_000L, large), ids(crime));
+        assertTrue(crime.contains(large));
+        assertFalse(crime.contains(2L));
+        assertFalse(crime.contains(6L));
+        crime.retainIf(id -> id > 1_000L);
+        assertEquals(List.of(5_000L, large), ids(crime));
+        assertEquals(Map.of("Crime", 2), index.facets(crime));
+    }
+
+    @Test
+    void onCatalogChanged_ShouldReuseSlotsOfDeletedMoviesWithoutChangingEarlierSelections() {
+        GenreIndex.Selection all = index.select(List.of(), true);
+
+        index.onCatalogChanged(new CatalogChangedEvent(2L, List.of(movie(6L, "Western")), Set.of(2L), false));
+
+        assertEquals(4, index.slotCount());
+        assertEquals(List.of(1L, 3L, 4L), ids(all));
+        assertFalse(all.contains(6L));
+        assertEquals(Map.of("Action", 2, "Crime", 1, "Drama", 1), index.facets(all));
+        assertEquals(List.of(6L), ids(index.select(List.of("Western"), true)));
+    }
+
+    @Test
+    void onCatalogChanged_WithReset_ShouldHandOutSlotsFromZeroAgain() {
+        index.onCatalogChanged(new CatalogChangedEvent(2L, List.of(movie(7L, "Crime"), movie(8L, "Action")),
+                Set.of(), false));
+
+        index.onCatalogChanged(new CatalogChangedEvent(3L, List.of(movie(7L, "Crime"), movie(9L, "Drama")),
+                Set.of(), true));
+
+        assertEquals(2, index.slotCount());
+        assertEquals(List.of(7L, 9L), ids(index.select(List.of(), true)));
+        assertEquals(Map.of("Crime", 1, "Drama", 1), index.facets(index.select(List.of(), true)));
+    }
+}
@@ -0,0 +1,73 @@
+package com.abc.movieworld.search;
+
+import com.abc.movieworld.catalog.CatalogChangedEvent;
+import com.abc.movieworld.dto.MovieDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MovieSearchIndexTest {
+
+    private MovieSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new MovieSearchIndex(new SimpleMeterRegistry());
+        index.onCatalogChanged(new CatalogChangedEvent(1L, List.of(
+                movie(1L, "The Dark Knight", "Christopher Nolan", "Batman faces the Joker in Gotham"),
+                movie(2L, "Memento", "Christopher Nolan", "A man with amnesia hunts a killer"),
+                movie(3L, "Amélie", "Jean-Pierre Jeunet", "A shy waitress in Paris"),
+                movie(4L, "Knight and Day", "James Mangold", "A dark comedy of errors")), Set.of(), true));
+    }
+
+    private MovieDTO movie(long id, String title, String director, String description) {
+        return new MovieDTO(id, title, director, LocalDate.of(2000, 1, 1), 120, "Drama", null, description, null);
+    }
+
+    private List<Long> ids(MovieSearchIndex.Result result) {
+        return result.hits().stream().map(MovieSearchIndex.Hit::id).toList();
+    }
+
+    @Test
+    void search_ShouldRequireEveryTermAndRankTitleMatchesFirst() {
+        MovieSearchIndex.Result result = index.search("dark knight", 0, 10);
+
+        assertEquals(2, result.total());
+        assertEquals(List.of(1L, 4L), ids(result));
+    }
+
+    @Test
+    void search_ShouldFoldCaseAndAccents() {
+        assertEquals(List.of(3L), ids(index.search("AMELIE", 0, 10)));
+        assertEquals(List.of(3L), ids(index.search("amélie", 0, 10)));
+    }
+
+    @Test
+    void search_ShouldPageThroughRankedHits() {
+        MovieSearchIndex.Result firstPage = index.search("nolan", 0, 1);
+        MovieSearchIndex.Result secondPage = index.search("nolan", 1, 1);
+
+        assertEquals(2, firstPage.total());
+        assertEquals(1, firstPage.hits().size());
+        assertEquals(1, secondPage.hits().size());
+        assertNotEquals(firstPage.hits().get(0).id(), secondPage.hits().get(0).id());
+        assertTrue(index.search("nolan", 2, 1).hits().isEmpty());
+    }
+
+    @Test
+    void onCatalogChanged_ShouldReindexOnlyChangedMovies() {
+        index.onCatalogChanged(new CatalogChangedEvent(2L,
+                List.of(movie(2L, "Inception", "Christopher Nolan", "Dreams within dreams")), Set.of(1L), false));
+
+        assertTrue(index.search("memento", 0, 10).hits().isEmpty());
+        assertEquals(List.of(2L), ids(index.search("inception", 0, 10)));
+        assertEquals(List.of(4L), ids(index.search("knight", 0, 10)));
+        assertEquals(List.of(3L), ids(index.search("paris", 0, 10)));
+    }
+}
@@ -0,0 +1,138 @@
+package com.abc.movieworld.service;
+
+import com.abc.movieworld.catalog.MovieCatalog;
+import com.abc.movieworld.catalog.MovieChangeLog;
+import com.abc.movieworld.dto.BulkResultDTO;
+import com.abc.movieworld.dto.MovieDTO;
+import com.abc.movieworld.mapper.MovieMapper;
+import com.abc.movieworld.model.Movie;
+import com.abc.movieworld.repository.MovieRepository;
+import com.abc.movieworld.review.ReviewClient;
+import com.abc.movieworld.search.AutocompleteIndex;
+import com.abc.movieworld.search.GenreIndex;
+import com.abc.movieworld.search.MovieSearchIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the bulk writes of the movie service against the database, each in its own committed
+ * transaction, and reads the movies back to check what was actually stored.
+ */
+@DataJpaTest
+@Import({MovieServiceImpl.class, MovieCatalog.class, MovieChangeLog.class, MovieMapper.class,
+        MovieSearchIndex.class, GenreIndex.class, AutocompleteIndex.class, MovieServicePersistenceTest.Config.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class MovieServicePersistenceTest {
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        Validator validator() {
+            return Validation.buildDefaultValidatorFactory().getValidator();
+        }
+    }
+
+    @MockBean
+    private ReviewClient reviewClient;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @AfterEach
+    void tearDown() {
+        movieRepository.deleteAll();
+    }
+
+    private MovieDTO movie(String title, String director, int durationMinutes) {
+        return new MovieDTO(null, title, director, LocalDate.of(2001, 5, 4), durationMinutes, "Drama", null, null, null);
+    }
+
+    @Test
+    void replaceMovies_ShouldPersistNewValuesOfExistingMovies() {
+        MovieDTO created = movieService.createMovie(movie("Original Title", "Original Director", 100));
+        Movie before = movieRepository.findById(created.getId()).orElseThrow();
+
+        BulkResultDTO result = movieService.replaceMovies(List.of(
+                movie("Replaced Title", "Replaced Director", 140).toBuilder().id(created.getId()).build()));
+
+        assertEquals(1, result.getSucceeded());
+        assertEquals(List.of(created.getId()), result.getIds());
+        Movie after = movieRepository.findById(created.getId()).orElseThrow();
+        assertEquals("Replaced Title", after.getTitle());
+        assertEquals("Replaced Director", after.getDirector());
+        assertEquals(140, after.getDurationMinutes());
+        assertTrue(after.getRevision() > before.getRevision());
+        assertEquals(before.getVersion() + 1, after.getVersion());
+    }
+
+    @Test
+    void upsertMovies_ShouldPersistNewValuesOfMoviesMatchedByIdOrTitle() {
+        MovieDTO byId = movieService.createMovie(movie("By Id", "Old Director", 100));
+        MovieDTO byTitle = movieService.createMovie(movie("By Title", "Old Director", 110));
+        AtomicBoolean ranInTransaction = new AtomicBoolean();
+
+        List<Long> ids = movieService.upsertMovies(List.of(
+                movie("By Id Renamed", "New Director", 101).toBuilder().id(byId.getId()).build(),
+                movie("By Title", "New Director", 111),
+                movie("Inserted", "New Director", 120)), () -> ranInTransaction.set(true));
+
+        assertTrue(ranInTransaction.get());
+        assertEquals(List.of(byId.getId(), byTitle.getId()), ids.subList(0, 2));
+        Movie renamed = movieRepository.findById(byId.getId()).orElseThrow();
+        assertEquals("By Id Renamed", renamed.getTitle());
+        assertEquals("New Director", renamed.getDirector());
+        assertEquals(101, renamed.getDurationMinutes());
+        Movie matched = movieRepository.findById(byTitle.getId()).orElseThrow();
+        assertEquals("New Director", matched.getDirector());
+        assertEquals(111, matched.getDurationMinutes());
+        assertEquals("Inserted", movieRepository.findById(ids.get(2)).orElseThrow().getTitle());
+        assertEquals(3, movieRepository.count());
+    }
+
+    @Test
+    void createMovie_ShouldLeaveMovieUncachedUntilItIsRead() {
+        MovieDTO created = movieService.createMovie(movie("Created", "Director", 100));
+
+        assertNull(cacheManager.getCache("movies").get(created.getId()));
+        assertEquals("Created", movieService.getMovieById(created.getId()).orElseThrow().getTitle());
+        MovieDTO cached = (MovieDTO) cacheManager.getCache("movies").get(created.getId()).get();
+        assertEquals("Created", cached.getTitle());
+    }
+}
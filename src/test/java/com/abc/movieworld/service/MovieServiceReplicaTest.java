@@ -0,0 +1,80 @@
+package com.abc.movieworld.service;
+
+import com.abc.movieworld.catalog.MovieCatalog;
+import com.abc.movieworld.catalog.MovieChangeLog;
+import com.abc.movieworld.config.ReplicaDataSourceConfig;
+import com.abc.movieworld.dto.MovieDTO;
+import com.abc.movieworld.mapper.MovieMapper;
+import com.abc.movieworld.model.Movie;
+import com.abc.movieworld.repository.MovieRepository;
+import com.abc.movieworld.review.ReviewClient;
+import com.abc.movieworld.search.AutocompleteIndex;
+import com.abc.movieworld.search.GenreIndex;
+import com.abc.movieworld.search.MovieSearchIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the movie service with the read replica enabled, on two H2 databases. Only the primary holds
+ * the schema, so any read sent to the replica fails.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ReplicaDataSourceConfig.class, MovieServiceImpl.class, MovieCatalog.class, MovieChangeLog.class,
+        MovieMapper.class, MovieSearchIndex.class, GenreIndex.class, AutocompleteIndex.class,
+        MovieServicePersistenceTest.Config.class})
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:replica-test-primary;DB_CLOSE_DELAY=-1",
+        "movieworld.datasource.replica.enabled=true",
+        "movieworld.datasource.replica.url=jdbc:h2:mem:replica-test-replica;DB_CLOSE_DELAY=-1"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class MovieServiceReplicaTest {
+
+    @MockBean
+    private ReviewClient reviewClient;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        movieRepository.deleteAll();
+    }
+
+    private double reads(String pool) {
+        return meterRegistry.get("movieworld.datasource.reads").tag("pool", pool).counter().count();
+    }
+
+    @Test
+    void getMovieById_OnCacheMiss_ShouldLoadMovieFromPrimary() {
+        Movie movie = movieRepository.save(new Movie(null, "Primary Movie", "Director", LocalDate.of(2001, 5, 4),
+                100, "Drama", null, null, null));
+        double primaryReads = reads("primary");
+        double replicaReads = reads("replica");
+
+        MovieDTO found = movieService.getMovieById(movie.getId()).orElseThrow();
+
+        assertEquals("Primary Movie", found.getTitle());
+        assertEquals(primaryReads + 1, reads("primary"));
+        assertEquals(replicaReads, reads("replica"));
+    }
+}
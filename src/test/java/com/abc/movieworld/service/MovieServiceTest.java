@@ -1,29 +1,73 @@
 package com.abc.movieworld.service;
 
+import com.abc.movieworld.catalog.CatalogChangedEvent;
+import com.abc.movieworld.catalog.CatalogNotLoadedException;
+import com.abc.movieworld.catalog.CatalogSnapshot;
+import com.abc.movieworld.catalog.MovieCatalog;
+import com.abc.movieworld.catalog.MovieChangeLog;
+import com.abc.movieworld.dto.BulkResultDTO;
+import com.abc.movieworld.dto.ChangeEventDTO;
+import com.abc.movieworld.dto.ChangeFeedDTO;
 import com.abc.movieworld.dto.MovieDTO;
+import com.abc.movieworld.dto.MovieField;
+import com.abc.movieworld.dto.MovieFilter;
+import com.abc.movieworld.dto.MoviePageDTO;
+import com.abc.movieworld.dto.MovieSort;
 import com.abc.movieworld.mapper.MovieMapper;
 import com.abc.movieworld.model.Movie;
+import com.abc.movieworld.model.MovieChange;
 import com.abc.movieworld.repository.MovieRepository;
+import com.abc.movieworld.review.ReviewClient;
+import com.abc.movieworld.search.AutocompleteIndex;
+import com.abc.movieworld.search.GenreIndex;
+import com.abc.movieworld.search.MovieSearchIndex;
+import jakarta.persistence.Tuple;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.util.ReflectionTestUtils;
-import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import reactor.core.publisher.Mono;
 
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,29 +78,44 @@ public class MovieServiceTest {
     private MovieRepository movieRepository;
 
     @Mock
-    private WebClient.Builder webClientBuilder;
+    private ReviewClient reviewClient;
 
     @Mock
     private MovieMapper movieMapper;
 
+    @Mock
+    private MovieCatalog movieCatalog;
+
+    @Mock
+    private MovieChangeLog movieChangeLog;
+
+    @Mock
+    private MovieSearchIndex movieSearchIndex;
+
+    @Mock
+    private AutocompleteIndex autocompleteIndex;
+
+    @Spy
+    private GenreIndex genreIndex = new GenreIndex(new SimpleMeterRegistry());
+
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager();
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
     @InjectMocks
     private MovieServiceImpl movieService;
 
+    private SimpleTransactionStatus transaction;
     private Movie testMovie;
     private MovieDTO testMovieDTO;
     private List<Movie> testMovies;
     private List<MovieDTO> testMovieDTOs;
 
-    // Mocks for WebClient chain
-    @Mock
-    private WebClient webClient;
-    @Mock
-    private WebClient.RequestHeadersUriSpec requestHeadersUriSpec;
-    @Mock
-    private WebClient.RequestHeadersSpec requestHeadersSpec;
-    @Mock
-    private WebClient.ResponseSpec responseSpec;
-
     @BeforeEach
     void setUp() {
         // Initialize test data
@@ -68,14 +127,16 @@ public class MovieServiceTest {
         MovieDTO movieDTO2 = new MovieDTO(2L, "Test Movie 2", "Test Director 2", LocalDate.now(), 130, "Drama", "test_movie2.jpg", "Test movie 2 description", null);
         testMovieDTOs = Arrays.asList(testMovieDTO, movieDTO2);
 
-        // Set private field for movieReviewServiceUrl
-        ReflectionTestUtils.setField(movieService, "movieReviewServiceUrl", "http://fake-url");
-
-        // Mock WebClient builder chain
-        when(webClientBuilder.build()).thenReturn(webClient);
-        when(webClient.get()).thenReturn(requestHeadersUriSpec);
-        when(requestHeadersUriSpec.uri(anyString(), any(Long.class))).thenReturn(requestHeadersSpec);
-        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        ReflectionTestUtils.setField(movieService, "defaultPageLimit", 20);
+        ReflectionTestUtils.setField(movieService, "maxPageLimit", 100);
+        ReflectionTestUtils.setField(movieService, "exportFetchSize", 500);
+        ReflectionTestUtils.setField(movieService, "defaultSuggestionLimit", 10);
+        ReflectionTestUtils.setField(movieService, "bulkBatchSize", 2);
+        ReflectionTestUtils.setField(movieService, "bulkMaxItems", 10);
+        ReflectionTestUtils.setField(movieService, "defaultChangeLimit", 100);
+        ReflectionTestUtils.setField(movieService, "maxChangeLimit", 1000);
+        transaction = new SimpleTransactionStatus();
+        when(transactionManager.getTransaction(any())).thenReturn(transaction);
     }
 
     @Test
@@ -91,6 +152,219 @@ public class MovieServiceTest {
         verify(movieMapper).toDTOList(testMovies);
     }
 
+    @Test
+    void getMoviesPage_WhenMoreRowsExist_ShouldReturnCursorForNextPage() {
+        when(movieRepository.findFirstPageById(any())).thenReturn(testMovies);
+        when(movieMapper.toDTOList(testMovies)).thenReturn(testMovieDTOs);
+
+        MoviePageDTO page = movieService.getMoviesPage(null, 1, MovieSort.ID);
+
+        assertEquals(1, page.getItems().size());
+        assertNotNull(page.getNextCursor());
+        verify(movieRepository).findFirstPageById(PageRequest.of(0, 2));
+    }
+
+    @Test
+    void getMoviesPage_WithCursor_ShouldResumeAfterCursor() {
+        when(movieRepository.findFirstPageByTitle(any())).thenReturn(testMovies);
+        when(movieMapper.toDTOList(testMovies)).thenReturn(testMovieDTOs);
+        String cursor = movieService.getMoviesPage(null, 1, MovieSort.TITLE).getNextCursor();
+
+        when(movieRepository.findPageByTitleAfter(eq("Test Movie"), eq(1L), any())).thenReturn(List.of());
+        when(movieMapper.toDTOList(List.of())).thenReturn(List.of());
+        MoviePageDTO page = movieService.getMoviesPage(cursor, 1, MovieSort.TITLE);
+
+        assertTrue(page.getItems().isEmpty());
+        assertNull(page.getNextCursor());
+        verify(movieRepository).findPageByTitleAfter(eq("Test Movie"), eq(1L), any());
+    }
+
+    @Test
+    void getMoviesPage_WithCursorFromOtherSort_ShouldThrow() {
+        when(movieRepository.findFirstPageById(any())).thenReturn(testMovies);
+        when(movieMapper.toDTOList(any())).thenReturn(testMovieDTOs);
+        String cursor = movieService.getMoviesPage(null, 1, MovieSort.ID).getNextCursor();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> movieService.getMoviesPage(cursor, 1, MovieSort.RELEASE_DATE));
+        assertThrows(IllegalArgumentException.class,
+                () -> movieService.getMoviesPage("not-a-cursor", 1, MovieSort.ID));
+    }
+
+    @Test
+    void getMoviesPage_WithFields_ShouldSelectOnlyThoseColumnsPlusCursorKeys() {
+        Tuple row = mock(Tuple.class);
+        when(row.get("id")).thenReturn(1L);
+        when(row.get("title")).thenReturn("Test Movie");
+        when(row.get("releaseDate")).thenReturn(LocalDate.of(2020, 1, 1));
+        when(movieRepository.findPageColumns(any(), any(), eq(MovieSort.RELEASE_DATE), any(), any(), eq(21))).thenReturn(List.of(row));
+
+        MoviePageDTO page = movieService.getMoviesPage(null, null, MovieSort.RELEASE_DATE, Set.of(MovieField.TITLE), MovieFilter.none());
+
+        assertEquals("Test Movie", page.getItems().get(0).getTitle());
+        assertNull(page.getItems().get(0).getDescription());
+        verify(movieRepository).findPageColumns(List.of("id", "title", "releaseDate"), MovieFilter.none(), MovieSort.RELEASE_DATE, null, null, 21);
+        verify(movieRepository, never()).findFirstPageByReleaseDate(any());
+    }
+
+    @Test
+    void getMoviesPage_WithSnapshot_ShouldNotQueryRepository() {
+        CatalogSnapshot snapshot = CatalogSnapshot.of(3L, List.of(
+                new CatalogSnapshot.Entry(testMovieDTOs.get(0), 1L),
+                new CatalogSnapshot.Entry(testMovieDTOs.get(1), 2L)));
+        when(movieCatalog.current()).thenReturn(Optional.of(snapshot));
+
+        MoviePageDTO firstPage = movieService.getMoviesPage(null, 1, MovieSort.ID);
+        MoviePageDTO secondPage = movieService.getMoviesPage(firstPage.getNextCursor(), 1, MovieSort.ID);
+
+        assertEquals(1L, firstPage.getItems().get(0).getId());
+        assertEquals(2L, secondPage.getItems().get(0).getId());
+        assertNull(secondPage.getNextCursor());
+        assertEquals(3L, secondPage.getCatalogVersion());
+        verifyNoInteractions(movieRepository);
+    }
+
+    @Test
+    void getMoviesPage_WithGenreFilter_ShouldPageMatchingSnapshotMovies() {
+        MovieDTO thriller = new MovieDTO(3L, "Heat", "Michael Mann", LocalDate.of(1995, 1, 1), 170, "Crime, Thriller", null, null, null);
+        List<MovieDTO> movies = List.of(testMovieDTOs.get(0), testMovieDTOs.get(1), thriller);
+        CatalogSnapshot snapshot = CatalogSnapshot.of(3L, movies.stream().map(movie -> new CatalogSnapshot.Entry(movie, 1L)).toList());
+        when(movieCatalog.current()).thenReturn(Optional.of(snapshot));
+        genreIndex.onCatalogChanged(new CatalogChangedEvent(3L, movies, Set.of(), true));
+        MovieFilter filter = MovieFilter.builder().genres(Set.of("thriller", "ACTION")).matchAllGenres(false).build();
+
+        MoviePageDTO firstPage = movieService.getMoviesPage(null, 1, MovieSort.ID, MovieField.ALL, filter);
+        MoviePageDTO secondPage = movieService.getMoviesPage(firstPage.getNextCursor(), 1, MovieSort.ID, MovieField.ALL, filter);
+
+        assertEquals(1L, firstPage.getItems().get(0).getId());
+        assertEquals(3L, secondPage.getItems().get(0).getId());
+        assertNull(secondPage.getNextCursor());
+        assertEquals(Map.of("Action", 1, "Crime", 1, "Thriller", 1), movieService.getGenreFacets(filter));
+    }
+
+    @Test
+    void getMoviesPage_WithGenreFilterBeforeSnapshot_ShouldFilterDatabaseRows() {
+        MovieFilter filter = MovieFilter.builder().genres(Set.of("drama")).build();
+        when(movieRepository.findPage(filter, MovieSort.ID, null, null, 11)).thenReturn(testMovies);
+        when(movieMapper.toDTOList(testMovies)).thenReturn(testMovieDTOs);
+
+        MoviePageDTO page = movieService.getMoviesPage(null, 10, MovieSort.ID, MovieField.ALL, filter);
+
+        assertEquals(List.of(2L), page.getItems().stream().map(MovieDTO::getId).toList());
+    }
+
+    @Test
+    void getMoviesPage_WithColumnFilter_ShouldUseIndexedQueryEvenWithSnapshot() {
+        CatalogSnapshot snapshot = CatalogSnapshot.of(3L, List.of(
+                new CatalogSnapshot.Entry(testMovieDTOs.get(0), 1L),
+                new CatalogSnapshot.Entry(testMovieDTOs.get(1), 2L)));
+        when(movieCatalog.current()).thenReturn(Optional.of(snapshot));
+        MovieFilter filter = MovieFilter.builder().director("Test Director").minDuration(90).build();
+        when(movieRepository.findPage(filter, MovieSort.DIRECTOR, null, null, 2)).thenReturn(testMovies);
+        when(movieMapper.toDTOList(testMovies)).thenReturn(testMovieDTOs);
+
+        MoviePageDTO page = movieService.getMoviesPage(null, 1, MovieSort.DIRECTOR, MovieField.ALL, filter);
+
+        assertEquals(List.of(1L), page.getItems().stream().map(MovieDTO::getId).toList());
+        assertNotNull(page.getNextCursor());
+        assertNull(page.getCatalogVersion());
+        assertEquals(Optional.empty(), movieService.getCatalogVersion(filter));
+        assertEquals(Optional.of(3L), movieService.getCatalogVersion(MovieFilter.builder().genres(Set.of("Drama")).build()));
+        verify(movieRepository).findPage(filter, MovieSort.DIRECTOR, null, null, 2);
+    }
+
+    @Test
+    void searchMovies_ShouldResolveHitsFromSnapshotAndReturnNextOffset() {
+        CatalogSnapshot snapshot = CatalogSnapshot.of(3L, List.of(
+                new CatalogSnapshot.Entry(testMovieDTOs.get(0), 1L),
+                new CatalogSnapshot.Entry(testMovieDTOs.get(1), 2L)));
+        when(movieCatalog.current()).thenReturn(Optional.of(snapshot));
+        when(movieSearchIndex.search("test", 0, 1)).thenReturn(
+                new MovieSearchIndex.Result(List.of(new MovieSearchIndex.Hit(2L, 1.5)), 2));
+
+        MoviePageDTO page = movieService.searchMovies("test", null, 1);
+
+        assertEquals(List.of(2L), page.getItems().stream().map(MovieDTO::getId).toList());
+        assertEquals("1", page.getNextCursor());
+        verifyNoInteractions(movieRepository);
+    }
+
+    @Test
+    void searchMovies_BeforeSnapshot_ShouldThrowCatalogNotLoaded() {
+        assertThrows(CatalogNotLoadedException.class, () -> movieService.searchMovies("test", null, null));
+        assertThrows(CatalogNotLoadedException.class, () -> movieService.autocomplete("ter", null));
+        verifyNoInteractions(movieSearchIndex, autocompleteIndex);
+    }
+
+    @Test
+    void getGenreFacets_BeforeSnapshot_ShouldCountGenresInDatabase() {
+        MovieFilter filter = MovieFilter.builder().genres(Set.of("drama")).director("Director").build();
+        Map<String, Long> counts = new HashMap<>();
+        counts.put("Drama, Crime", 2L);
+        counts.put("drama, Drama", 1L);
+        counts.put("Crime", 4L);
+        counts.put(null, 3L);
+        when(movieRepository.countByGenre(MovieFilter.builder().director("Director").build())).thenReturn(counts);
+
+        assertEquals(Map.of("Drama", 3, "Crime", 2), movieService.getGenreFacets(filter));
+    }
+
+    @Test
+    void autocomplete_ShouldUseDefaultAndClampLimit() {
+        when(movieCatalog.current()).thenReturn(Optional.of(CatalogSnapshot.of(1L, List.of())));
+        movieService.autocomplete("ter", null);
+        movieService.autocomplete("ter", 1000);
+
+        verify(autocompleteIndex).suggest("ter", 10);
+        verify(autocompleteIndex).suggest("ter", 100);
+    }
+
+    @Test
+    void searchMovies_WithBlankQueryOrBadCursor_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> movieService.searchMovies(" ", null, null));
+        assertThrows(IllegalArgumentException.class, () -> movieService.searchMovies("test", "abc", null));
+    }
+
+    @Test
+    void getAllMovies_WithSnapshot_ShouldServeFromSnapshot() {
+        CatalogSnapshot snapshot = CatalogSnapshot.of(3L, List.of(new CatalogSnapshot.Entry(testMovieDTO, 1L)));
+        when(movieCatalog.current()).thenReturn(Optional.of(snapshot));
+
+        List<MovieDTO> result = movieService.getAllMovies();
+
+        assertEquals(List.of(testMovieDTO), result);
+        verify(movieRepository, never()).findAll();
+    }
+
+    @Test
+    void onCatalogChanged_ShouldEvictChangedMovies() {
+        when(movieRepository.findById(1L)).thenReturn(Optional.of(testMovie));
+        when(movieMapper.toDTO(testMovie)).thenReturn(testMovieDTO);
+        movieService.getMovieById(1L);
+
+        movieService.onCatalogChanged(new CatalogChangedEvent(4L, List.of(testMovieDTO), Set.of(), false));
+        movieService.getMovieById(1L);
+
+        verify(movieRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void exportMovies_ShouldMapEachScrolledMovie() {
+        when(movieRepository.scrollAll(eq(500), any())).thenAnswer(invocation -> {
+            Consumer<Movie> action = invocation.getArgument(1);
+            testMovies.forEach(action);
+            return (long) testMovies.size();
+        });
+        when(movieMapper.toDTO(testMovies.get(0))).thenReturn(testMovieDTOs.get(0));
+        when(movieMapper.toDTO(testMovies.get(1))).thenReturn(testMovieDTOs.get(1));
+        List<MovieDTO> exported = new ArrayList<>();
+
+        long count = movieService.exportMovies(exported::add);
+
+        assertEquals(2, count);
+        assertEquals(testMovieDTOs, exported);
+    }
+
     @Test
     void getMovieById_WithExistingId_ShouldReturnMovieDTO() {
         when(movieRepository.findById(1L)).thenReturn(Optional.of(testMovie));
@@ -104,11 +378,64 @@ public class MovieServiceTest {
         verify(movieMapper).toDTO(testMovie);
     }
 
+    @Test
+    void getMovieById_CalledTwice_ShouldQueryRepositoryOnce() {
+        when(movieRepository.findById(1L)).thenReturn(Optional.of(testMovie));
+        when(movieMapper.toDTO(testMovie)).thenReturn(testMovieDTO);
+
+        movieService.getMovieById(1L);
+        Optional<MovieDTO> result = movieService.getMovieById(1L);
+
+        assertTrue(result.isPresent());
+        verify(movieRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void getMovieById_AfterUpdate_ShouldReloadUpdatedMovie() {
+        MovieDTO updatedDTO = testMovieDTO.toBuilder().title("Updated").build();
+        Movie updatedMovie = new Movie(1L, "Updated", "Test Director", LocalDate.now(), 120, "Action", null, null, null);
+        when(movieRepository.findById(1L)).thenReturn(Optional.of(testMovie), Optional.of(updatedMovie));
+        when(movieMapper.toDTO(testMovie)).thenReturn(testMovieDTO);
+        when(movieMapper.toDTO(updatedMovie)).thenReturn(updatedDTO);
+        when(movieRepository.updateOne(eq(1L), eq(2L), any(), anyLong())).thenReturn(1);
+
+        movieService.getMovieById(1L);
+        movieService.updateMovie(1L, updatedDTO, 2L);
+        Optional<MovieDTO> result = movieService.getMovieById(1L);
+
+        assertEquals("Updated", result.get().getTitle());
+        verify(movieRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void getMovieById_AfterDelete_ShouldReturnEmpty() {
+        when(movieRepository.findById(1L)).thenReturn(Optional.of(testMovie), Optional.empty());
+        when(movieMapper.toDTO(testMovie)).thenReturn(testMovieDTO);
+        when(movieRepository.deleteOne(1L, null)).thenReturn(1);
+
+        movieService.getMovieById(1L);
+        movieService.deleteMovie(1L, null);
+
+        assertFalse(movieService.getMovieById(1L).isPresent());
+    }
+
+    @Test
+    void getMovieWithReviews_ShouldNotAttachReviewsToCachedMovie() {
+        when(movieRepository.findById(1L)).thenReturn(Optional.of(testMovie));
+        when(movieMapper.toDTO(testMovie)).thenReturn(testMovieDTO);
+        when(reviewClient.getReviews(1L)).thenReturn(Mono.just("reviews"));
+
+        movieService.getMovieWithReviews(1L);
+
+        assertNull(movieService.getMovieById(1L).get().getReviews());
+        verify(movieRepository, times(1)).findById(1L);
+    }
+
     @Test
     void getMovieWithReviews_ShouldReturnMovieWithReviews() {
         String reviewsJson = "[{\"id\":1,\"comment\":\"Great!\"}]";
         when(movieRepository.findById(1L)).thenReturn(Optional.of(testMovie));
-        when(responseSpec.bodyToMono(Object.class)).thenReturn(Mono.just(reviewsJson));
+        when(reviewClient.getReviews(1L)).thenReturn(Mono.just(reviewsJson));
         when(movieMapper.toDTO(any(Movie.class))).thenAnswer(invocation -> {
             Movie movie = invocation.getArgument(0);
             return new MovieDTO(movie.getId(), movie.getTitle(), movie.getDirector(), movie.getReleaseDate(), 
@@ -123,8 +450,43 @@ public class MovieServiceTest {
         verify(movieRepository).findById(1L);
     }
 
+    @Test
+    void getMovieWithReviewsAsync_ShouldReturnMovieWithoutReviewsWhenReviewsAreUnavailable() {
+        when(movieRepository.findById(1L)).thenReturn(Optional.of(testMovie));
+        when(movieMapper.toDTO(testMovie)).thenReturn(testMovieDTO);
+        when(reviewClient.getReviews(1L)).thenReturn(Mono.empty());
+
+        MovieDTO result = movieService.getMovieWithReviewsAsync(1L).block(Duration.ofSeconds(5));
+
+        assertNotNull(result);
+        assertEquals("Test Movie", result.getTitle());
+        assertNull(result.getReviews());
+    }
+
+    @Test
+    void getMovieWithReviewsAsync_WithNonExistingId_ShouldCompleteEmpty() {
+        when(movieRepository.findById(999L)).thenReturn(Optional.empty());
+        when(reviewClient.getReviews(999L)).thenReturn(Mono.just("reviews"));
+
+        assertNull(movieService.getMovieWithReviewsAsync(999L).block(Duration.ofSeconds(5)));
+    }
+
+    @Test
+    void withReviews_ShouldFetchReviewsOnceForAllMoviesAndLeaveOriginalsUntouched() {
+        when(reviewClient.getReviews(List.of(1L, 2L))).thenReturn(Mono.just(Map.of(1L, "reviews of 1")));
+
+        List<MovieDTO> result = movieService.withReviews(testMovieDTOs).block(Duration.ofSeconds(5));
+
+        assertEquals(List.of(1L, 2L), result.stream().map(MovieDTO::getId).toList());
+        assertEquals("reviews of 1", result.get(0).getReviews());
+        assertNull(result.get(1).getReviews());
+        assertNull(testMovieDTOs.get(0).getReviews());
+        verify(reviewClient).getReviews(List.of(1L, 2L));
+    }
+
     @Test
     void createMovie_ShouldSaveAndReturnMovieDTO() {
+        when(movieCatalog.nextRevision()).thenReturn(7L);
         when(movieMapper.toEntity(testMovieDTO)).thenReturn(testMovie);
         when(movieRepository.save(testMovie)).thenReturn(testMovie);
         when(movieMapper.toDTO(testMovie)).thenReturn(testMovieDTO);
@@ -136,32 +498,426 @@ public class MovieServiceTest {
         verify(movieRepository).save(testMovie);
         verify(movieMapper).toEntity(testMovieDTO);
         verify(movieMapper).toDTO(testMovie);
+        assertEquals(7L, testMovie.getRevision());
+        verify(movieCatalog).recordWrite();
     }
 
     @Test
-    void updateMovie_WithExistingId_ShouldUpdateAndReturnMovieDTO() {
-        when(movieRepository.findById(1L)).thenReturn(Optional.of(testMovie));
-        when(movieRepository.save(any(Movie.class))).thenReturn(testMovie);
+    void createMovie_InTransaction_ShouldEvictCachedMissOnceCommitted() {
+        when(movieMapper.toEntity(testMovieDTO)).thenReturn(testMovie);
+        when(movieRepository.save(testMovie)).thenReturn(testMovie);
         when(movieMapper.toDTO(testMovie)).thenReturn(testMovieDTO);
+        cacheManager.getCache("movies").put(1L, null);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            movieService.createMovie(testMovieDTO);
+
+            assertNotNull(cacheManager.getCache("movies").get(1L));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertNull(cacheManager.getCache("movies").get(1L));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
 
-        MovieDTO result = movieService.updateMovie(1L, testMovieDTO);
+    private MovieDTO newMovie(String title) {
+        return new MovieDTO(null, title, "Bulk Director", LocalDate.of(2020, 1, 1), 100, "Drama", null, null, null);
+    }
 
-        assertNotNull(result);
-        verify(movieRepository).findById(1L);
-        verify(movieRepository).save(testMovie);
-        verify(movieMapper).updateEntityFromDTO(testMovie, testMovieDTO);
-        verify(movieMapper).toDTO(testMovie);
+    /** Map DTOs to entities as the mapper does, and let the repository assign IDs from 100 up. */
+    private List<List<String>> stubBulkInserts(String failingTitle) {
+        List<List<String>> batches = new ArrayList<>();
+        when(movieMapper.toEntity(any(MovieDTO.class))).thenAnswer(invocation -> {
+            MovieDTO dto = invocation.getArgument(0);
+            return new Movie(dto.getId(), dto.getTitle(), dto.getDirector(), dto.getReleaseDate(),
+                    dto.getDurationMinutes(), dto.getGenre(), null, null, null);
+        });
+        doAnswer(invocation -> {
+            List<Movie> movies = invocation.getArgument(0);
+            List<String> titles = movies.stream().map(Movie::getTitle).toList();
+            batches.add(titles);
+            if (titles.contains(failingTitle)) {
+                throw new DataIntegrityViolationException("insert failed", new SQLException("Data too long"));
+            }
+            movies.forEach(movie -> movie.setId(100L + Integer.parseInt(movie.getTitle().substring(6))));
+            return null;
+        }).when(movieRepository).insertAll(anyList(), eq(2));
+        return batches;
     }
 
     @Test
-    void deleteMovie_WithExistingId_ShouldReturnTrue() {
+    void createMovies_ShouldValidateEachMovieAndInsertValidOnesInBatches() {
+        List<List<String>> batches = stubBulkInserts(null);
+        MovieDTO invalid = newMovie(" ");
+        invalid.setReleaseDate(null);
+        MovieDTO withId = newMovie("Movie 4");
+        withId.setId(1L);
+        when(movieCatalog.nextRevision()).thenReturn(8L, 9L);
+
+        BulkResultDTO result = movieService.createMovies(
+                Arrays.asList(newMovie("Movie 0"), newMovie("Movie 1"), invalid, null, withId));
+
+        assertEquals(3, result.getSucceeded());
+        assertEquals(Arrays.asList(100L, 101L, null, null, 104L), result.getIds());
+        assertEquals(List.of(new BulkResultDTO.ItemError(2, "Release date is required, Title is required"),
+                new BulkResultDTO.ItemError(3, "Movie is required")), result.getErrors());
+        assertEquals(List.of(List.of("Movie 0", "Movie 1"), List.of("Movie 4")), batches);
+        verify(movieCatalog, times(2)).nextRevision();
+        verify(movieCatalog).recordWrite();
+    }
+
+    @Test
+    void createMovies_WhenBatchFails_ShouldRetryItsMoviesOneAtATime() {
+        List<List<String>> batches = stubBulkInserts("Movie 1");
+        cacheManager.getCache("movies").put(100L, "cached miss");
+
+        BulkResultDTO result = movieService.createMovies(
+                List.of(newMovie("Movie 0"), newMovie("Movie 1"), newMovie("Movie 2")));
+
+        assertEquals(2, result.getSucceeded());
+        assertEquals(Arrays.asList(100L, null, 102L), result.getIds());
+        assertEquals(List.of(new BulkResultDTO.ItemError(1, "Data too long")), result.getErrors());
+        assertEquals(List.of(List.of("Movie 0", "Movie 1"), List.of("Movie 0"), List.of("Movie 1"),
+                List.of("Movie 2")), batches);
+        assertNull(cacheManager.getCache("movies").get(100L));
+    }
+
+    @Test
+    void createMovies_WithTooManyMovies_ShouldThrow() {
+        List<MovieDTO> movies = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            movies.add(newMovie("Movie " + i));
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> movieService.createMovies(movies));
+        verifyNoInteractions(movieRepository);
+    }
+
+    @Test
+    void replaceMovies_ShouldUpdateExistingMoviesInOneBatchAndReportMissingOnes() {
+        Movie existing = new Movie(1L, "Old", "Old Director", LocalDate.of(2000, 1, 1), 90, "Drama", null, null, null);
+        when(movieRepository.findAllById(List.of(1L, 9L))).thenReturn(List.of(existing));
+        when(movieCatalog.nextRevision()).thenReturn(21L);
+        MovieDTO update = newMovie("New");
+        update.setId(1L);
+        MovieDTO missing = newMovie("Missing");
+        missing.setId(9L);
+        cacheManager.getCache("movies").put(1L, testMovieDTO);
+
+        BulkResultDTO result = movieService.replaceMovies(List.of(update, missing, newMovie("No ID")));
+
+        assertEquals(1, result.getSucceeded());
+        assertEquals(Arrays.asList(1L, null, null), result.getIds());
+        assertEquals(List.of(new BulkResultDTO.ItemError(1, "Movie not found"),
+                new BulkResultDTO.ItemError(2, "Movie ID is required")), result.getErrors());
+        InOrder order = inOrder(movieCatalog, movieRepository);
+        order.verify(movieCatalog).nextRevision();
+        order.verify(movieRepository).findAllById(List.of(1L, 9L));
+        verify(movieMapper).updateEntityFromDTO(existing, update);
+        assertEquals(21L, existing.getRevision());
+        verify(movieRepository).flushBatched(2);
+        assertNull(cacheManager.getCache("movies").get(1L));
+        verify(movieCatalog).recordWrite();
+    }
+
+    @Test
+    void upsertMovies_ShouldUpdateMatchesByIdOrTitleAndInsertTheRest() {
+        List<List<String>> inserts = stubBulkInserts(null);
+        Movie byId = new Movie(1L, "Old Title", "Director", LocalDate.of(2000, 1, 1), 90, "Drama", null, null, null);
+        Movie byTitle = new Movie(5L, "Movie 2", "Director", LocalDate.of(2000, 1, 1), 90, "Drama", null, null, null);
+        Movie duplicateTitle = new Movie(7L, "Movie 2", "Director", LocalDate.of(2000, 1, 1), 90, "Drama", null, null, null);
+        MovieDTO withId = newMovie("Movie 1");
+        withId.setId(1L);
+        MovieDTO unknownId = newMovie("Movie 2");
+        unknownId.setId(99L);
+        when(movieRepository.findAllById(List.of(1L, 99L))).thenReturn(List.of(byId));
+        when(movieRepository.findByTitleIn(List.of("Movie 2", "Movie 3"))).thenReturn(List.of(duplicateTitle, byTitle));
+        when(movieCatalog.nextRevision()).thenReturn(30L);
+        List<String> order = new ArrayList<>();
+        doAnswer(invocation -> order.add("updates")).when(movieRepository).flushBatched(2);
+
+        List<Long> ids = movieService.upsertMovies(List.of(withId, unknownId, newMovie("Movie 3"), newMovie("Movie 3")),
+                () -> order.add("checkpoint"));
+
+        assertEquals(List.of(1L, 5L, 103L, 103L), ids);
+        InOrder loading = inOrder(movieCatalog, movieRepository);
+        loading.verify(movieCatalog).nextRevision();
+        loading.verify(movieRepository).findAllById(anyList());
+        verify(movieMapper).updateEntityFromDTO(byId, withId);
+        verify(movieMapper).updateEntityFromDTO(byTitle, unknownId);
+        assertEquals(List.of(List.of("Movie 3")), inserts);
+        assertEquals(List.of("updates", "checkpoint"), order);
+        assertEquals(30L, byId.getRevision());
+        assertNull(duplicateTitle.getRevision());
+        verify(movieCatalog).recordWrite();
+    }
+
+    private Tuple idAndGenre(long id, String genre) {
+        Tuple row = mock(Tuple.class);
+        when(row.get("id", Long.class)).thenReturn(id);
+        when(row.get("genre", String.class)).thenReturn(genre);
+        return row;
+    }
+
+    @Test
+    void updateMovies_WithGenreFilter_ShouldUpdateMatchingMoviesInOneStatementAndEvictThem() {
+        MovieFilter filter = MovieFilter.builder().genres(Set.of("drama")).director("Bulk Director").build();
+        MovieFilter columns = filter.toBuilder().genres(Set.of()).build();
+        List<Tuple> firstPage = List.of(idAndGenre(1L, "Action, Drama"), idAndGenre(2L, "Comedy"));
+        List<Tuple> secondPage = List.of(idAndGenre(3L, "Dráma"));
+        when(movieRepository.findPageColumns(List.of("id", "genre"), columns, MovieSort.ID, null, null, 2))
+                .thenReturn(firstPage);
+        when(movieRepository.findPageColumns(List.of("id", "genre"), columns, MovieSort.ID, null, 2L, 2))
+                .thenReturn(secondPage);
+        when(movieCatalog.nextRevision()).thenReturn(7L);
+        when(movieRepository.updateAll(any(), any(), any(), anyLong())).thenReturn(2);
+        when(movieRepository.findIdsByRevision(7L)).thenReturn(List.of(1L, 3L));
+        cacheManager.getCache("movies").put(1L, testMovieDTO);
+
+        MovieDTO changes = new MovieDTO();
+        changes.setGenre("Drama");
+        changes.setDurationMinutes(95);
+        int updated = movieService.updateMovies(null, filter, changes);
+
+        assertEquals(2, updated);
+        InOrder order = inOrder(movieCatalog, movieRepository);
+        order.verify(movieCatalog).nextRevision();
+        order.verify(movieRepository).findPageColumns(List.of("id", "genre"), columns, MovieSort.ID, null, null, 2);
+        order.verify(movieRepository).updateAll(List.of(1L, 3L), columns, Map.of("durationMinutes", 95, "genre", "Drama"), 7L);
+        verify(movieChangeLog).record(MovieChange.Type.UPDATED, List.of(1L, 3L), 7L);
+        assertNull(cacheManager.getCache("movies").get(1L));
+        verify(movieCatalog).recordWrite();
+    }
+
+    @Test
+    void updateMovies_WithMoreIdsThanOneBatch_ShouldUpdateInChunks() {
+        when(movieCatalog.nextRevision()).thenReturn(8L);
+        when(movieRepository.updateAll(anyList(), eq(MovieFilter.none()), any(), eq(8L)))
+                .thenAnswer(invocation -> invocation.<List<Long>>getArgument(0).size());
+        when(movieRepository.findIdsByRevision(8L)).thenReturn(List.of(1L, 2L, 3L));
+        MovieDTO changes = new MovieDTO();
+        changes.setDurationMinutes(95);
+
+        assertEquals(3, movieService.updateMovies(List.of(1L, 2L, 3L), MovieFilter.none(), changes));
+
+        verify(movieRepository).updateAll(List.of(1L, 2L), MovieFilter.none(), Map.of("durationMinutes", 95), 8L);
+        verify(movieRepository).updateAll(List.of(3L), MovieFilter.none(), Map.of("durationMinutes", 95), 8L);
+        verify(movieChangeLog).record(MovieChange.Type.UPDATED, List.of(1L, 2L, 3L), 8L);
+        verify(movieCatalog).recordWrite();
+    }
+
+    @Test
+    void updateMovies_WhenNoRowMatches_ShouldRollBackRevision() {
+        MovieFilter filter = MovieFilter.builder().director("Nobody").build();
+        when(movieRepository.updateAll(null, filter, Map.of("durationMinutes", 95), 0L)).thenReturn(0);
+        MovieDTO changes = new MovieDTO();
+        changes.setDurationMinutes(95);
+
+        assertEquals(0, movieService.updateMovies(null, filter, changes));
+        assertTrue(transaction.isRollbackOnly());
+        verify(movieRepository, never()).findIdsByRevision(anyLong());
+        verifyNoInteractions(movieChangeLog);
+        verify(movieCatalog, never()).recordWrite();
+    }
+
+    @Test
+    void updateMovies_WithoutSelectionOrChanges_ShouldThrow() {
+        MovieDTO changes = new MovieDTO();
+        changes.setDirector("New Director");
+        MovieDTO invalid = new MovieDTO();
+        invalid.setDurationMinutes(-1);
+
+        assertThrows(IllegalArgumentException.class, () -> movieService.updateMovies(null, MovieFilter.none(), changes));
+        assertThrows(IllegalArgumentException.class, () -> movieService.updateMovies(List.of(1L), MovieFilter.none(), new MovieDTO()));
+        assertThrows(IllegalArgumentException.class, () -> movieService.updateMovies(List.of(1L), MovieFilter.none(), invalid));
+        verifyNoInteractions(movieRepository);
+    }
+
+    @Test
+    void deleteMovies_ShouldDeleteSelectedMoviesInOneStatementAndEvictThem() {
+        MovieFilter filter = MovieFilter.builder().releasedTo(LocalDate.of(2000, 12, 31)).build();
+        when(movieCatalog.nextRevision()).thenReturn(15L);
+        when(movieRepository.findIds(List.of(1L, 2L), filter)).thenReturn(List.of(1L));
+        when(movieRepository.deleteAll(List.of(1L), MovieFilter.none())).thenReturn(1);
+        cacheManager.getCache("movies").put(1L, testMovieDTO);
+
+        int deleted = movieService.deleteMovies(List.of(1L, 2L, 1L), filter);
+
+        assertEquals(1, deleted);
+        assertNull(cacheManager.getCache("movies").get(1L));
+        InOrder order = inOrder(movieCatalog, movieRepository, movieChangeLog);
+        order.verify(movieCatalog).nextRevision();
+        order.verify(movieRepository).findIds(List.of(1L, 2L), filter);
+        order.verify(movieChangeLog).record(MovieChange.Type.DELETED, List.of(1L), 15L);
+        order.verify(movieRepository).deleteAll(List.of(1L), MovieFilter.none());
+        verify(movieCatalog).recordWrite();
+    }
+
+    @Test
+    void deleteMovies_WithMoreMatchesThanOneBatch_ShouldDeleteAndRecordInChunks() {
+        MovieFilter filter = MovieFilter.builder().releasedTo(LocalDate.of(2000, 12, 31)).build();
+        when(movieCatalog.nextRevision()).thenReturn(16L);
+        when(movieRepository.findIds(null, filter)).thenReturn(List.of(1L, 2L, 3L, 4L, 5L));
+        when(movieRepository.deleteAll(anyList(), eq(MovieFilter.none())))
+                .thenAnswer(invocation -> invocation.<List<Long>>getArgument(0).size());
+
+        assertEquals(5, movieService.deleteMovies(null, filter));
+
+        InOrder order = inOrder(movieChangeLog, movieRepository);
+        for (List<Long> chunk : List.of(List.of(1L, 2L), List.of(3L, 4L), List.of(5L))) {
+            order.verify(movieChangeLog).record(MovieChange.Type.DELETED, chunk, 16L);
+            order.verify(movieRepository).deleteAll(chunk, MovieFilter.none());
+        }
+        verify(movieCatalog).nextRevision();
+        verify(movieCatalog).recordWrite();
+    }
+
+    @Test
+    void deleteMovies_WhenNothingMatches_ShouldNotRunStatement() {
+        MovieFilter filter = MovieFilter.builder().director("Nobody").build();
+        when(movieRepository.findIds(null, filter)).thenReturn(List.of());
+
+        assertEquals(0, movieService.deleteMovies(null, filter));
+        verify(movieRepository, never()).deleteAll(any(), any());
+        assertTrue(transaction.isRollbackOnly());
+        verify(movieCatalog, never()).recordWrite();
+    }
+
+    @Test
+    void updateMovie_WithExistingId_ShouldUpdateWithOneStatementAndReturnMovieDTO() {
+        when(movieCatalog.nextRevision()).thenReturn(12L);
+        when(movieRepository.updateOne(eq(1L), isNull(), any(), eq(12L))).thenReturn(1);
+        when(movieRepository.findVersionById(1L)).thenReturn(Optional.of(4L));
+
+        MovieDTO result = movieService.updateMovie(1L, testMovieDTO, null);
+
+        assertEquals("Test Movie", result.getTitle());
+        assertEquals(12L, result.getRevision());
+        assertEquals(4L, result.getVersion());
+        verify(movieRepository).updateOne(eq(1L), isNull(), argThat(values -> values.size() == 7
+                && "Test Director".equals(values.get("director")) && values.containsKey("genre")), eq(12L));
+        verify(movieRepository, never()).findById(any());
+        verify(movieRepository, never()).save(any());
+        verify(movieCatalog).recordWrite();
+    }
+
+    @Test
+    void updateMovie_WithStaleVersion_ShouldThrowConflict() {
+        when(movieRepository.updateOne(eq(1L), eq(2L), any(), anyLong())).thenReturn(0);
         when(movieRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(movieRepository).deleteById(1L);
 
-        boolean result = movieService.deleteMovie(1L);
+        assertThrows(OptimisticLockingFailureException.class, () -> movieService.updateMovie(1L, testMovieDTO, 2L));
+        assertTrue(transaction.isRollbackOnly());
+        verify(movieCatalog, never()).recordWrite();
+    }
+
+    @Test
+    void updateMovie_WithMissingId_ShouldReturnNull() {
+        when(movieRepository.updateOne(eq(9L), eq(2L), any(), anyLong())).thenReturn(0);
+        when(movieRepository.existsById(9L)).thenReturn(false);
+
+        assertNull(movieService.updateMovie(9L, testMovieDTO, 2L));
+        assertTrue(transaction.isRollbackOnly());
+        verifyNoInteractions(movieChangeLog);
+        verify(movieCatalog, never()).recordWrite();
+    }
+
+    @Test
+    void patchMovie_ShouldUpdateOnlyPatchedColumnsAndReadMovieBack() {
+        MovieDTO patched = testMovieDTO.toBuilder().durationMinutes(95).description(null).build();
+        when(movieCatalog.nextRevision()).thenReturn(13L);
+        when(movieRepository.updateOne(eq(1L), eq(5L), any(), eq(13L))).thenReturn(1);
+        when(movieRepository.findById(1L)).thenReturn(Optional.of(testMovie));
+        when(movieMapper.toDTO(testMovie)).thenReturn(patched);
+        MovieDTO patch = new MovieDTO();
+        patch.setDurationMinutes(95);
+
+        MovieDTO result = movieService.patchMovie(1L, patch, Set.of(MovieField.DURATION_MINUTES, MovieField.DESCRIPTION), 5L);
+
+        assertSame(patched, result);
+        Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("durationMinutes", 95);
+        expected.put("description", null);
+        verify(movieRepository).updateOne(1L, 5L, expected, 13L);
+        assertFalse(transaction.isRollbackOnly());
+        verify(movieCatalog).recordWrite();
+    }
+
+    @Test
+    void patchMovie_WithMissingId_ShouldRollBackRevision() {
+        when(movieRepository.updateOne(eq(9L), isNull(), any(), anyLong())).thenReturn(0);
+        MovieDTO patch = new MovieDTO();
+        patch.setDurationMinutes(95);
+
+        assertNull(movieService.patchMovie(9L, patch, Set.of(MovieField.DURATION_MINUTES), null));
+        assertTrue(transaction.isRollbackOnly());
+        verify(movieCatalog, never()).recordWrite();
+    }
+
+    @Test
+    void patchMovie_ClearingRequiredField_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class,
+                () -> movieService.patchMovie(1L, new MovieDTO(), Set.of(MovieField.TITLE), null));
+        assertThrows(IllegalArgumentException.class,
+                () -> movieService.patchMovie(1L, new MovieDTO(), Set.of(), null));
+        verifyNoInteractions(movieRepository);
+    }
+
+    @Test
+    void deleteMovie_WithExistingId_ShouldReturnTrue() {
+        when(movieRepository.deleteOne(1L, 3L)).thenReturn(1);
+
+        boolean result = movieService.deleteMovie(1L, 3L);
 
         assertTrue(result);
-        verify(movieRepository).existsById(1L);
-        verify(movieRepository).deleteById(1L);
+        verify(movieRepository).deleteOne(1L, 3L);
+        verify(movieRepository, never()).existsById(any());
+        verify(movieCatalog).nextRevision();
+        verify(movieChangeLog).record(MovieChange.Type.DELETED, List.of(1L), 0L);
+        verify(movieCatalog).recordWrite();
+    }
+
+    @Test
+    void deleteMovie_WithStaleVersion_ShouldThrowConflict() {
+        when(movieRepository.deleteOne(1L, 3L)).thenReturn(0);
+        when(movieRepository.existsById(1L)).thenReturn(true);
+
+        assertThrows(OptimisticLockingFailureException.class, () -> movieService.deleteMovie(1L, 3L));
+        InOrder order = inOrder(movieCatalog, movieRepository);
+        order.verify(movieCatalog).nextRevision();
+        order.verify(movieRepository).deleteOne(1L, 3L);
+        assertTrue(transaction.isRollbackOnly());
+        verifyNoInteractions(movieChangeLog);
+    }
+
+    @Test
+    void getChanges_ShouldJoinCurrentMoviesAndReturnTombstonesForDeletes() {
+        Instant changedAt = Instant.parse("2026-01-01T00:00:00Z");
+        when(movieChangeLog.read(10L, 3)).thenReturn(List.of(
+                new MovieChange(11L, 1L, MovieChange.Type.UPDATED, 5L, changedAt),
+                new MovieChange(12L, 2L, MovieChange.Type.DELETED, 6L, changedAt),
+                new MovieChange(13L, 1L, MovieChange.Type.UPDATED, 7L, changedAt)));
+        when(movieRepository.findAllById(List.of(1L))).thenReturn(List.of(testMovie));
+        when(movieMapper.toDTO(testMovie)).thenReturn(testMovieDTO);
+
+        ChangeFeedDTO feed = movieService.getChanges(10L, 2);
+
+        assertEquals(List.of(
+                new ChangeEventDTO(11L, ChangeEventDTO.Type.UPDATED, 1L, 5L, changedAt, testMovieDTO),
+                new ChangeEventDTO(12L, ChangeEventDTO.Type.DELETED, 2L, 6L, changedAt, null)), feed.getChanges());
+        assertEquals(12L, feed.getNext());
+        assertTrue(feed.isMore());
+    }
+
+    @Test
+    void getChanges_WithNoNewChanges_ShouldKeepCursor() {
+        when(movieChangeLog.read(12L, 101)).thenReturn(List.of());
+
+        ChangeFeedDTO feed = movieService.getChanges(12L, null);
+
+        assertTrue(feed.getChanges().isEmpty());
+        assertEquals(12L, feed.getNext());
+        assertFalse(feed.isMore());
+        assertThrows(IllegalArgumentException.class, () -> movieService.getChanges(-1L, null));
     }
 }